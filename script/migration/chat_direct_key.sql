@@ -0,0 +1,17 @@
+-- 1:1 채팅방에 "gymId:작은 userId:큰 userId" 형태의 direct_key 를 추가하고 유니크 인덱스를 건다.
+-- 기존 1:1 채팅방은 참여자 두 명으로 키를 채우며, 같은 두 사람의 채팅방이 이미 여러 개면 가장 먼저 만든 채팅방에만 채운다.
+
+ALTER TABLE chat ADD COLUMN direct_key VARCHAR(64) NULL;
+
+UPDATE chat c
+    JOIN (SELECT MIN(k.chat_id) AS chat_id, k.direct_key
+          FROM (SELECT cp.chat_id, CONCAT(ch.gym_id, ':', MIN(cp.user_id), ':', MAX(cp.user_id)) AS direct_key
+                FROM chat ch
+                         JOIN chat_participant cp ON cp.chat_id = ch.id
+                WHERE ch.chat_type = 'DIRECT'
+                GROUP BY cp.chat_id, ch.gym_id
+                HAVING COUNT(*) = 2) k
+          GROUP BY k.direct_key) d ON d.chat_id = c.id
+SET c.direct_key = d.direct_key;
+
+ALTER TABLE chat ADD CONSTRAINT uk_chat_direct_key UNIQUE (direct_key);
@@ -0,0 +1,7 @@
+-- 참여자별 읽음 위치(last_read_seq)를 추가한다. 기존 참여자는 지금까지의 메시지를 모두 읽은 것으로 본다.
+
+ALTER TABLE chat_participant ADD COLUMN last_read_seq BIGINT NOT NULL DEFAULT 0;
+
+UPDATE chat_participant cp
+    JOIN (SELECT chat_id, MAX(seq) AS last_seq FROM message GROUP BY chat_id) m ON m.chat_id = cp.chat_id
+SET cp.last_read_seq = m.last_seq;
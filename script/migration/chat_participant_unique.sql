@@ -0,0 +1,13 @@
+-- chat_participant 에 (chat_id, user_id) 유니크 인덱스를 건다.
+-- 나간 사람을 1:1 채팅방에 동시에 다시 넣을 때 참여자가 두 번 저장되지 않게 한다.
+-- 이미 중복된 참여자가 있으면 가장 먼저 저장한 행만 남긴다.
+
+DELETE cp
+FROM chat_participant cp
+         JOIN (SELECT chat_id, user_id, MIN(id) AS keep_id
+               FROM chat_participant
+               GROUP BY chat_id, user_id
+               HAVING COUNT(*) > 1) dup
+              ON dup.chat_id = cp.chat_id AND dup.user_id = cp.user_id AND cp.id <> dup.keep_id;
+
+ALTER TABLE chat_participant ADD CONSTRAINT uk_chat_participant_chat_id_user_id UNIQUE (chat_id, user_id);
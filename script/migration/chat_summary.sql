@@ -0,0 +1,28 @@
+-- 채팅방 목록 조회용 chat_summary 테이블을 만들고 기존 채팅방의 요약을 채운다.
+-- 새 버전 배포 전에 한 번 실행한다.
+
+CREATE TABLE chat_summary (
+    chat_id               BIGINT       NOT NULL PRIMARY KEY,
+    last_message_id       BIGINT       NULL,
+    last_message_snippet  VARCHAR(100) NULL,
+    last_message_sent_at  DATETIME(6)  NULL,
+    participant_count     INT          NOT NULL DEFAULT 0,
+    avatar_user_ids       VARCHAR(255) NULL,
+    CONSTRAINT fk_chat_summary_chat FOREIGN KEY (chat_id) REFERENCES chat (id)
+);
+
+INSERT INTO chat_summary (chat_id, participant_count, avatar_user_ids)
+SELECT c.id,
+       (SELECT COUNT(*) FROM chat_participant cp WHERE cp.chat_id = c.id),
+       (SELECT GROUP_CONCAT(t.user_id ORDER BY t.id)
+        FROM (SELECT cp.id, cp.user_id, cp.chat_id,
+                     ROW_NUMBER() OVER (PARTITION BY cp.chat_id ORDER BY cp.id) AS rn
+              FROM chat_participant cp) t
+        WHERE t.chat_id = c.id AND t.rn <= 4)
+FROM chat c;
+
+UPDATE chat_summary s
+JOIN message m ON m.id = (SELECT MAX(id) FROM message WHERE chat_id = s.chat_id)
+SET s.last_message_id = m.id,
+    s.last_message_snippet = LEFT(m.content, 100),
+    s.last_message_sent_at = m.sent_at;
@@ -0,0 +1,7 @@
+-- 2단계(contract): 모든 서버가 goal_mask 를 쓰는 버전으로 바뀐 뒤에 실행한다.
+-- 이전 버전이 더는 goals 를 쓰지 않으므로 옮기던 트리거와 goals 컬럼을 지운다.
+
+DROP TRIGGER IF EXISTS matching_criteria_goal_mask_insert;
+DROP TRIGGER IF EXISTS matching_criteria_goal_mask_update;
+
+ALTER TABLE matching_criteria DROP COLUMN goals;
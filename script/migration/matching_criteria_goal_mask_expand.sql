@@ -0,0 +1,40 @@
+-- 1단계(expand): matching_criteria.goals (콤마로 구분된 GoalEnum 이름) 옆에 goal_mask (GoalEnum ordinal 비트마스크) 를 추가하고 채운다.
+-- 새 버전 배포 전에 한 번 실행한다. 비트 위치는 GoalEnum 선언 순서와 같아야 한다.
+-- 배포하는 동안 이전 버전은 goals 만, 새 버전은 goal_mask 만 쓰므로
+-- goals 는 NULL 을 허용하고, 트리거로 이전 버전이 쓴 goals 를 goal_mask 에 옮긴다.
+-- 모든 서버가 새 버전으로 바뀐 뒤 matching_criteria_goal_mask_contract.sql 을 실행한다.
+
+ALTER TABLE matching_criteria ADD COLUMN goal_mask INT NOT NULL DEFAULT 0;
+ALTER TABLE matching_criteria MODIFY goals VARCHAR(255) NULL;
+
+CREATE TRIGGER matching_criteria_goal_mask_insert
+    BEFORE INSERT ON matching_criteria
+    FOR EACH ROW
+    SET NEW.goal_mask = IF(NEW.goals IS NULL, NEW.goal_mask,
+                           IF(FIND_IN_SET('FAT_REDUCTION', NEW.goals) > 0, 1, 0)
+                         | IF(FIND_IN_SET('MUSCLE_GAIN', NEW.goals) > 0, 2, 0)
+                         | IF(FIND_IN_SET('STAMINA_IMPROVEMENT', NEW.goals) > 0, 4, 0)
+                         | IF(FIND_IN_SET('BODY_PROFILE', NEW.goals) > 0, 8, 0)
+                         | IF(FIND_IN_SET('MAINTAIN_BODY', NEW.goals) > 0, 16, 0)
+                         | IF(FIND_IN_SET('BUILD_HEALTHY_HABIT', NEW.goals) > 0, 32, 0));
+
+CREATE TRIGGER matching_criteria_goal_mask_update
+    BEFORE UPDATE ON matching_criteria
+    FOR EACH ROW
+    SET NEW.goal_mask = IF(NEW.goals IS NULL OR NEW.goals <=> OLD.goals, NEW.goal_mask,
+                           IF(FIND_IN_SET('FAT_REDUCTION', NEW.goals) > 0, 1, 0)
+                         | IF(FIND_IN_SET('MUSCLE_GAIN', NEW.goals) > 0, 2, 0)
+                         | IF(FIND_IN_SET('STAMINA_IMPROVEMENT', NEW.goals) > 0, 4, 0)
+                         | IF(FIND_IN_SET('BODY_PROFILE', NEW.goals) > 0, 8, 0)
+                         | IF(FIND_IN_SET('MAINTAIN_BODY', NEW.goals) > 0, 16, 0)
+                         | IF(FIND_IN_SET('BUILD_HEALTHY_HABIT', NEW.goals) > 0, 32, 0));
+
+-- 트리거를 만든 뒤에 채워야 그 사이에 이전 버전이 쓴 행도 빠지지 않는다.
+UPDATE matching_criteria
+SET goal_mask = IF(FIND_IN_SET('FAT_REDUCTION', goals) > 0, 1, 0)
+              | IF(FIND_IN_SET('MUSCLE_GAIN', goals) > 0, 2, 0)
+              | IF(FIND_IN_SET('STAMINA_IMPROVEMENT', goals) > 0, 4, 0)
+              | IF(FIND_IN_SET('BODY_PROFILE', goals) > 0, 8, 0)
+              | IF(FIND_IN_SET('MAINTAIN_BODY', goals) > 0, 16, 0)
+              | IF(FIND_IN_SET('BUILD_HEALTHY_HABIT', goals) > 0, 32, 0)
+WHERE goals IS NOT NULL;
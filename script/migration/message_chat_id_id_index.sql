@@ -0,0 +1,4 @@
+-- 채팅방별 메시지를 id 역순으로 페이지 조회할 때 쓰는 인덱스.
+-- 큰 테이블에서는 온라인 DDL 로 실행한다.
+
+CREATE INDEX idx_message_chat_id_id ON message (chat_id, id) ALGORITHM=INPLACE LOCK=NONE;
@@ -0,0 +1,10 @@
+-- 2단계(contract): 모든 서버가 seq 를 발급하는 버전으로 바뀐 뒤에 실행한다.
+-- 이전 버전이 더는 저장하지 않으므로 순번을 채우던 트리거를 지우고 seq 를 NOT NULL, (chat_id, seq) 유니크로 바꾼다.
+-- 배포 중에 같은 순번이 생겼으면 유니크 제약을 걸지 못하고 실패한다. 아래 조회로 먼저 확인한다.
+--   SELECT chat_id, seq, COUNT(*) FROM message GROUP BY chat_id, seq HAVING COUNT(*) > 1;
+
+DROP TRIGGER IF EXISTS message_seq_insert;
+
+ALTER TABLE message MODIFY seq BIGINT NOT NULL;
+ALTER TABLE message ADD CONSTRAINT uk_message_chat_id_seq UNIQUE (chat_id, seq);
+DROP INDEX idx_message_chat_id_seq ON message;
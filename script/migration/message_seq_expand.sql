@@ -0,0 +1,27 @@
+-- 1단계(expand): 채팅방별 메시지 순번(seq)을 추가한다. 기존 메시지는 id 순서대로 1 부터 채운다.
+-- 새 버전 배포 전에 한 번 실행한다. (chat_id, seq) 인덱스로 GET /api/chats/{chatId}/messages/since/{seq} 를 범위 조회한다.
+-- 배포하는 동안 이전 버전은 seq 없이 저장하므로 seq 는 NULL 을 허용하고, 트리거로 채팅방의 마지막 순번 다음 값을 채운다.
+-- 같은 채팅방에 이전 버전과 새 버전이 동시에 쓰면 같은 순번이 생길 수 있어 유니크 제약은 아직 걸지 않는다.
+-- 모든 서버가 새 버전으로 바뀐 뒤 message_seq_contract.sql 을 실행한다.
+
+ALTER TABLE message ADD COLUMN seq BIGINT NULL AFTER chat_id;
+CREATE INDEX idx_message_chat_id_seq ON message (chat_id, seq);
+
+UPDATE message m
+    JOIN (SELECT id, ROW_NUMBER() OVER (PARTITION BY chat_id ORDER BY id) AS seq
+          FROM message) numbered ON numbered.id = m.id
+SET m.seq = numbered.seq;
+
+CREATE TRIGGER message_seq_insert
+    BEFORE INSERT ON message
+    FOR EACH ROW
+    SET NEW.seq = IFNULL(NEW.seq, (SELECT IFNULL(MAX(m.seq), 0) + 1 FROM message m WHERE m.chat_id = NEW.chat_id));
+
+-- 위에서 채운 뒤 트리거를 만들기 전까지 이전 버전이 저장한 메시지를 채팅방의 마지막 순번 뒤에 붙인다.
+UPDATE message m
+    JOIN (SELECT n.id, last.max_seq + ROW_NUMBER() OVER (PARTITION BY n.chat_id ORDER BY n.id) AS seq
+          FROM message n
+                   JOIN (SELECT chat_id, IFNULL(MAX(seq), 0) AS max_seq FROM message GROUP BY chat_id) last
+                        ON last.chat_id = n.chat_id
+          WHERE n.seq IS NULL) numbered ON numbered.id = m.id
+SET m.seq = numbered.seq;
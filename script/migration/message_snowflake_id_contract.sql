@@ -0,0 +1,9 @@
+-- 2단계(contract): message.id 를 애플리케이션에서 발급하는 snowflake id 로 바꾼다. (AUTO_INCREMENT 제거)
+-- 새 id 는 시각 기반이라 기존 id 보다 항상 크므로 (chat_id, id) 순서가 그대로 유지된다.
+--
+-- 새 버전은 id 를 직접 넣으므로 AUTO_INCREMENT 가 남아 있어도 저장할 수 있다. 따라서 expand 단계는 없고,
+-- 배포하는 동안 id 없이 저장하는 이전 버전을 위해 AUTO_INCREMENT 를 그대로 둔다.
+-- 이 사이 이전 버전이 받는 id 는 마지막 snowflake id 다음 값이라 같은 밀리초의 snowflake id 와 겹칠 수 있으니
+-- 배포 구간은 짧게 두고, 모든 서버가 새 버전으로 바뀐 뒤 이 스크립트를 실행한다.
+
+ALTER TABLE message MODIFY id BIGINT NOT NULL;
@@ -0,0 +1,87 @@
+package com.bb3.bodybuddybe.benchmark;
+
+import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
+import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
+import com.bb3.bodybuddybe.matching.enums.*;
+import com.bb3.bodybuddybe.user.dto.ProfileRequestDto;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 벤치마크용 가상 헬스장. 같은 seed 로 만들면 매번 같은 멤버 구성을 얻는다.
+ */
+public final class SyntheticGym {
+
+    private final User[] users;
+    private final MatchingCriteria[] criteria;
+
+    private SyntheticGym(User[] users, MatchingCriteria[] criteria) {
+        this.users = users;
+        this.criteria = criteria;
+    }
+
+    public static SyntheticGym generate(int size, long seed) {
+        Random random = new Random(seed);
+        User[] users = new User[size];
+        MatchingCriteria[] criteria = new MatchingCriteria[size];
+        for (int i = 0; i < size; i++) {
+            users[i] = randomUser(random, i);
+            criteria[i] = new MatchingCriteria(users[i], randomCriteria(random));
+        }
+        return new SyntheticGym(users, criteria);
+    }
+
+    public int size() {
+        return users.length;
+    }
+
+    public User[] users() {
+        return users;
+    }
+
+    public MatchingCriteria[] criteria() {
+        return criteria;
+    }
+
+    private static User randomUser(Random random, int i) {
+        User user = User.builder()
+                .email("member" + i + "@bench.local")
+                .password("password")
+                .gender(pick(random, GenderEnum.values()))
+                .birthDate(LocalDate.of(1950 + random.nextInt(55), 1 + random.nextInt(12), 1 + random.nextInt(28)))
+                .role(UserRoleEnum.USER)
+                .build();
+
+        ProfileRequestDto profile = new ProfileRequestDto();
+        profile.setNickname("member" + i);
+        profile.setIntroduction("안녕하세요, 같이 운동할 사람을 찾고 있어요.");
+        user.setProfile(profile);
+        return user;
+    }
+
+    private static CriteriaCreateRequestDto randomCriteria(Random random) {
+        Set<GoalEnum> goals = EnumSet.noneOf(GoalEnum.class);
+        for (GoalEnum goal : GoalEnum.values()) {
+            if (random.nextInt(3) == 0) {
+                goals.add(goal);
+            }
+        }
+        return CriteriaCreateRequestDto.builder()
+                .preferSameGender(random.nextBoolean())
+                .preferSameAgeRange(random.nextBoolean())
+                .goals(goals)
+                .experience(pick(random, ExperienceEnum.values()))
+                .intensity(pick(random, IntensityEnum.values()))
+                .exerciseTime(pick(random, ExerciseTimeEnum.values()))
+                .build();
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,135 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import com.bb3.bodybuddybe.common.config.WebSocketConfig;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 동시 세션 수만큼 채팅 메시지를 보내고, 같은 채팅방의 모든 세션에 전달될 때까지의 시간을 잰다.
+ * 채널 executor 는 {@link WebSocketConfig} 가 만드는 것을 그대로 쓰므로 chat.websocket.executor 설정별 차이를 비교한다.
+ *
+ * <pre>
+ * clientInboundChannel : 핸들러가 DB 저장 같은 블로킹 작업을 흉내 내 blockingMicros 만큼 멈춘 뒤 broker 로 보낸다.
+ * brokerChannel        : platform 은 설정과 같이 보낸 스레드에서, virtual 은 채팅방 단위 executor 에서 처리한다.
+ * clientOutboundChannel: 채팅방의 세션마다 한 번씩 전달한다. (platform 은 outbound-pool-size 고정 스레드)
+ * </pre>
+ *
+ * <p>virtual 은 JDK 21 로 실행해야 한다. 예) JAVA_HOME=jdk-21 ./gradlew jmh -Pjmh.includes=ChannelExecutorBenchmark
+ * 실제 세션 연결까지 포함한 비교는 ./gradlew loadTest 로 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChannelExecutorBenchmark {
+
+    private static final int SESSIONS_PER_CHAT = 10;
+
+    @Param({"platform", "virtual"})
+    String executorType;
+
+    @Param({"10000"})
+    int sessions;
+
+    @Param({"1000"})
+    int blockingMicros;
+
+    Message<?>[] messages;
+    ExecutorSubscribableChannel inbound;
+    List<TaskExecutor> executors = new ArrayList<>();
+    volatile CountDownLatch remaining;
+
+    @Setup
+    public void setUp() throws Exception {
+        WebSocketConfig config = new WebSocketConfig(null);
+        set(config, "executorType", executorType);
+        set(config, "outboundPoolSize", 16);
+        set(config, "orderedLanes", 1024);
+
+        ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(start(config.clientOutboundChannelExecutor()));
+        outbound.subscribe(message -> remaining.countDown());
+
+        inbound = new ExecutorSubscribableChannel(start(config.clientInboundChannelExecutor()));
+        ExecutorSubscribableChannel broker = new ExecutorSubscribableChannel("virtual".equals(executorType)
+                ? start(config.brokerChannelExecutor(inbound, outbound)) : null);
+        broker.subscribe(message -> {
+            int chat = chatOf(message);
+            for (int i = 0; i < SESSIONS_PER_CHAT; i++) {
+                outbound.send(message(chat, chat * SESSIONS_PER_CHAT + i));
+            }
+        });
+        inbound.subscribe(message -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(blockingMicros));
+            broker.send(message);
+        });
+
+        messages = new Message<?>[sessions];
+        for (int i = 0; i < sessions; i++) {
+            messages[i] = message(i / SESSIONS_PER_CHAT, i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        for (TaskExecutor executor : executors) {
+            if (executor instanceof DisposableBean disposable) {
+                disposable.destroy();
+            } else if (executor instanceof OrderedChannelExecutor ordered) {
+                ordered.shutdown();
+            }
+        }
+    }
+
+    /**
+     * 세션마다 메시지 하나씩 보내고, 같은 채팅방 세션 모두에게 전달될 때까지 걸린 시간.
+     * 처리량(메시지/초)은 sessions / 결과로 계산한다.
+     */
+    @Benchmark
+    public long sendFromAllSessions() throws InterruptedException {
+        remaining = new CountDownLatch(sessions * SESSIONS_PER_CHAT);
+        for (Message<?> message : messages) {
+            inbound.send(message);
+        }
+        remaining.await();
+        return remaining.getCount();
+    }
+
+    private TaskExecutor start(TaskExecutor executor) throws Exception {
+        // 스프링 컨테이너가 하던 초기화를 대신한다.
+        if (executor instanceof InitializingBean initializing) {
+            initializing.afterPropertiesSet();
+        }
+        executors.add(executor);
+        return executor;
+    }
+
+    private static Message<?> message(int chat, int session) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setDestination("/pub/chats/" + chat + "/send");
+        accessor.setSessionId("session-" + session);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static int chatOf(Message<?> message) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        return Integer.parseInt(destination.substring("/pub/chats/".length(), destination.lastIndexOf('/')));
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
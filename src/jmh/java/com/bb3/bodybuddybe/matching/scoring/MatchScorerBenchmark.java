@@ -0,0 +1,60 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조건문 구현과 점수표 구현의 헬스장 전체 점수 계산 비용을 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchScorerBenchmark {
+
+    @Param({"10000"})
+    int gymSize;
+
+    long[] profiles;
+    MatchScorer conditional;
+    MatchScorer weightTable;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        profiles = new long[gymSize];
+        for (int i = 0; i < gymSize; i++) {
+            profiles[i] = ((long) (random.nextInt(2) + 1) << MatchingProfile.GENDER_SHIFT)
+                    | ((long) (random.nextInt(6) + 1) << MatchingProfile.AGE_RANGE_SHIFT)
+                    | ((long) random.nextInt(3) << MatchingProfile.EXPERIENCE_SHIFT)
+                    | ((long) random.nextInt(3) << MatchingProfile.INTENSITY_SHIFT)
+                    | ((long) random.nextInt(4) << MatchingProfile.EXERCISE_TIME_SHIFT)
+                    | ((long) random.nextInt(64) << MatchingProfile.GOALS_SHIFT)
+                    | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_GENDER : 0)
+                    | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_AGE_RANGE : 0);
+        }
+        conditional = new ConditionalMatchScorer(MatchingWeights.DEFAULT);
+        weightTable = new WeightTableMatchScorer(MatchingWeights.DEFAULT);
+    }
+
+    @Benchmark
+    public long conditional() {
+        return scoreAll(conditional);
+    }
+
+    @Benchmark
+    public long weightTable() {
+        return scoreAll(weightTable);
+    }
+
+    private long scoreAll(MatchScorer scorer) {
+        long user = profiles[0];
+        long sum = 0;
+        for (long other : profiles) {
+            sum += scorer.score(user, other);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,93 @@
+package com.bb3.bodybuddybe.matching.service;
+
+import com.bb3.bodybuddybe.benchmark.SyntheticGym;
+import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
+import com.bb3.bodybuddybe.matching.index.GymMatchingIndex;
+import com.bb3.bodybuddybe.matching.index.MatchRanker;
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import com.bb3.bodybuddybe.matching.scoring.WeightTableMatchScorer;
+import com.bb3.bodybuddybe.user.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 조회 한 번에 드는 헬스장 크기별 비용을 잰다.
+ * 인덱스 적재(프로필 압축), 한 사용자에 대한 전체 점수 계산, 상위 k 명 선택을 단계별로 나눈다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MatchingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100", "10000", "100000"})
+    int gymSize;
+
+    User[] users;
+    MatchingCriteria[] criteria;
+    GymMatchingIndex index;
+    MatchScorer scorer;
+    MatchRanker ranker;
+
+    @Setup
+    public void setUp() {
+        SyntheticGym gym = SyntheticGym.generate(gymSize, 42);
+        users = gym.users();
+        criteria = gym.criteria();
+        index = GymMatchingIndex.of(userIds(gymSize), packAll());
+        scorer = new WeightTableMatchScorer(MatchingWeights.DEFAULT);
+        ranker = new MatchRanker(10000, 0, new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() {
+        ranker.shutdown();
+    }
+
+    @Benchmark
+    public long[] packProfiles() {
+        return packAll();
+    }
+
+    @Benchmark
+    public long scoreGym() {
+        long user = index.profileAt(0);
+        long sum = 0;
+        for (int slot = 1; slot < index.size(); slot++) {
+            sum += scorer.score(user, index.profileAt(slot));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long[] selectTopPage() {
+        return ranker.selectTop(index, 0, PAGE_SIZE, Long.MAX_VALUE, scorer).toSortedDescending();
+    }
+
+    @Benchmark
+    public long[] selectTopStrictPage() {
+        long[] candidates = index.candidatesSharingGoalOrTime(index.profileAt(0));
+        return ranker.selectTop(index, 0, PAGE_SIZE, Long.MAX_VALUE, candidates, scorer).toSortedDescending();
+    }
+
+    private long[] packAll() {
+        long[] profiles = new long[users.length];
+        for (int i = 0; i < users.length; i++) {
+            profiles[i] = MatchingProfile.pack(users[i], criteria[i]);
+        }
+        return profiles;
+    }
+
+    private static long[] userIds(int size) {
+        long[] userIds = new long[size];
+        for (int i = 0; i < size; i++) {
+            userIds[i] = i + 1;
+        }
+        return userIds;
+    }
+}
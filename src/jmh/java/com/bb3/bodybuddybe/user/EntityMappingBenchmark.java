@@ -0,0 +1,58 @@
+package com.bb3.bodybuddybe.user;
+
+import com.bb3.bodybuddybe.benchmark.SyntheticGym;
+import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
+import com.bb3.bodybuddybe.matching.enums.AgeRangeEnum;
+import com.bb3.bodybuddybe.matching.enums.GoalEnum;
+import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
+import com.bb3.bodybuddybe.user.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 결과를 만들 때 멤버마다 호출되는 엔티티 접근자와 DTO 변환 비용을 헬스장 크기별로 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityMappingBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    int gymSize;
+
+    User[] users;
+    MatchingCriteria[] criteria;
+
+    @Setup
+    public void setUp() {
+        SyntheticGym gym = SyntheticGym.generate(gymSize, 42);
+        users = gym.users();
+        criteria = gym.criteria();
+    }
+
+    @Benchmark
+    public void getGoals(Blackhole blackhole) {
+        for (MatchingCriteria each : criteria) {
+            for (GoalEnum goal : each.getGoals()) {
+                blackhole.consume(goal);
+            }
+        }
+    }
+
+    @Benchmark
+    public void getAgeRange(Blackhole blackhole) {
+        for (User user : users) {
+            AgeRangeEnum ageRange = user.getAgeRange();
+            blackhole.consume(ageRange);
+        }
+    }
+
+    @Benchmark
+    public void profileResponseDto(Blackhole blackhole) {
+        for (User user : users) {
+            blackhole.consume(new ProfileResponseDto(user));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import com.bb3.bodybuddybe.BodyBuddyBeApplication;
+import com.bb3.bodybuddybe.common.jwt.JwtUtil;
+import com.bb3.bodybuddybe.loadtest.LoadTestSeeder.SeededUser;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import org.springframework.web.socket.sockjs.frame.Jackson2SockJsMessageCodec;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버를 loadtest 프로필(H2 메모리 DB, 로컬 브로커)로 띄우고 STOMP over SockJS 세션을 열어
+ * /pub/chats/{chatId}/send, enter, leave 를 보내며 /sub/chats/{chatId} 로 받기까지의 지연 시간과 처리량을 잰다.
+ * 서버와 클라이언트가 같은 JVM 에서 돌기 때문에 같은 nanoTime 으로 보낸 시각과 받은 시각을 비교할 수 있다.
+ *
+ * <p>인자는 모두 Spring 설정으로 전달되므로 브로커나 저장 방식도 같은 방식으로 바꿔 비교한다.
+ * 예) ./gradlew loadTest --args='--loadtest.sessions=5000 --chat.websocket.executor=virtual'
+ * 같은 인자와 시드로 실행하면 같은 사용자, 채팅방 배정, 메시지 종류 순서로 부하를 준다.
+ */
+@Slf4j
+public class ChatLoadTest {
+
+    private final ConfigurableApplicationContext context;
+    private final LoadTestOptions options;
+    private final LoadTestMetrics metrics = new LoadTestMetrics();
+    private final ObjectMapper objectMapper;
+    private final String url;
+
+    ChatLoadTest(ConfigurableApplicationContext context, LoadTestOptions options) {
+        this.context = context;
+        this.options = options;
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.url = "http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port") + "/ws/chat";
+    }
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(BodyBuddyBeApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        ConfigurableApplicationContext context = application.run(args);
+
+        new ChatLoadTest(context, LoadTestOptions.from(context.getEnvironment())).run();
+        System.exit(SpringApplication.exit(context));
+    }
+
+    Map<String, Object> run() throws InterruptedException, IOException {
+        List<SeededUser> users = context.getBean(LoadTestSeeder.class).seed(options);
+        log.info("사용자 {}명, 채팅방 {}개 생성", users.size(), options.chats());
+
+        WebSocketStompClient stompClient = stompClient();
+        List<LoadSession> sessions = connect(stompClient, users);
+        log.info("세션 {}/{}개 연결", metrics.connectedSessions(), users.size());
+
+        ScheduledExecutorService senders = Executors.newScheduledThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                    Thread thread = new Thread(runnable, "load-sender");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / options.ratePerSession());
+        Random phases = new Random(options.seed());
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        metrics.window(measureFrom, measureTo);
+        for (LoadSession session : sessions) {
+            // 세션마다 시작 시점을 흩어 한꺼번에 보내지 않게 한다.
+            senders.scheduleAtFixedRate(session::sendNext, (long) (phases.nextDouble() * periodNanos),
+                    periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        log.info("워밍업 {}초, 측정 {}초", options.warmupSeconds(), options.durationSeconds());
+        TimeUnit.NANOSECONDS.sleep(measureTo - System.nanoTime());
+        senders.shutdownNow();
+        TimeUnit.SECONDS.sleep(options.drainSeconds());
+
+        // 세션은 서버를 내릴 때 함께 닫는다. 먼저 끊으면 아직 오는 메시지마다 오류 로그가 남는다.
+        Map<String, Object> summary = metrics.summary(options.sessions());
+        report(summary);
+        return summary;
+    }
+
+    private WebSocketStompClient stompClient() {
+        SockJsClient sockJsClient = new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient())));
+        sockJsClient.setMessageCodec(new Jackson2SockJsMessageCodec(objectMapper));
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        WebSocketStompClient stompClient = new WebSocketStompClient(sockJsClient);
+        stompClient.setMessageConverter(converter);
+        stompClient.setInboundMessageSizeLimit(64 * 1024);
+        return stompClient;
+    }
+
+    private List<LoadSession> connect(WebSocketStompClient stompClient, List<SeededUser> users) throws InterruptedException {
+        JwtUtil jwtUtil = context.getBean(JwtUtil.class);
+        Semaphore handshakes = new Semaphore(options.connectConcurrency());
+        CountDownLatch done = new CountDownLatch(users.size());
+        List<LoadSession> sessions = new ArrayList<>(users.size());
+
+        for (int i = 0; i < users.size(); i++) {
+            SeededUser user = users.get(i);
+            WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+            headers.add(JwtUtil.AUTHORIZATION_HEADER,
+                    JwtUtil.BEARER_PREFIX + jwtUtil.createAccessToken(user.email(), UserRoleEnum.USER));
+
+            handshakes.acquire();
+            LoadSession session = new LoadSession(user, metrics, options.leaveRatio(), options.seed() + i);
+            sessions.add(session);
+            stompClient.connectAsync(url, headers, new StompHeaders(), session)
+                    .whenComplete((connected, e) -> {
+                        if (e != null) {
+                            metrics.error();
+                            log.debug("연결 실패 [userId={}]", user.userId(), e);
+                        }
+                        handshakes.release();
+                        done.countDown();
+                    });
+        }
+
+        if (!done.await(Math.max(60, users.size() / 10), TimeUnit.SECONDS)) {
+            log.warn("연결이 끝나지 않은 세션 {}개", done.getCount());
+        }
+        return sessions;
+    }
+
+    private void report(Map<String, Object> summary) throws IOException {
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        log.info("부하 테스트 결과\n{}", json);
+
+        if (!options.reportFile().isBlank()) {
+            Path path = Path.of(options.reportFile());
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, json);
+            log.info("결과 저장 {}", path.toAbsolutePath());
+        }
+    }
+}
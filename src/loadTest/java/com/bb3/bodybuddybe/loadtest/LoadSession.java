@@ -0,0 +1,141 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import com.bb3.bodybuddybe.chat.dto.MessageRequestDto;
+import com.bb3.bodybuddybe.chat.enums.MessageType;
+import com.bb3.bodybuddybe.loadtest.LoadTestSeeder.SeededUser;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+
+import java.lang.reflect.Type;
+import java.util.Deque;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * 사용자 한 명의 STOMP 세션. 배정된 채팅방을 구독하고, 호출될 때마다 메시지 하나를 보낸다.
+ * 참여자는 TALK 과 가끔 LEAVE 를, 참여자가 아닌 방문자는 ENTER 를 보낸다.
+ */
+@Slf4j
+final class LoadSession extends StompSessionHandlerAdapter {
+
+    static final String TALK_PREFIX = "lt:";
+
+    private final SeededUser user;
+    private final LoadTestMetrics metrics;
+    private final double leaveRatio;
+    private final Random random;
+    private final long connectStartedAt;
+    // 돌려받지 못한 ENTER, LEAVE 를 보낸 시각. 자기 메시지는 보낸 순서대로 돌아온다.
+    private final Deque<Long> pendingControls = new ConcurrentLinkedDeque<>();
+    private volatile StompSession session;
+    private long sequence;
+
+    LoadSession(SeededUser user, LoadTestMetrics metrics, double leaveRatio, long seed) {
+        this.user = user;
+        this.metrics = metrics;
+        this.leaveRatio = leaveRatio;
+        this.random = new Random(seed);
+        this.connectStartedAt = System.nanoTime();
+    }
+
+    @Override
+    public void afterConnected(StompSession session, StompHeaders connectedHeaders) {
+        session.subscribe("/sub/chats/" + user.chatId(), this);
+        this.session = session;
+        metrics.connected(user.chatId(), System.nanoTime() - connectStartedAt);
+    }
+
+    @Override
+    public Type getPayloadType(StompHeaders headers) {
+        return ReceivedMessage.class;
+    }
+
+    @Override
+    public void handleFrame(StompHeaders headers, Object payload) {
+        long receivedAt = System.nanoTime();
+        metrics.received(receivedAt);
+
+        ReceivedMessage message = (ReceivedMessage) payload;
+        if (message.content() == null) {
+            return;
+        }
+        if (message.content().startsWith(TALK_PREFIX)) {
+            metrics.delivered(MessageType.TALK, Long.parseLong(message.content().substring(TALK_PREFIX.length())), receivedAt);
+            return;
+        }
+        if (message.sender() != null && user.userId().equals(message.sender().id())) {
+            Long sentAt = pendingControls.pollFirst();
+            if (sentAt != null) {
+                metrics.delivered(controlType(), sentAt, receivedAt);
+            }
+        }
+    }
+
+    @Override
+    public void handleException(StompSession session, StompCommand command, StompHeaders headers,
+                                byte[] payload, Throwable exception) {
+        metrics.error();
+        log.debug("STOMP 처리 실패 [userId={}]", user.userId(), exception);
+    }
+
+    @Override
+    public void handleTransportError(StompSession session, Throwable exception) {
+        metrics.error();
+        log.debug("STOMP 전송 실패 [userId={}]", user.userId(), exception);
+    }
+
+    void sendNext() {
+        StompSession current = session;
+        if (current == null || !current.isConnected()) {
+            return;
+        }
+
+        MessageType type = !user.member() ? MessageType.ENTER
+                : random.nextDouble() < leaveRatio ? MessageType.LEAVE : MessageType.TALK;
+        long sentAt = System.nanoTime();
+        MessageRequestDto request = new MessageRequestDto();
+        request.setSenderId(user.userId());
+        request.setType(type);
+        if (type == MessageType.TALK) {
+            request.setContent(TALK_PREFIX + sentAt);
+            request.setClientMessageId(user.userId() + "-" + (++sequence));
+        } else {
+            // 응답이 send 가 끝나기 전에 올 수 있으므로 먼저 넣는다.
+            pendingControls.addLast(sentAt);
+        }
+
+        try {
+            current.send("/pub/chats/" + user.chatId() + "/" + destinationOf(type), request);
+            metrics.sent(type, user.chatId(), sentAt);
+        } catch (RuntimeException e) {
+            if (type != MessageType.TALK) {
+                pendingControls.removeLastOccurrence(sentAt);
+            }
+            metrics.sendFailed();
+        }
+    }
+
+    private MessageType controlType() {
+        return user.member() ? MessageType.LEAVE : MessageType.ENTER;
+    }
+
+    private static String destinationOf(MessageType type) {
+        return switch (type) {
+            case ENTER -> "enter";
+            case LEAVE -> "leave";
+            default -> "send";
+        };
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record ReceivedMessage(Long id, Long seq, String content, Sender sender) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Sender(Long id) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import com.bb3.bodybuddybe.common.oauth2.repository.BlacklistedTokenRepository;
+import com.bb3.bodybuddybe.common.oauth2.repository.RefreshTokenRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.keyvalue.core.KeyValueTemplate;
+import org.springframework.data.keyvalue.repository.support.KeyValueRepositoryFactory;
+import org.springframework.data.map.MapKeyValueAdapter;
+
+/**
+ * loadtest 프로필에서는 Redis 없이 서버를 띄우기 위해 Redis 저장소 대신 같은 인터페이스의 메모리 저장소를 쓴다.
+ * JWT 인가 필터가 요청마다 블랙리스트를 확인하므로 이 저장소가 없으면 핸드셰이크가 Redis 를 기다린다.
+ */
+@Configuration
+@Profile("loadtest")
+public class LoadTestConfig {
+
+    private final KeyValueRepositoryFactory repositoryFactory =
+            new KeyValueRepositoryFactory(new KeyValueTemplate(new MapKeyValueAdapter()));
+
+    @Bean
+    public BlacklistedTokenRepository blacklistedTokenRepository() {
+        return repositoryFactory.getRepository(BlacklistedTokenRepository.class);
+    }
+
+    @Bean
+    public RefreshTokenRepository refreshTokenRepository() {
+        return repositoryFactory.getRepository(RefreshTokenRepository.class);
+    }
+}
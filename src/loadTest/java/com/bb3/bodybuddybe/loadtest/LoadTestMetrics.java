@@ -0,0 +1,137 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import com.bb3.bodybuddybe.chat.enums.MessageType;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 측정 구간 [measureFrom, measureTo) 에 보낸 메시지와 받은 메시지를 센다. 시각은 모두 System.nanoTime 이다.
+ *
+ * <p>TALK 은 본문에 보낸 시각을 담아 채팅방의 모든 세션이 받은 시각과의 차이를 기록하고,
+ * 보낸 수 * 채팅방 구독 세션 수와 비교해 받지 못한 메시지 수를 센다.
+ * ENTER, LEAVE 는 서버가 본문을 만들기 때문에 보낸 세션이 자기 메시지를 돌려받은 시각으로만 잰다.
+ */
+final class LoadTestMetrics {
+
+    private final Map<MessageType, LongAdder> sent = new EnumMap<>(MessageType.class);
+    private final Map<MessageType, LatencyHistogram> latencies = new EnumMap<>(MessageType.class);
+    private final Map<Long, AtomicInteger> subscribers = new ConcurrentHashMap<>();
+    private final LatencyHistogram connectLatency = new LatencyHistogram();
+    private final LongAdder expectedTalkDeliveries = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder sendFailures = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile long measureFrom = Long.MAX_VALUE;
+    private volatile long measureTo = Long.MAX_VALUE;
+
+    LoadTestMetrics() {
+        for (MessageType type : new MessageType[]{MessageType.TALK, MessageType.ENTER, MessageType.LEAVE}) {
+            sent.put(type, new LongAdder());
+            latencies.put(type, new LatencyHistogram());
+        }
+    }
+
+    void window(long from, long to) {
+        measureTo = to;
+        measureFrom = from;
+    }
+
+    void connected(Long chatId, long connectNanos) {
+        subscribers.computeIfAbsent(chatId, id -> new AtomicInteger()).incrementAndGet();
+        connectLatency.record(TimeUnit.NANOSECONDS.toMicros(connectNanos));
+    }
+
+    void sent(MessageType type, Long chatId, long sentAt) {
+        if (!inWindow(sentAt)) {
+            return;
+        }
+        sent.get(type).increment();
+        if (type == MessageType.TALK) {
+            expectedTalkDeliveries.add(subscribers.getOrDefault(chatId, new AtomicInteger()).get());
+        }
+    }
+
+    void delivered(MessageType type, long sentAt, long receivedAt) {
+        if (inWindow(sentAt)) {
+            latencies.get(type).record(TimeUnit.NANOSECONDS.toMicros(receivedAt - sentAt));
+        }
+    }
+
+    void received(long receivedAt) {
+        if (inWindow(receivedAt)) {
+            received.increment();
+        }
+    }
+
+    long connectedSessions() {
+        return connectLatency.count();
+    }
+
+    void sendFailed() {
+        sendFailures.increment();
+    }
+
+    void error() {
+        errors.increment();
+    }
+
+    /**
+     * 측정 결과. 지연 시간은 밀리초, 처리량은 초당 개수다.
+     */
+    Map<String, Object> summary(int requestedSessions) {
+        double seconds = (measureTo - measureFrom) / 1e9;
+        long talkDelivered = latencies.get(MessageType.TALK).count();
+        long expected = expectedTalkDeliveries.sum();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        Map<String, Object> sessions = new LinkedHashMap<>();
+        sessions.put("requested", requestedSessions);
+        sessions.put("connected", connectedSessions());
+        summary.put("sessions", sessions);
+        summary.put("connectMillis", percentiles(connectLatency));
+        summary.put("durationSeconds", seconds);
+
+        Map<String, Object> sentSummary = new LinkedHashMap<>();
+        long totalSent = 0;
+        for (Map.Entry<MessageType, LongAdder> entry : sent.entrySet()) {
+            sentSummary.put(entry.getKey().name(), entry.getValue().sum());
+            totalSent += entry.getValue().sum();
+        }
+        summary.put("sent", sentSummary);
+        summary.put("sentPerSecond", totalSent / seconds);
+        summary.put("receivedPerSecond", received.sum() / seconds);
+        Map<String, Object> talkDeliveries = new LinkedHashMap<>();
+        talkDeliveries.put("expected", expected);
+        talkDeliveries.put("delivered", talkDelivered);
+        talkDeliveries.put("missing", Math.max(expected - talkDelivered, 0));
+        summary.put("talkDeliveries", talkDeliveries);
+        summary.put("sendFailures", sendFailures.sum());
+        summary.put("errors", errors.sum());
+
+        Map<String, Object> latencySummary = new LinkedHashMap<>();
+        latencies.forEach((type, histogram) -> latencySummary.put(type.name(), percentiles(histogram)));
+        summary.put("latencyMillis", latencySummary);
+        return summary;
+    }
+
+    private boolean inWindow(long nanos) {
+        return nanos - measureFrom >= 0 && nanos - measureTo < 0;
+    }
+
+    private static Map<String, Object> percentiles(LatencyHistogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", histogram.count());
+        result.put("p50", histogram.percentile(50) / 1000.0);
+        result.put("p90", histogram.percentile(90) / 1000.0);
+        result.put("p99", histogram.percentile(99) / 1000.0);
+        result.put("p999", histogram.percentile(99.9) / 1000.0);
+        result.put("max", histogram.max() / 1000.0);
+        return result;
+    }
+}
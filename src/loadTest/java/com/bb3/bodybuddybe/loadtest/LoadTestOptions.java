@@ -0,0 +1,46 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * 부하 테스트 설정. 모두 --loadtest.* 인자나 application-loadtest.yml 로 바꿀 수 있다.
+ *
+ * @param sessions          STOMP 세션 수. 세션마다 다른 사용자로 접속한다.
+ * @param chats             채팅방 수. 세션을 채팅방에 고르게 나눈다.
+ * @param visitorRatio      채팅방 참여자가 아닌 세션의 비율. 이 세션들은 입장 메시지를 보낸다.
+ * @param leaveRatio        참여자 세션이 보내는 메시지 중 퇴장 메시지의 비율
+ * @param ratePerSession    세션마다 초당 보내는 메시지 수
+ * @param warmupSeconds     측정 전에 메시지를 보내는 시간
+ * @param durationSeconds   측정하는 시간
+ * @param drainSeconds      보내기를 멈춘 뒤 남은 메시지를 기다리는 시간
+ * @param connectConcurrency 동시에 진행할 SockJS 핸드셰이크 수
+ * @param seed              채팅방 배정, 보내는 시점과 메시지 종류를 정하는 난수 시드
+ * @param reportFile        결과를 JSON 으로 남길 파일. 비어 있으면 남기지 않는다.
+ */
+public record LoadTestOptions(int sessions,
+                              int chats,
+                              double visitorRatio,
+                              double leaveRatio,
+                              double ratePerSession,
+                              int warmupSeconds,
+                              int durationSeconds,
+                              int drainSeconds,
+                              int connectConcurrency,
+                              long seed,
+                              String reportFile) {
+
+    public static LoadTestOptions from(Environment env) {
+        return new LoadTestOptions(
+                env.getProperty("loadtest.sessions", Integer.class, 2000),
+                env.getProperty("loadtest.chats", Integer.class, 100),
+                env.getProperty("loadtest.visitor-ratio", Double.class, 0.1),
+                env.getProperty("loadtest.leave-ratio", Double.class, 0.05),
+                env.getProperty("loadtest.rate-per-session", Double.class, 1.0),
+                env.getProperty("loadtest.warmup-seconds", Integer.class, 10),
+                env.getProperty("loadtest.duration-seconds", Integer.class, 60),
+                env.getProperty("loadtest.drain-seconds", Integer.class, 5),
+                env.getProperty("loadtest.connect-concurrency", Integer.class, 100),
+                env.getProperty("loadtest.seed", Long.class, 42L),
+                env.getProperty("loadtest.report-file", "build/reports/loadtest/chat-load.json"));
+    }
+}
@@ -0,0 +1,80 @@
+package com.bb3.bodybuddybe.loadtest;
+
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.repository.ChatRepository;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.gym.repository.GymRepository;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import com.bb3.bodybuddybe.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 헬스장 하나에 그룹 채팅방과 세션 수만큼의 사용자를 만든다.
+ * i 번째 사용자는 i % chats 번째 채팅방에 배정되고, visitorRatio 비율만큼은 참여자로 넣지 않는다.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+public class LoadTestSeeder {
+
+    private final GymRepository gymRepository;
+    private final UserRepository userRepository;
+    private final ChatRepository chatRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+
+    @Transactional
+    public List<SeededUser> seed(LoadTestOptions options) {
+        Random random = new Random(options.seed());
+        Gym gym = gymRepository.save(new Gym("loadtest", "부하 테스트 헬스장", "서울"));
+
+        List<User> users = new ArrayList<>(options.sessions());
+        for (int i = 0; i < options.sessions(); i++) {
+            User user = User.builder()
+                    .email("loadtest-" + i + "@bodybuddy.local")
+                    .password("loadtest")
+                    .role(UserRoleEnum.USER)
+                    .build();
+            users.add(user.update("user" + i, null));
+        }
+        userRepository.saveAll(users);
+
+        List<Chat> chats = new ArrayList<>(options.chats());
+        for (int i = 0; i < options.chats(); i++) {
+            chats.add(Chat.builder()
+                    .chatType(ChatType.GROUP)
+                    .name("room" + i)
+                    .gym(gym)
+                    .owner(users.get(i % users.size()))
+                    .build());
+        }
+        chatRepository.saveAll(chats);
+
+        List<SeededUser> seeded = new ArrayList<>(users.size());
+        List<ChatParticipant> participants = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            Chat chat = chats.get(i % chats.size());
+            boolean member = random.nextDouble() >= options.visitorRatio();
+            if (member) {
+                participants.add(new ChatParticipant(user, chat));
+            }
+            seeded.add(new SeededUser(user.getId(), user.getEmail(), chat.getId(), member));
+        }
+        chatParticipantRepository.saveAll(participants);
+        return seeded;
+    }
+
+    public record SeededUser(Long userId, String email, Long chatId, boolean member) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import java.time.LocalDateTime;
+
+/**
+ * 세그먼트 파일에 보관된 메시지. 발신자 정보는 읽을 때 SenderProfileCache 로 채운다.
+ */
+public record ArchivedMessage(long id, long seq, long senderId, String content, LocalDateTime sentAt) {
+}
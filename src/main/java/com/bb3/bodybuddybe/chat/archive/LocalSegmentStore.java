@@ -0,0 +1,113 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 세그먼트를 {dir}/{chatId}/{firstSeq}.seg 파일로 보관하고, 읽을 때는 파일을 메모리 매핑한다.
+ * 임시 파일에 쓰고 fsync 한 뒤 이름을 바꾸므로 쓰다 만 세그먼트는 보이지 않는다.
+ * 서버가 여러 대이면 dir 은 모든 서버가 함께 쓰는 볼륨이어야 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.archive.store", havingValue = "local", matchIfMissing = true)
+public class LocalSegmentStore implements SegmentStore {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path baseDir;
+
+    public LocalSegmentStore(@Value("${chat.archive.dir:./data/chat-archive}") String baseDir) {
+        this.baseDir = Path.of(baseDir);
+    }
+
+    @Override
+    public void write(long chatId, long firstSeq, byte[] segment) {
+        Path chatDir = chatDir(chatId);
+        Path target = chatDir.resolve(fileName(firstSeq));
+        Path temp = chatDir.resolve(fileName(firstSeq) + ".tmp");
+        try {
+            Files.createDirectories(chatDir);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(segment);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("세그먼트 쓰기 실패 [chatId={}, firstSeq={}]", chatId, firstSeq, e);
+            throw new CustomException(ErrorCode.MESSAGE_ARCHIVE_IO_ERROR);
+        }
+    }
+
+    @Override
+    public List<Long> list(long chatId) {
+        Path chatDir = chatDir(chatId);
+        if (!Files.isDirectory(chatDir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(chatDir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .map(name -> Long.valueOf(name.substring(0, name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            log.error("세그먼트 목록 조회 실패 [chatId={}]", chatId, e);
+            throw new CustomException(ErrorCode.MESSAGE_ARCHIVE_IO_ERROR);
+        }
+    }
+
+    @Override
+    public ByteBuffer read(long chatId, long firstSeq) {
+        // 매핑은 채널을 닫아도 유지된다.
+        try (FileChannel channel = FileChannel.open(chatDir(chatId).resolve(fileName(firstSeq)), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            log.error("세그먼트 읽기 실패 [chatId={}, firstSeq={}]", chatId, firstSeq, e);
+            throw new CustomException(ErrorCode.MESSAGE_ARCHIVE_IO_ERROR);
+        }
+    }
+
+    @Override
+    public void deleteChat(long chatId) {
+        Path chatDir = chatDir(chatId);
+        if (!Files.isDirectory(chatDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(chatDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("세그먼트 삭제 실패 [chatId={}]", chatId, e);
+        }
+    }
+
+    private Path chatDir(long chatId) {
+        return baseDir.resolve(String.valueOf(chatId));
+    }
+
+    // 이름순 정렬이 순번순이 되도록 자릿수를 맞춘다.
+    private static String fileName(long firstSeq) {
+        return String.format("%019d", firstSeq) + SUFFIX;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 채팅방별로 보관된 세그먼트의 index 를 메모리에 두고, 보관된 구간의 메시지를 읽는다.
+ * 세그먼트 목록은 처음 조회할 때 {@link SegmentStore} 에서 읽고, 다른 서버가 보관한 세그먼트도 보이도록
+ * index-refresh-ms 마다 다시 읽는다. 이미 연 세그먼트는 바뀌지 않으므로 다시 열지 않는다.
+ *
+ * <p>연 세그먼트는 파일을 메모리에 매핑해 두므로, max-chats 개 채팅방까지만 두고 가장 오래 조회하지 않은 채팅방부터 놓는다.
+ */
+@Component
+public class MessageArchive {
+
+    private final SegmentStore segmentStore;
+    private final int blockSize;
+    private final long indexRefreshMillis;
+    private final Map<Long, ChatSegments> chats;
+
+    public MessageArchive(SegmentStore segmentStore,
+                          @Value("${chat.archive.block-size:128}") int blockSize,
+                          @Value("${chat.archive.index-refresh-ms:60000}") long indexRefreshMillis,
+                          @Value("${chat.archive.max-chats:1000}") int maxChats) {
+        this.segmentStore = segmentStore;
+        this.blockSize = blockSize;
+        this.indexRefreshMillis = indexRefreshMillis;
+        this.chats = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ChatSegments> eldest) {
+                return size() > maxChats;
+            }
+        });
+    }
+
+    /**
+     * 보관된 마지막 순번. 보관된 메시지가 없으면 0
+     */
+    public long lastSeq(Long chatId) {
+        List<MessageSegment> segments = segmentsOf(chatId);
+        return segments.isEmpty() ? 0L : segments.get(segments.size() - 1).lastSeq();
+    }
+
+    /**
+     * id 가 before 보다 작은 보관 메시지를 최대 limit 개, 최신순으로 반환한다.
+     */
+    public List<ArchivedMessage> findBefore(Long chatId, long before, int limit) {
+        List<MessageSegment> segments = segmentsOf(chatId);
+        List<ArchivedMessage> result = new ArrayList<>(Math.min(limit, 128));
+        for (int i = segments.size() - 1; i >= 0 && result.size() < limit; i--) {
+            MessageSegment segment = segments.get(i);
+            if (segment.firstId() < before) {
+                segment.collectBefore(before, limit, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 순번이 since 보다 큰 보관 메시지를 최대 limit 개, 순번 순으로 반환한다.
+     */
+    public List<ArchivedMessage> findSince(Long chatId, long since, int limit) {
+        List<MessageSegment> segments = segmentsOf(chatId);
+        List<ArchivedMessage> result = new ArrayList<>(Math.min(limit, 128));
+        for (MessageSegment segment : segments) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (segment.lastSeq() > since) {
+                segment.collectSince(since, limit, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 순번 오름차순 메시지를 새 세그먼트로 보관한다. 이미 보관된 마지막 순번보다 뒤의 메시지여야 한다.
+     */
+    public void append(Long chatId, List<ArchivedMessage> messages) {
+        long archivedLastSeq = lastSeq(chatId);
+        if (messages.get(0).seq() <= archivedLastSeq) {
+            throw new IllegalArgumentException("chat " + chatId + " already archived up to seq " + archivedLastSeq);
+        }
+
+        byte[] segment = MessageSegment.encode(messages, blockSize);
+        segmentStore.write(chatId, messages.get(0).seq(), segment);
+        // 다음 조회에서 목록만 다시 읽게 한다.
+        chats.computeIfPresent(chatId, (id, cached) -> new ChatSegments(cached.segments(), 0L));
+    }
+
+    public void deleteChat(Long chatId) {
+        segmentStore.deleteChat(chatId);
+        chats.remove(chatId);
+    }
+
+    private List<MessageSegment> segmentsOf(Long chatId) {
+        long now = System.currentTimeMillis();
+        ChatSegments cached = chats.get(chatId);
+        if (cached != null && now - cached.loadedAt() < indexRefreshMillis) {
+            return cached.segments();
+        }
+
+        Map<Long, MessageSegment> opened = new HashMap<>();
+        if (cached != null) {
+            cached.segments().forEach(segment -> opened.put(segment.firstSeq(), segment));
+        }
+        List<MessageSegment> segments = new ArrayList<>();
+        for (Long firstSeq : segmentStore.list(chatId)) {
+            MessageSegment segment = opened.get(firstSeq);
+            segments.add(segment != null ? segment : MessageSegment.open(segmentStore.read(chatId, firstSeq)));
+        }
+        chats.put(chatId, new ChatSegments(List.copyOf(segments), now));
+        return segments;
+    }
+
+    private record ChatSegments(List<MessageSegment> segments, long loadedAt) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import com.bb3.bodybuddybe.chat.repository.MessageArchiveRepository;
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import com.bb3.bodybuddybe.common.util.SnowflakeIdGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * retention-days 보다 오래된 메시지를 채팅방별 세그먼트로 옮기고 message 테이블에서 지운다.
+ * 세그먼트를 먼저 쓰고 나서 지우므로, 지우기 전에 멈추면 다음 실행에서 이미 보관된 순번까지 마저 지운다.
+ * 채팅방의 마지막 메시지는 순번 발급과 채팅방 목록 요약에 쓰이므로 오래되어도 남긴다.
+ *
+ * <p>보관할 메시지가 min-messages 개보다 적은 채팅방은 다음 실행까지 기다려 작은 세그먼트가 쌓이지 않게 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "chat.archive.enabled", havingValue = "true")
+public class MessageArchiver {
+
+    private final MessageArchive messageArchive;
+    private final MessageArchiveRepository messageArchiveRepository;
+    private final MessageRepository messageRepository;
+    private final Duration retention;
+    private final long intervalMillis;
+    private final int segmentSize;
+    private final int minMessages;
+    private final Counter archivedMessages;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "message-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MessageArchiver(MessageArchive messageArchive,
+                           MessageArchiveRepository messageArchiveRepository,
+                           MessageRepository messageRepository,
+                           @Value("${chat.archive.retention-days:90}") long retentionDays,
+                           @Value("${chat.archive.interval-ms:3600000}") long intervalMillis,
+                           @Value("${chat.archive.segment-size:10000}") int segmentSize,
+                           @Value("${chat.archive.min-messages:1000}") int minMessages,
+                           MeterRegistry meterRegistry) {
+        this.messageArchive = messageArchive;
+        this.messageArchiveRepository = messageArchiveRepository;
+        this.messageRepository = messageRepository;
+        this.retention = Duration.ofDays(retentionDays);
+        this.intervalMillis = intervalMillis;
+        this.segmentSize = segmentSize;
+        this.minMessages = Math.min(minMessages, segmentSize);
+        this.archivedMessages = meterRegistry.counter("chat.archive.archived-messages");
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::archiveAll, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void archiveAll() {
+        long cutoffId = SnowflakeIdGenerator.minIdAt(System.currentTimeMillis() - retention.toMillis());
+        for (Long chatId : messageArchiveRepository.findChatIds()) {
+            try {
+                archiveChat(chatId, cutoffId);
+            } catch (RuntimeException e) {
+                log.warn("메시지 보관 실패 [chatId={}]", chatId, e);
+            }
+        }
+    }
+
+    /**
+     * 순번 순으로 앞에서부터 id 가 cutoffId 보다 작은 메시지를 보관하고 보관한 개수를 반환한다.
+     * id 가 cutoffId 이상인 메시지를 만나면 그 뒤 메시지는 오래되었어도 다음 실행으로 미룬다.
+     */
+    int archiveChat(Long chatId, long cutoffId) {
+        long archivedSeq = messageArchive.lastSeq(chatId);
+        if (archivedSeq > 0) {
+            messageArchiveRepository.deleteUpTo(chatId, archivedSeq);
+        }
+
+        long lastSeq = messageRepository.findLastSeqByChatId(chatId);
+        int archived = 0;
+        while (true) {
+            List<ArchivedMessage> batch = messageArchiveRepository.findArchivable(
+                    chatId, archivedSeq, lastSeq, cutoffId, segmentSize);
+            if (batch.isEmpty() || batch.size() < minMessages) {
+                break;
+            }
+
+            messageArchive.append(chatId, batch);
+            archivedSeq = batch.get(batch.size() - 1).seq();
+            messageArchiveRepository.deleteUpTo(chatId, archivedSeq);
+            archived += batch.size();
+            archivedMessages.increment(batch.size());
+            if (batch.size() < segmentSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("메시지 보관 [chatId={}, count={}, lastSeq={}]", chatId, archived, archivedSeq);
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,254 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 한 채팅방의 연속된 순번 구간을 담는 세그먼트. 메시지를 blockSize 개씩 묶어 블록마다 deflate 로 압축하고,
+ * 파일 끝에 블록별 첫 순번과 첫 id 를 담은 sparse index 를 둔다.
+ * 읽을 때는 index 만 이진 탐색해 필요한 블록 하나부터 풀기 때문에 세그먼트 전체를 풀지 않는다.
+ *
+ * <pre>
+ * block*  : deflate(id, seq, senderId, sentAt 초, sentAt 나노초, content 길이, content UTF-8) * count
+ * index   : (firstSeq, firstId, offset, compressedLength, rawLength, count) * blockCount
+ * footer  : blockCount, indexOffset, lastSeq, lastId, MAGIC
+ * </pre>
+ */
+public final class MessageSegment {
+
+    private static final int MAGIC = 0x4D534731; // "MSG1"
+    private static final int INDEX_ENTRY_BYTES = 8 + 8 + 8 + 4 + 4 + 4;
+    private static final int FOOTER_BYTES = 4 + 8 + 8 + 8 + 4;
+
+    private final ByteBuffer buffer;
+    private final long[] firstSeqs;
+    private final long[] firstIds;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final long lastSeq;
+    private final long lastId;
+
+    private MessageSegment(ByteBuffer buffer, long[] firstSeqs, long[] firstIds, long[] offsets,
+                           int[] compressedLengths, int[] rawLengths, long lastSeq, long lastId) {
+        this.buffer = buffer;
+        this.firstSeqs = firstSeqs;
+        this.firstIds = firstIds;
+        this.offsets = offsets;
+        this.compressedLengths = compressedLengths;
+        this.rawLengths = rawLengths;
+        this.lastSeq = lastSeq;
+        this.lastId = lastId;
+    }
+
+    /**
+     * 순번 오름차순으로 정렬된 메시지를 세그먼트 바이트로 만든다.
+     */
+    public static byte[] encode(List<ArchivedMessage> messages, int blockSize) {
+        if (messages.isEmpty()) {
+            throw new IllegalArgumentException("empty segment");
+        }
+        int blockCount = (messages.size() + blockSize - 1) / blockSize;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteBuffer index = ByteBuffer.allocate(blockCount * INDEX_ENTRY_BYTES);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            for (int from = 0; from < messages.size(); from += blockSize) {
+                List<ArchivedMessage> block = messages.subList(from, Math.min(from + blockSize, messages.size()));
+                byte[] raw = encodeBlock(block);
+                byte[] compressed = deflate(deflater, raw);
+
+                index.putLong(block.get(0).seq())
+                        .putLong(block.get(0).id())
+                        .putLong(out.size())
+                        .putInt(compressed.length)
+                        .putInt(raw.length)
+                        .putInt(block.size());
+                out.write(compressed, 0, compressed.length);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        ArchivedMessage last = messages.get(messages.size() - 1);
+        long indexOffset = out.size();
+        out.write(index.array(), 0, index.capacity());
+        ByteBuffer footer = ByteBuffer.allocate(FOOTER_BYTES)
+                .putInt(blockCount)
+                .putLong(indexOffset)
+                .putLong(last.seq())
+                .putLong(last.id())
+                .putInt(MAGIC);
+        out.write(footer.array(), 0, FOOTER_BYTES);
+        return out.toByteArray();
+    }
+
+    /**
+     * 세그먼트 버퍼의 footer 와 index 만 읽는다. 블록은 조회할 때 푼다.
+     */
+    public static MessageSegment open(ByteBuffer buffer) {
+        int footerAt = buffer.limit() - FOOTER_BYTES;
+        if (footerAt < 0 || buffer.getInt(footerAt + FOOTER_BYTES - 4) != MAGIC) {
+            throw new IllegalStateException("not a message segment");
+        }
+        int blockCount = buffer.getInt(footerAt);
+        int indexOffset = (int) buffer.getLong(footerAt + 4);
+        long lastSeq = buffer.getLong(footerAt + 12);
+        long lastId = buffer.getLong(footerAt + 20);
+
+        long[] firstSeqs = new long[blockCount];
+        long[] firstIds = new long[blockCount];
+        long[] offsets = new long[blockCount];
+        int[] compressedLengths = new int[blockCount];
+        int[] rawLengths = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+            int at = indexOffset + i * INDEX_ENTRY_BYTES;
+            firstSeqs[i] = buffer.getLong(at);
+            firstIds[i] = buffer.getLong(at + 8);
+            offsets[i] = buffer.getLong(at + 16);
+            compressedLengths[i] = buffer.getInt(at + 24);
+            rawLengths[i] = buffer.getInt(at + 28);
+        }
+        return new MessageSegment(buffer, firstSeqs, firstIds, offsets, compressedLengths, rawLengths, lastSeq, lastId);
+    }
+
+    public long firstSeq() {
+        return firstSeqs[0];
+    }
+
+    public long lastSeq() {
+        return lastSeq;
+    }
+
+    public long firstId() {
+        return firstIds[0];
+    }
+
+    public long lastId() {
+        return lastId;
+    }
+
+    /**
+     * 순번이 since 보다 큰 메시지를 최대 limit 개, 순번 순으로 result 에 더한다.
+     */
+    public void collectSince(long since, int limit, List<ArchivedMessage> result) {
+        for (int block = Math.max(floor(firstSeqs, since + 1), 0); block < firstSeqs.length; block++) {
+            for (ArchivedMessage message : readBlock(block)) {
+                if (message.seq() > since) {
+                    result.add(message);
+                    if (result.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * id 가 before 보다 작은 메시지를 최대 limit 개, 최신순으로 result 에 더한다.
+     */
+    public void collectBefore(long before, int limit, List<ArchivedMessage> result) {
+        for (int block = floor(firstIds, before - 1); block >= 0; block--) {
+            List<ArchivedMessage> messages = readBlock(block);
+            for (int i = messages.size() - 1; i >= 0; i--) {
+                ArchivedMessage message = messages.get(i);
+                if (message.id() < before) {
+                    result.add(message);
+                    if (result.size() >= limit) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    List<ArchivedMessage> readBlock(int block) {
+        ByteBuffer compressed = buffer.slice((int) offsets[block], compressedLengths[block]);
+        byte[] raw = new byte[rawLengths[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("corrupted message segment block " + block, e);
+        } finally {
+            inflater.end();
+        }
+        return decodeBlock(ByteBuffer.wrap(raw));
+    }
+
+    // values[i] <= key 인 가장 큰 i. 없으면 -1
+    private static int floor(long[] values, long key) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= key) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    private static byte[] encodeBlock(List<ArchivedMessage> block) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(block.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            for (ArchivedMessage message : block) {
+                byte[] content = message.content().getBytes(StandardCharsets.UTF_8);
+                out.writeLong(message.id());
+                out.writeLong(message.seq());
+                out.writeLong(message.senderId());
+                out.writeLong(message.sentAt().toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(message.sentAt().getNano());
+                out.writeInt(content.length);
+                out.write(content);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return raw.toByteArray();
+    }
+
+    private static List<ArchivedMessage> decodeBlock(ByteBuffer raw) {
+        List<ArchivedMessage> messages = new ArrayList<>();
+        while (raw.hasRemaining()) {
+            long id = raw.getLong();
+            long seq = raw.getLong();
+            long senderId = raw.getLong();
+            LocalDateTime sentAt = LocalDateTime.ofEpochSecond(raw.getLong(), raw.getInt(), ZoneOffset.UTC);
+            byte[] content = new byte[raw.getInt()];
+            raw.get(content);
+            messages.add(new ArchivedMessage(id, seq, senderId, new String(content, StandardCharsets.UTF_8), sentAt));
+        }
+        return messages;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int length = deflater.deflate(chunk);
+            compressed.write(chunk, 0, length);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,28 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 채팅방별 메시지 세그먼트를 보관한다. 세그먼트는 첫 순번으로 구분하며, 한 번 쓰면 바뀌지 않는다.
+ * 로컬 디스크 외의 저장소(S3 등)도 이 인터페이스로 붙인다.
+ */
+public interface SegmentStore {
+
+    /**
+     * 세그먼트를 통째로 쓴다. 쓰기가 끝나기 전에는 {@link #list} 에 나타나지 않아야 한다.
+     */
+    void write(long chatId, long firstSeq, byte[] segment);
+
+    /**
+     * 채팅방 세그먼트의 첫 순번 목록, 오름차순.
+     */
+    List<Long> list(long chatId);
+
+    /**
+     * 읽기 전용 버퍼. 가능하면 복사 없이 메모리 매핑한다.
+     */
+    ByteBuffer read(long chatId, long firstSeq);
+
+    void deleteChat(long chatId);
+}
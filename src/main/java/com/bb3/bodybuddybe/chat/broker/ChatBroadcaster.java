@@ -0,0 +1,11 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+/**
+ * 채팅방 구독자(/sub/chats/{chatId})에게 메시지를 전달한다.
+ */
+public interface ChatBroadcaster {
+
+    String DESTINATION_PREFIX = "/sub/chats/";
+
+    void broadcast(Long chatId, Object payload);
+}
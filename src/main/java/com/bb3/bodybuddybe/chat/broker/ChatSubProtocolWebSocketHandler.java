@@ -0,0 +1,64 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.messaging.SubProtocolWebSocketHandler;
+
+import java.io.IOException;
+
+/**
+ * 세션마다 보내기 버퍼 크기와 전송 시간 제한을 두고, 버퍼가 가득 찼을 때의 처리 방식을 정한다.
+ * <ul>
+ *     <li>TERMINATE: 연결을 끊는다. 클라이언트는 다시 연결한 뒤 /messages/since/{seq} 로 빠진 메시지를 받는다.</li>
+ *     <li>DROP: 오래된 메시지부터 버리고 연결은 유지한다. 클라이언트는 순번이 건너뛴 것을 보고 빠진 메시지를 받는다.</li>
+ * </ul>
+ * 어느 쪽이든 전송 시간 제한을 넘기면 연결을 끊는다.
+ */
+public class ChatSubProtocolWebSocketHandler extends SubProtocolWebSocketHandler {
+
+    private final OutboundBufferMonitor outboundBufferMonitor;
+    private final OverflowStrategy overflowStrategy;
+
+    public ChatSubProtocolWebSocketHandler(MessageChannel clientInboundChannel,
+                                           SubscribableChannel clientOutboundChannel,
+                                           OutboundBufferMonitor outboundBufferMonitor,
+                                           OverflowStrategy overflowStrategy) {
+        super(clientInboundChannel, clientOutboundChannel);
+        this.outboundBufferMonitor = outboundBufferMonitor;
+        this.overflowStrategy = overflowStrategy;
+    }
+
+    @Override
+    protected WebSocketSession decorateSession(WebSocketSession session) {
+        MonitoredSession decorated = new MonitoredSession(session, getSendTimeLimit(), getSendBufferSizeLimit());
+        outboundBufferMonitor.register(decorated);
+        return decorated;
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        outboundBufferMonitor.unregister(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+
+    private class MonitoredSession extends ConcurrentWebSocketSessionDecorator {
+
+        MonitoredSession(WebSocketSession session, int sendTimeLimit, int bufferSizeLimit) {
+            super(session, sendTimeLimit, bufferSizeLimit, overflowStrategy);
+        }
+
+        // 제한을 넘긴 세션은 SubProtocolWebSocketHandler 가 SESSION_NOT_RELIABLE 로 닫는다.
+        @Override
+        public void close(CloseStatus status) throws IOException {
+            if (CloseStatus.SESSION_NOT_RELIABLE.equals(status)) {
+                outboundBufferMonitor.recordSlowConsumerDisconnect(this);
+            }
+            outboundBufferMonitor.unregister(getId());
+            super.close(status);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 현재 서버의 simple broker 로만 전달한다. 서버가 한 대일 때 쓰는 기본 모드.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "local", matchIfMissing = true)
+public class LocalChatBroadcaster implements ChatBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Override
+    public void broadcast(Long chatId, Object payload) {
+        messagingTemplate.convertAndSend(DESTINATION_PREFIX + chatId, payload);
+    }
+}
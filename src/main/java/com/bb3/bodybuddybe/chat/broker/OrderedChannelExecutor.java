@@ -0,0 +1,255 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 메시지 채널 작업을 채팅방(또는 세션) 단위의 직렬 레인으로 나눠 실행한다.
+ * 같은 키의 작업은 제출한 순서대로 하나씩 실행되고, 다른 키의 작업은 backing executor 에서 동시에 실행된다.
+ *
+ * <p>레인 수는 고정이며 키의 해시로 레인을 고른다. 레인이 작업을 실행할 때만 backing executor 의 스레드를 쓰므로
+ * 가상 스레드 executor 를 쓰면 블로킹 작업이 많아도 플랫폼 스레드 수에 묶이지 않는다.
+ * 키를 알 수 없는 작업은 순서 보장 없이 바로 backing executor 로 넘긴다.
+ *
+ * <p>채팅방 단위로 나누면 한 세션의 작업이 여러 레인에 흩어지므로, 채팅방이 없는 세션 프레임(CONNECT, UNSUBSCRIBE, DISCONNECT 등)은
+ * 그 세션이 먼저 보낸 작업이 모두 끝난 뒤에 실행하고, 뒤에 보낸 작업은 세션 프레임이 끝날 때까지 미룬다.
+ * 그래서 SUBSCRIBE 직후의 DISCONNECT 가 구독보다 먼저 처리되어 구독이 남는 일이 없다.
+ */
+@Slf4j
+public class OrderedChannelExecutor implements TaskExecutor {
+
+    private static final String CHAT_DESTINATION_MARKER = "/chats/";
+
+    private final ExecutorService backing;
+    private final Lane[] lanes;
+    private final boolean chatFirst;
+    // 채팅방 단위일 때만 쓴다. 실행 중이거나 미뤄 둔 작업이 있는 세션만 둔다.
+    private final Map<String, SessionTasks> sessions = new ConcurrentHashMap<>();
+
+    private OrderedChannelExecutor(ExecutorService backing, int laneCount, boolean chatFirst) {
+        if (laneCount <= 0) {
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        }
+        this.backing = backing;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+        this.chatFirst = chatFirst;
+    }
+
+    /**
+     * 목적지의 채팅방 id 로 순서를 맞춘다. 채팅방이 없는 프레임(CONNECT, UNSUBSCRIBE, DISCONNECT 등)은 세션 id 로 맞추고,
+     * 같은 세션의 채팅방 작업과는 보낸 순서대로 앞뒤를 지킨다.
+     */
+    public static OrderedChannelExecutor byChat(ExecutorService backing, int laneCount) {
+        return new OrderedChannelExecutor(backing, laneCount, true);
+    }
+
+    /**
+     * 세션 id 로 순서를 맞춘다. 한 세션에 보내는 메시지는 채팅방과 관계없이 보낸 순서대로 전달된다.
+     */
+    public static OrderedChannelExecutor bySession(ExecutorService backing, int laneCount) {
+        return new OrderedChannelExecutor(backing, laneCount, false);
+    }
+
+    /**
+     * 작업마다 가상 스레드를 만드는 executor 를 만든다. Java 21 이상에서만 쓸 수 있다.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드는 Java 21 이상에서만 사용할 수 있습니다. (현재 "
+                    + Runtime.version() + ")", e);
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Object key = keyOf(task);
+        if (key == null) {
+            backing.execute(task);
+            return;
+        }
+        String sessionId = chatFirst ? sessionIdOf(task) : null;
+        if (sessionId == null) {
+            laneOf(key).submit(task);
+            return;
+        }
+        // 작업이 끝나 지워진 세션이면 새로 만들어 다시 넣는다.
+        while (!sessions.computeIfAbsent(sessionId, SessionTasks::new).submit(key, task)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    public void shutdown() {
+        backing.shutdown();
+        try {
+            if (!backing.awaitTermination(5, TimeUnit.SECONDS)) {
+                backing.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            backing.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Lane laneOf(Object key) {
+        return lanes[Math.floorMod(key.hashCode(), lanes.length)];
+    }
+
+    private static String sessionIdOf(Runnable task) {
+        return SimpMessageHeaderAccessor.getSessionId(((MessageHandlingRunnable) task).getMessage().getHeaders());
+    }
+
+    Object keyOf(Runnable task) {
+        if (!(task instanceof MessageHandlingRunnable runnable)) {
+            return null;
+        }
+        Message<?> message = runnable.getMessage();
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (!chatFirst && sessionId != null) {
+            return sessionId;
+        }
+        Long chatId = parseChatId(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        return chatId != null ? chatId : sessionId;
+    }
+
+    /**
+     * /pub/chats/{chatId}/send, /sub/chats/{chatId} 처럼 /chats/ 뒤의 숫자를 채팅방 id 로 읽는다.
+     */
+    static Long parseChatId(String destination) {
+        if (destination == null) {
+            return null;
+        }
+        int start = destination.indexOf(CHAT_DESTINATION_MARKER);
+        if (start < 0) {
+            return null;
+        }
+        start += CHAT_DESTINATION_MARKER.length();
+        int end = start;
+        while (end < destination.length() && Character.isDigit(destination.charAt(end))) {
+            end++;
+        }
+        if (end == start || end - start > 18) {
+            return null;
+        }
+        return Long.parseLong(destination, start, end, 10);
+    }
+
+    /**
+     * 한 세션이 보낸 작업의 앞뒤를 맞춘다. 채팅방 작업끼리는 각자의 레인에서 동시에 돌고,
+     * 세션 프레임은 앞선 작업이 모두 끝나야 세션 레인에 넣으며 그동안 뒤에 온 작업은 queue 에 둔다.
+     */
+    private final class SessionTasks {
+
+        private final String sessionId;
+        private final Deque<Pending> waiting = new ArrayDeque<>();
+        private int running;
+        private boolean closed;
+
+        SessionTasks(String sessionId) {
+            this.sessionId = sessionId;
+        }
+
+        synchronized boolean submit(Object key, Runnable task) {
+            if (closed) {
+                return false;
+            }
+            waiting.add(new Pending(key, task));
+            drain();
+            return true;
+        }
+
+        private void drain() {
+            Pending next;
+            while ((next = waiting.peek()) != null) {
+                boolean sessionFrame = sessionId.equals(next.key());
+                if (sessionFrame && running > 0) {
+                    return;
+                }
+                waiting.poll();
+                running++;
+                Runnable task = next.task();
+                laneOf(next.key()).submit(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        completed();
+                    }
+                });
+                if (sessionFrame) {
+                    return;
+                }
+            }
+        }
+
+        private synchronized void completed() {
+            running--;
+            drain();
+            if (running == 0 && waiting.isEmpty()) {
+                closed = true;
+                sessions.remove(sessionId, this);
+            }
+        }
+    }
+
+    private record Pending(Object key, Runnable task) {
+    }
+
+    private class Lane implements Runnable {
+
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void submit(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    backing.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    log.error("채널 작업 실행 실패", t);
+                }
+            }
+            scheduled.set(false);
+            // 플래그를 내리는 사이에 들어온 작업이 있으면 다시 예약한다.
+            if (!tasks.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
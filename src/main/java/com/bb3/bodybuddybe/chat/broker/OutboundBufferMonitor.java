@@ -0,0 +1,66 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 연결된 WebSocket 세션별로 아직 보내지 못하고 쌓여 있는 바이트 수를 집계한다.
+ * 세션 id 를 태그로 쓰면 지표 수가 세션 수만큼 늘어나므로, 전체 합계와 가장 많이 쌓인 세션의 값만 내보낸다.
+ */
+@Slf4j
+@Component
+public class OutboundBufferMonitor {
+
+    private final Map<String, ConcurrentWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final Counter slowConsumerDisconnects;
+
+    public OutboundBufferMonitor(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.websocket.sessions", sessions, Map::size)
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.outbound.buffered-bytes", this, OutboundBufferMonitor::totalBufferedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("chat.websocket.outbound.buffered-bytes.max", this, OutboundBufferMonitor::maxBufferedBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.slowConsumerDisconnects = Counter.builder("chat.websocket.outbound.slow-consumer-disconnects")
+                .register(meterRegistry);
+    }
+
+    public void register(ConcurrentWebSocketSessionDecorator session) {
+        sessions.put(session.getId(), session);
+    }
+
+    public void unregister(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    public void recordSlowConsumerDisconnect(ConcurrentWebSocketSessionDecorator session) {
+        slowConsumerDisconnects.increment();
+        log.warn("느린 WebSocket 세션 연결 종료 [sessionId={}, bufferedBytes={}, sendingMillis={}]",
+                session.getId(), session.getBufferSize(), session.getTimeSinceSendStarted());
+    }
+
+    public long totalBufferedBytes() {
+        long total = 0;
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            total += session.getBufferSize();
+        }
+        return total;
+    }
+
+    public long maxBufferedBytes() {
+        long max = 0;
+        for (ConcurrentWebSocketSessionDecorator session : sessions.values()) {
+            max = Math.max(max, session.getBufferSize());
+        }
+        return max;
+    }
+}
@@ -0,0 +1,151 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 채팅 메시지를 채팅방별 Redis 채널(chat:{chatId})로 발행하고, 구독한 채널의 메시지를 현재 서버의 simple broker 로 전달한다.
+ * 보낸 서버도 Redis 를 거쳐 받으므로 모든 서버가 같은 순서로 전달한다.
+ *
+ * <p>STOMP 구독/해제/연결 종료 이벤트로 채팅방별 로컬 구독 수를 세어,
+ * 로컬 구독자가 있는 채팅방의 채널만 구독한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisChatRelay implements ChatBroadcaster, MessageListener {
+
+    private static final String CHANNEL_PREFIX = "chat:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+
+    // sessionId -> (subscriptionId -> chatId)
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new HashMap<>();
+    private final Map<Long, Integer> localSubscriberCounts = new HashMap<>();
+
+    @Override
+    public void broadcast(Long chatId, Object payload) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL_PREFIX + chatId, objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new CustomException(ErrorCode.JSON_PROCESSING_ERROR);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel());
+        Long chatId = Long.valueOf(channel.substring(CHANNEL_PREFIX.length()));
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(DESTINATION_PREFIX + chatId,
+                MessageBuilder.createMessage(message.getBody(), accessor.getMessageHeaders()));
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long chatId = parseChatId(accessor.getDestination());
+        if (chatId == null) {
+            return;
+        }
+        subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), chatId);
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    synchronized void subscribe(String sessionId, String subscriptionId, Long chatId) {
+        Long previous = subscriptionsBySession.computeIfAbsent(sessionId, id -> new HashMap<>())
+                .put(subscriptionId, chatId);
+        if (previous != null) {
+            release(previous);
+        }
+
+        if (localSubscriberCounts.merge(chatId, 1, Integer::sum) == 1) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + chatId));
+        }
+    }
+
+    synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, Long> subscriptions = subscriptionsBySession.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+
+        Long chatId = subscriptions.remove(subscriptionId);
+        if (chatId != null) {
+            release(chatId);
+        }
+        if (subscriptions.isEmpty()) {
+            subscriptionsBySession.remove(sessionId);
+        }
+    }
+
+    synchronized void disconnect(String sessionId) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.values().forEach(this::release);
+        }
+    }
+
+    synchronized boolean isListening(Long chatId) {
+        return localSubscriberCounts.containsKey(chatId);
+    }
+
+    private void release(Long chatId) {
+        Integer remaining = localSubscriberCounts.computeIfPresent(chatId, (id, count) -> count > 1 ? count - 1 : null);
+        if (remaining == null) {
+            listenerContainer.removeMessageListener(this, new ChannelTopic(CHANNEL_PREFIX + chatId));
+            log.debug("채팅방 채널 구독 해제 [chatId={}]", chatId);
+        }
+    }
+
+    private static Long parseChatId(String destination) {
+        if (destination == null || !destination.startsWith(DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
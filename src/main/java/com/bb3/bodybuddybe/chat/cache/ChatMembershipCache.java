@@ -0,0 +1,178 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.bb3.bodybuddybe.common.util.TransactionUtils.afterCommit;
+
+/**
+ * 채팅방별 참여자 id 를 정렬된 long 배열로 보관한다.
+ * 메시지 전송마다 참여 여부를 DB 에서 확인하지 않도록, 처음 조회할 때 loader 로 한 번 읽어 두고
+ * 이후 입장/퇴장은 트랜잭션 커밋 뒤에 반영한다.
+ *
+ * <p>캐시에 없는 참여자는 다시 읽어 확인하되, 읽은 지 miss-reload-ms 가 지나지 않았으면 다시 읽지 않는다.
+ * 그래서 참여자가 아닌 사용자가 계속 보내도 DB 를 매번 읽지 않는다.
+ * 입장/퇴장/삭제는 커밋 뒤 {@link ChatMembershipChangedEvent} 로 알려 다른 서버의 캐시도 지우게 하고,
+ * 알림을 놓쳐도 ttl-ms 가 지나면 다시 읽는다. 캐시한 채팅방이 max-chats 를 넘으면 임의의 채팅방 하나를 지운다.
+ */
+@Component
+public class ChatMembershipCache {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final int maxChats;
+    private final long missReloadMillis;
+    private final LongSupplier clock;
+    private final Map<Long, Members> members = new ConcurrentHashMap<>();
+    // 참여자를 읽는 중인 채팅방과 그동안의 변경 횟수. 읽는 동안 변경이 있었으면 캐시하지 않는다.
+    private final Map<Long, Loads> loads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChatMembershipCache(ApplicationEventPublisher eventPublisher,
+                               @Value("${chat.membership-cache.ttl-ms:60000}") long ttlMillis,
+                               @Value("${chat.membership-cache.max-chats:10000}") int maxChats,
+                               @Value("${chat.membership-cache.miss-reload-ms:1000}") long missReloadMillis) {
+        this(eventPublisher, ttlMillis, maxChats, missReloadMillis, System::currentTimeMillis);
+    }
+
+    ChatMembershipCache(ApplicationEventPublisher eventPublisher, long ttlMillis, int maxChats,
+                        long missReloadMillis, LongSupplier clock) {
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMillis;
+        this.maxChats = maxChats;
+        this.missReloadMillis = missReloadMillis;
+        this.clock = clock;
+    }
+
+    public boolean contains(Long chatId, long userId, Function<Long, long[]> loader) {
+        long now = clock.getAsLong();
+        Members cached = members.get(chatId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            if (Arrays.binarySearch(cached.userIds(), userId) >= 0) {
+                return true;
+            }
+            if (now - cached.loadedAt() < missReloadMillis) {
+                return false;
+            }
+        }
+        if (cached == null && members.size() >= maxChats) {
+            evictOne();
+        }
+
+        // DB 를 읽는 동안 맵의 bin 을 잠그지 않도록 compute 밖에서 읽고, compute 에서는 바꿔 넣기만 한다.
+        long changes = loads.merge(chatId, new Loads(1, 0), (current, one) -> current.joined()).changes();
+        try {
+            Members loaded = new Members(sorted(loader.apply(chatId)), now);
+            members.compute(chatId, (id, existing) -> loads.get(id).changes() == changes ? loaded : null);
+            return Arrays.binarySearch(loaded.userIds(), userId) >= 0;
+        } finally {
+            loads.computeIfPresent(chatId, (id, current) -> current.left());
+        }
+    }
+
+    public void addMember(Long chatId, long userId) {
+        afterCommit(() -> {
+            markChanged(chatId);
+            members.computeIfPresent(chatId, (id, cached) -> cached.with(withMember(cached.userIds(), userId)));
+            eventPublisher.publishEvent(new ChatMembershipChangedEvent(chatId));
+        });
+    }
+
+    public void removeMember(Long chatId, long userId) {
+        afterCommit(() -> {
+            markChanged(chatId);
+            members.computeIfPresent(chatId, (id, cached) -> cached.with(withoutMember(cached.userIds(), userId)));
+            eventPublisher.publishEvent(new ChatMembershipChangedEvent(chatId));
+        });
+    }
+
+    public void evict(Long chatId) {
+        afterCommit(() -> {
+            markChanged(chatId);
+            members.remove(chatId);
+            eventPublisher.publishEvent(new ChatMembershipChangedEvent(chatId));
+        });
+    }
+
+    /**
+     * 다른 서버에서 참여자가 바뀌었을 때 이 서버의 캐시만 지운다.
+     */
+    public void invalidateLocal(Long chatId) {
+        markChanged(chatId);
+        members.remove(chatId);
+    }
+
+    private void markChanged(Long chatId) {
+        loads.computeIfPresent(chatId, (id, current) -> current.changed());
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = members.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static long[] sorted(long[] userIds) {
+        long[] copy = userIds.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static long[] withMember(long[] userIds, long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        if (index >= 0) {
+            return userIds;
+        }
+        int insertAt = -index - 1;
+        long[] result = new long[userIds.length + 1];
+        System.arraycopy(userIds, 0, result, 0, insertAt);
+        result[insertAt] = userId;
+        System.arraycopy(userIds, insertAt, result, insertAt + 1, userIds.length - insertAt);
+        return result;
+    }
+
+    private static long[] withoutMember(long[] userIds, long userId) {
+        int index = Arrays.binarySearch(userIds, userId);
+        if (index < 0) {
+            return userIds;
+        }
+        long[] result = new long[userIds.length - 1];
+        System.arraycopy(userIds, 0, result, 0, index);
+        System.arraycopy(userIds, index + 1, result, index, userIds.length - index - 1);
+        return result;
+    }
+
+    private record Members(long[] userIds, long loadedAt) {
+
+        // 이 서버에서 반영한 변경은 읽은 시각을 바꾸지 않아 ttl 이 지나면 다시 읽는다.
+        Members with(long[] changed) {
+            return new Members(changed, loadedAt);
+        }
+    }
+
+    private record Loads(int loaders, long changes) {
+
+        Loads joined() {
+            return new Loads(loaders + 1, changes);
+        }
+
+        Loads left() {
+            return loaders == 1 ? null : new Loads(loaders - 1, changes);
+        }
+
+        Loads changed() {
+            return new Loads(loaders, changes + 1);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+/**
+ * 채팅방 참여자가 바뀌어 커밋된 뒤에 발행된다. 다른 서버의 {@link ChatMembershipCache} 를 지우는 데 쓴다.
+ */
+public record ChatMembershipChangedEvent(Long chatId) {
+}
@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+/**
+ * 사용자의 읽음 위치가 앞으로 옮겨졌을 때 발행된다. 다른 서버의 {@link ReadCursorCache} 에 반영하는 데 쓴다.
+ */
+public record ReadCursorAdvancedEvent(Long userId, Long chatId, long seq) {
+}
@@ -0,0 +1,103 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.bb3.bodybuddybe.common.util.TransactionUtils.afterCommit;
+
+/**
+ * 사용자별로 참여한 채팅방과 마지막으로 읽은 순번(chatId -> lastReadSeq)을 보관한다.
+ * 읽음 위치는 DB 보다 먼저 여기에 반영되고, 입장/퇴장이 커밋되면 해당 사용자를 지워 다음 조회에서 다시 읽는다.
+ *
+ * <p>읽음 위치 이동과 사용자 삭제는 {@link ReadCursorAdvancedEvent}, {@link ReadCursorEvictedEvent} 로 알려
+ * 다른 서버의 캐시에도 반영하게 하고, 알림을 놓쳐도 ttl-ms 가 지나면 다시 읽는다.
+ * 크기가 max-size 를 넘으면 임의의 사용자를 하나 지운다.
+ */
+@Component
+public class ReadCursorCache {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<Long, Cursors> cursors = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReadCursorCache(ApplicationEventPublisher eventPublisher,
+                           @Value("${chat.read-cursor.cache-ttl-ms:60000}") long ttlMillis,
+                           @Value("${chat.read-cursor.cache-max-size:10000}") int maxSize) {
+        this(eventPublisher, ttlMillis, maxSize, System::currentTimeMillis);
+    }
+
+    ReadCursorCache(ApplicationEventPublisher eventPublisher, long ttlMillis, int maxSize, LongSupplier clock) {
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public Map<Long, Long> getOrLoad(Long userId, Function<Long, Map<Long, Long>> loader) {
+        long now = clock.getAsLong();
+        Cursors cached = cursors.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            return cached.byChat();
+        }
+        if (cached == null && cursors.size() >= maxSize) {
+            evictOne();
+        }
+        Cursors loaded = new Cursors(new ConcurrentHashMap<>(loader.apply(userId)), now);
+        cursors.put(userId, loaded);
+        return loaded.byChat();
+    }
+
+    /**
+     * 이미 불러온 사용자의 읽음 위치만 앞으로 옮긴다.
+     */
+    public void advance(Long userId, Long chatId, long seq) {
+        advanceLocal(userId, chatId, seq);
+        eventPublisher.publishEvent(new ReadCursorAdvancedEvent(userId, chatId, seq));
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> {
+            cursors.remove(userId);
+            eventPublisher.publishEvent(new ReadCursorEvictedEvent(userId));
+        });
+    }
+
+    /**
+     * 다른 서버에서 옮긴 읽음 위치를 이 서버의 캐시에만 반영한다.
+     */
+    public void advanceLocal(Long userId, Long chatId, long seq) {
+        Cursors cached = cursors.get(userId);
+        if (cached != null) {
+            cached.byChat().computeIfPresent(chatId, (id, lastReadSeq) -> Math.max(lastReadSeq, seq));
+        }
+    }
+
+    /**
+     * 다른 서버에서 입장/퇴장이 커밋됐을 때 이 서버의 캐시만 지운다.
+     */
+    public void invalidateLocal(Long userId) {
+        cursors.remove(userId);
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = cursors.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Cursors(Map<Long, Long> byChat, long loadedAt) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+/**
+ * 사용자의 입장/퇴장이 커밋된 뒤에 발행된다. 다른 서버의 {@link ReadCursorCache} 를 지우는 데 쓴다.
+ */
+public record ReadCursorEvictedEvent(Long userId) {
+}
@@ -0,0 +1,61 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 읽음 위치 변경을 Redis 채널(read-cursor)로 알려 다른 서버의 {@link ReadCursorCache} 에 반영한다.
+ * 메시지는 "보낸 서버 id:userId" (삭제) 또는 "보낸 서버 id:userId:chatId:seq" (이동) 이며,
+ * 자기가 보낸 메시지는 이미 반영했으므로 무시한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisReadCursorRelay implements MessageListener {
+
+    private static final String CHANNEL = "read-cursor";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ReadCursorCache readCursorCache;
+    private final String originId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener
+    public void onAdvanced(ReadCursorAdvancedEvent event) {
+        redisTemplate.convertAndSend(CHANNEL, originId + ":" + event.userId() + ":" + event.chatId() + ":" + event.seq());
+    }
+
+    @EventListener
+    public void onEvicted(ReadCursorEvictedEvent event) {
+        redisTemplate.convertAndSend(CHANNEL, originId + ":" + event.userId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+        if (parts[0].equals(originId)) {
+            return;
+        }
+        if (parts.length == 2) {
+            readCursorCache.invalidateLocal(Long.valueOf(parts[1]));
+        } else if (parts.length == 4) {
+            readCursorCache.advanceLocal(Long.valueOf(parts[1]), Long.valueOf(parts[2]), Long.parseLong(parts[3]));
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import com.bb3.bodybuddybe.user.entity.User;
+
+/**
+ * 메시지 응답에 실리는 보낸 사람 정보.
+ */
+public record SenderProfile(long id, String nickname, String imageUrl) {
+
+    public static SenderProfile of(User user) {
+        return new SenderProfile(user.getId(), user.getNickname(), user.getImageUrl());
+    }
+}
@@ -0,0 +1,82 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.bb3.bodybuddybe.common.util.TransactionUtils.afterCommit;
+
+/**
+ * 메시지 보낸 사람의 닉네임과 프로필 이미지를 보관한다.
+ * 프로필이 바뀌면 커밋 뒤에 해당 사용자를 지우고 {@link SenderProfileChangedEvent} 로 다른 서버에도 알린다.
+ * 알림을 놓쳐도 ttl-ms 가 지나면 다시 읽는다. 크기가 max-size 를 넘으면 임의의 항목을 하나 지운다.
+ */
+@Component
+public class SenderProfileCache {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final Map<Long, Cached> profiles = new ConcurrentHashMap<>();
+
+    @Autowired
+    public SenderProfileCache(ApplicationEventPublisher eventPublisher,
+                              @Value("${chat.sender-cache.ttl-ms:300000}") long ttlMillis,
+                              @Value("${chat.sender-cache.max-size:10000}") int maxSize) {
+        this(eventPublisher, ttlMillis, maxSize, System::currentTimeMillis);
+    }
+
+    SenderProfileCache(ApplicationEventPublisher eventPublisher, long ttlMillis, int maxSize, LongSupplier clock) {
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    public SenderProfile getOrLoad(Long userId, Function<Long, SenderProfile> loader) {
+        long now = clock.getAsLong();
+        Cached cached = profiles.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlMillis) {
+            return cached.profile();
+        }
+        if (cached == null && profiles.size() >= maxSize) {
+            evictOne();
+        }
+        SenderProfile profile = loader.apply(userId);
+        profiles.put(userId, new Cached(profile, now));
+        return profile;
+    }
+
+    public void evict(Long userId) {
+        afterCommit(() -> {
+            profiles.remove(userId);
+            eventPublisher.publishEvent(new SenderProfileChangedEvent(userId));
+        });
+    }
+
+    /**
+     * 다른 서버에서 프로필이 바뀌었을 때 이 서버의 캐시만 지운다.
+     */
+    public void invalidateLocal(Long userId) {
+        profiles.remove(userId);
+    }
+
+    private void evictOne() {
+        Iterator<Long> iterator = profiles.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record Cached(SenderProfile profile, long loadedAt) {
+    }
+}
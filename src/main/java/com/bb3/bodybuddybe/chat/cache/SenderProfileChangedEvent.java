@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+/**
+ * 사용자의 닉네임이나 프로필 이미지가 바뀌어 커밋된 뒤에 발행된다. 다른 서버의 {@link SenderProfileCache} 를 지우는 데 쓴다.
+ */
+public record SenderProfileChangedEvent(Long userId) {
+}
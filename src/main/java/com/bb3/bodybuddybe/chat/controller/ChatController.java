@@ -2,7 +2,11 @@ package com.bb3.bodybuddybe.chat.controller;
 
 import com.bb3.bodybuddybe.chat.dto.ChatRequestDto;
 import com.bb3.bodybuddybe.chat.dto.ChatResponseDto;
+import com.bb3.bodybuddybe.chat.dto.ChatSummaryResponseDto;
+import com.bb3.bodybuddybe.chat.dto.ReadCursorRequestDto;
+import com.bb3.bodybuddybe.chat.dto.UnreadCountResponseDto;
 import com.bb3.bodybuddybe.chat.service.ChatService;
+import com.bb3.bodybuddybe.chat.service.ReadStateService;
 import com.bb3.bodybuddybe.common.dto.ApiResponseDto;
 import com.bb3.bodybuddybe.common.security.UserDetailsImpl;
 
@@ -28,6 +32,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class ChatController {
 
     private final ChatService chatService;
+    private final ReadStateService readStateService;
 
     @PostMapping("/gyms/{gymId}/chats")
     public ResponseEntity<ApiResponseDto> createChatRoom(@PathVariable Long gymId,
@@ -38,15 +43,15 @@ public class ChatController {
     }
 
     @GetMapping("/gyms/{gymId}/chats")
-    public ResponseEntity<List<ChatResponseDto>> getAllChatsInGym(@PathVariable Long gymId) {
-        List<ChatResponseDto> response = chatService.getAllChatsInGym(gymId);
+    public ResponseEntity<List<ChatSummaryResponseDto>> getAllChatsInGym(@PathVariable Long gymId) {
+        List<ChatSummaryResponseDto> response = chatService.getAllChatsInGym(gymId);
         return ResponseEntity.ok(response);
     }
 
     @GetMapping("/gym/{gymId}/users/{userId}/chats")
-    public ResponseEntity<List<ChatResponseDto>> getMyChatsInGym(@PathVariable Long gymId,
-                                                                 @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        List<ChatResponseDto> response = chatService.getMyChatsInGym(gymId, userDetails.getUser());
+    public ResponseEntity<List<ChatSummaryResponseDto>> getMyChatsInGym(@PathVariable Long gymId,
+                                                                        @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<ChatSummaryResponseDto> response = chatService.getMyChatsInGym(gymId, userDetails.getUser());
         return ResponseEntity.ok(response);
     }
 
@@ -93,4 +98,18 @@ public class ChatController {
         chatService.leaveChat(userDetails.getUser(), chatId);
         return ResponseEntity.ok(new ApiResponseDto("채팅방 나가기 완료", HttpStatus.OK.value()));
     }
+
+    @PutMapping("/chats/{chatId}/read-cursor")
+    public ResponseEntity<ApiResponseDto> markRead(@PathVariable Long chatId,
+                                                   @Valid @RequestBody ReadCursorRequestDto requestDto,
+                                                   @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        readStateService.markRead(chatId, userDetails.getUser(), requestDto.getSeq());
+        return ResponseEntity.ok(new ApiResponseDto("읽음 처리 완료", HttpStatus.OK.value()));
+    }
+
+    @GetMapping("/chats/unread-counts")
+    public ResponseEntity<List<UnreadCountResponseDto>> getUnreadCounts(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<UnreadCountResponseDto> response = readStateService.getUnreadCounts(userDetails.getUser());
+        return ResponseEntity.ok(response);
+    }
 }
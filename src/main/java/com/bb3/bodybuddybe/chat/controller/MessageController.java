@@ -1,5 +1,6 @@
 package com.bb3.bodybuddybe.chat.controller;
 
+import com.bb3.bodybuddybe.chat.broker.ChatBroadcaster;
 import com.bb3.bodybuddybe.chat.dto.MessageRequestDto;
 import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
 import com.bb3.bodybuddybe.chat.service.MessageService;
@@ -8,11 +9,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import java.util.List;
@@ -22,29 +23,60 @@ import java.util.List;
 public class MessageController {
 
     private final MessageService messageService;
+    private final ChatBroadcaster chatBroadcaster;
 
     @ResponseBody
     @GetMapping("/api/chats/{chatId}/messages")
-    public ResponseEntity<List<MessageResponseDto>> getPastMessages(@PathVariable Long chatId, @AuthenticationPrincipal UserDetailsImpl userDetails) {
-        List<MessageResponseDto> messages = messageService.getPastMessages(chatId, userDetails.getUser());
+    public ResponseEntity<List<MessageResponseDto>> getPastMessages(@PathVariable Long chatId,
+                                                                    @RequestParam(required = false) Long before,
+                                                                    @RequestParam(defaultValue = "50") int limit,
+                                                                    @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<MessageResponseDto> messages = messageService.getPastMessages(chatId, userDetails.getUser(), before, limit);
+        return ResponseEntity.ok(messages);
+    }
+
+    @ResponseBody
+    @GetMapping("/api/chats/{chatId}/messages/since/{seq}")
+    public ResponseEntity<List<MessageResponseDto>> getMessagesSince(@PathVariable Long chatId,
+                                                                     @PathVariable long seq,
+                                                                     @RequestParam(defaultValue = "100") int limit,
+                                                                     @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<MessageResponseDto> messages = messageService.getMessagesSince(chatId, userDetails.getUser(), seq, limit);
+        return ResponseEntity.ok(messages);
+    }
+
+    @ResponseBody
+    @GetMapping("/api/chats/{chatId}/messages/search")
+    public ResponseEntity<List<MessageResponseDto>> searchMessages(@PathVariable Long chatId,
+                                                                   @RequestParam("q") String query,
+                                                                   @RequestParam(required = false) Long before,
+                                                                   @RequestParam(defaultValue = "20") int limit,
+                                                                   @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        List<MessageResponseDto> messages = messageService.searchMessages(chatId, userDetails.getUser(), query, before, limit);
         return ResponseEntity.ok(messages);
     }
 
     @MessageMapping("/chats/{chatId}/send")
-    @SendTo("/sub/chats/{chatId}")
-    public MessageResponseDto sendMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
-        return messageService.sendMessage(chatId, requestDto);
+    public void sendMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
+        MessageResponseDto response = messageService.sendMessage(chatId, requestDto);
+        // 재전송된 메시지는 처음 보냈을 때 이미 전달했다.
+        if (response != null) {
+            chatBroadcaster.broadcast(chatId, response);
+        }
     }
 
     @MessageMapping("/chats/{chatId}/enter")
-    @SendTo("/sub/chats/{chatId}")
-    public MessageResponseDto sendEnterMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
-        return messageService.sendEnterMessage(chatId, requestDto);
+    public void sendEnterMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
+        chatBroadcaster.broadcast(chatId, messageService.sendEnterMessage(chatId, requestDto));
+    }
+
+    @MessageMapping("/chats/{chatId}/typing")
+    public void sendTyping(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
+        messageService.sendTyping(chatId, requestDto);
     }
 
     @MessageMapping("/chats/{chatId}/leave")
-    @SendTo("/sub/chats/{chatId}")
-    public MessageResponseDto sendLeaveMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
-        return messageService.sendLeaveMessage(chatId, requestDto);
+    public void sendLeaveMessage(@DestinationVariable Long chatId, MessageRequestDto requestDto) {
+        chatBroadcaster.broadcast(chatId, messageService.sendLeaveMessage(chatId, requestDto));
     }
 }
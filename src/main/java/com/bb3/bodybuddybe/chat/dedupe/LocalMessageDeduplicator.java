@@ -0,0 +1,71 @@
+package com.bb3.bodybuddybe.chat.dedupe;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 두 세대의 집합으로 clientMessageId 를 기억한다. 서버가 한 대일 때 쓰는 기본 모드.
+ * 새 id 는 현재 세대에 넣고, window-seconds 가 지나거나 현재 세대가 max-size 의 절반을 넘으면
+ * 현재 세대를 이전 세대로 돌리고 이전 세대는 버린다.
+ * 그래서 id 는 보통 window-seconds 이상 2 배 미만 동안 기억되고, 전체 크기는 max-size 를 넘지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.dedupe.store", havingValue = "local", matchIfMissing = true)
+public class LocalMessageDeduplicator implements MessageDeduplicator {
+
+    private final long windowMillis;
+    private final int generationSize;
+    private final LongSupplier clock;
+    private volatile Set<String> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> previous = ConcurrentHashMap.newKeySet();
+    private volatile long rotatedAt;
+
+    @Autowired
+    public LocalMessageDeduplicator(@Value("${chat.dedupe.window-seconds:300}") long windowSeconds,
+                                    @Value("${chat.dedupe.max-size:100000}") int maxSize) {
+        this(windowSeconds * 1000, maxSize, System::currentTimeMillis);
+    }
+
+    LocalMessageDeduplicator(long windowMillis, int maxSize, LongSupplier clock) {
+        this.windowMillis = windowMillis;
+        this.generationSize = Math.max(maxSize / 2, 1);
+        this.clock = clock;
+        this.rotatedAt = clock.getAsLong();
+    }
+
+    @Override
+    public boolean firstSeen(Long senderId, String clientMessageId) {
+        if (clock.getAsLong() - rotatedAt >= windowMillis || current.size() >= generationSize) {
+            rotate();
+        }
+        String key = senderId + ":" + clientMessageId;
+        if (previous.contains(key)) {
+            return false;
+        }
+        return current.add(key);
+    }
+
+    @Override
+    public void forget(Long senderId, String clientMessageId) {
+        String key = senderId + ":" + clientMessageId;
+        current.remove(key);
+        previous.remove(key);
+    }
+
+    private synchronized void rotate() {
+        long now = clock.getAsLong();
+        // 다른 스레드가 먼저 돌렸으면 다시 돌리지 않는다.
+        if (now - rotatedAt < windowMillis && current.size() < generationSize) {
+            return;
+        }
+        previous = current;
+        current = ConcurrentHashMap.newKeySet();
+        rotatedAt = now;
+    }
+}
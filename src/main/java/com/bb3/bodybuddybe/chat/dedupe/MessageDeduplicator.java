@@ -0,0 +1,18 @@
+package com.bb3.bodybuddybe.chat.dedupe;
+
+/**
+ * 클라이언트가 붙인 메시지 id 를 일정 시간 기억해 재전송된 메시지를 걸러 낸다.
+ * 모바일 클라이언트는 응답을 못 받으면 같은 clientMessageId 로 다시 보낸다.
+ */
+public interface MessageDeduplicator {
+
+    /**
+     * 보낸 사람의 clientMessageId 를 처음 보면 기록하고 true, 기억하는 동안 다시 오면 false
+     */
+    boolean firstSeen(Long senderId, String clientMessageId);
+
+    /**
+     * 처리하지 못한 메시지의 기록을 지워, 같은 clientMessageId 로 다시 보내면 처리되게 한다.
+     */
+    void forget(Long senderId, String clientMessageId);
+}
@@ -0,0 +1,40 @@
+package com.bb3.bodybuddybe.chat.dedupe;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * clientMessageId 를 SET NX EX 로 기록한다. 여러 서버가 같은 기록을 보므로 다른 서버로 재전송돼도 걸러진다.
+ * 키는 window-seconds 뒤에 만료된다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.dedupe.store", havingValue = "redis")
+public class RedisMessageDeduplicator implements MessageDeduplicator {
+
+    private static final String KEY_PREFIX = "chat:dedupe:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration window;
+
+    public RedisMessageDeduplicator(StringRedisTemplate redisTemplate,
+                                    @Value("${chat.dedupe.window-seconds:300}") long windowSeconds) {
+        this.redisTemplate = redisTemplate;
+        this.window = Duration.ofSeconds(windowSeconds);
+    }
+
+    @Override
+    public boolean firstSeen(Long senderId, String clientMessageId) {
+        Boolean added = redisTemplate.opsForValue()
+                .setIfAbsent(KEY_PREFIX + senderId + ":" + clientMessageId, "1", window);
+        return !Boolean.FALSE.equals(added);
+    }
+
+    @Override
+    public void forget(Long senderId, String clientMessageId) {
+        redisTemplate.delete(KEY_PREFIX + senderId + ":" + clientMessageId);
+    }
+}
@@ -14,4 +14,10 @@ public class ChatParticipantDto {
         this.nickname = user.getNickname();
         this.profileImage = user.getImageUrl();
     }
+
+    public ChatParticipantDto(Long id, String nickname, String profileImage) {
+        this.id = id;
+        this.nickname = nickname;
+        this.profileImage = profileImage;
+    }
 }
@@ -15,8 +15,9 @@ public class ChatResponseDto {
     private List<ChatParticipantDto> participants;
     private LocalDateTime createdAt;
     private MessageResponseDto lastMessage;
+    private int onlineCount;
 
-    public ChatResponseDto(Chat chat) {
+    public ChatResponseDto(Chat chat, int onlineCount) {
         this.id = chat.getId();
         this.name = chat.getName();
         this.chatType = chat.getChatType();
@@ -26,5 +27,6 @@ public class ChatResponseDto {
                 .toList();
         this.createdAt = chat.getCreatedAt();
         this.lastMessage = chat.getMessages().isEmpty() ? null : new MessageResponseDto(chat.getMessages().get(chat.getMessages().size() - 1));
+        this.onlineCount = onlineCount;
     }
 }
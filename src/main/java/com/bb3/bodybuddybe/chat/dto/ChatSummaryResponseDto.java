@@ -0,0 +1,42 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.ChatSummary;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+public class ChatSummaryResponseDto {
+    private Long id;
+    private String name;
+    private ChatType chatType;
+    private LocalDateTime createdAt;
+    private int participantCount;
+    private List<Long> avatarUserIds;
+    // 메시지 id 는 MessageResponseDto.id 처럼 문자열로 내보낸다.
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long lastMessageId;
+    private String lastMessageSnippet;
+    private LocalDateTime lastMessageSentAt;
+
+    public ChatSummaryResponseDto(Chat chat) {
+        this.id = chat.getId();
+        this.name = chat.getName();
+        this.chatType = chat.getChatType();
+        this.createdAt = chat.getCreatedAt();
+
+        ChatSummary summary = chat.getSummary();
+        this.avatarUserIds = summary == null ? List.of() : summary.getAvatarUserIds();
+        if (summary != null) {
+            this.participantCount = summary.getParticipantCount();
+            this.lastMessageId = summary.getLastMessageId();
+            this.lastMessageSnippet = summary.getLastMessageSnippet();
+            this.lastMessageSentAt = summary.getLastMessageSentAt();
+        }
+    }
+}
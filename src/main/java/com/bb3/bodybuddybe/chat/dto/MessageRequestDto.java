@@ -10,4 +10,6 @@ public class MessageRequestDto {
     private Long senderId;
     private MessageType type;
     private String content;
+    // 클라이언트가 만든 메시지 id. 재전송된 메시지를 거를 때 쓰며 없으면 거르지 않는다.
+    private String clientMessageId;
 }
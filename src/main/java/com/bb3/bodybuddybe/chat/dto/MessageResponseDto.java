@@ -1,21 +1,37 @@
 package com.bb3.bodybuddybe.chat.dto;
 
 import com.bb3.bodybuddybe.chat.entity.Message;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 
 @Getter
 public class MessageResponseDto {
+    // snowflake id 는 2^53 보다 커서 JavaScript 에서 반올림되지 않도록 문자열로 내보낸다.
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    private Long seq;
     private String content;
     private LocalDateTime sentAt;
     private ChatParticipantDto sender;
 
     public MessageResponseDto(Message message) {
         this.id = message.getId();
+        this.seq = message.getSeq();
         this.content = message.getContent();
         this.sentAt = message.getSentAt();
         this.sender = new ChatParticipantDto(message.getSender());
     }
+
+    // JPQL 생성자 표현식에서 발신자 정보까지 한 번에 채운다.
+    public MessageResponseDto(Long id, Long seq, String content, LocalDateTime sentAt,
+                              Long senderId, String senderNickname, String senderImageUrl) {
+        this.id = id;
+        this.seq = seq;
+        this.content = content;
+        this.sentAt = sentAt;
+        this.sender = new ChatParticipantDto(senderId, senderNickname, senderImageUrl);
+    }
 }
@@ -0,0 +1,9 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전송은 끝났지만 아직 DB 에 저장되지 않은 메시지.
+ */
+public record PendingMessage(long id, long chatId, long seq, long senderId, String content, LocalDateTime sentAt) {
+}
@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+/**
+ * 사용자가 채팅방에서 마지막으로 읽은 메시지 순번.
+ */
+public record ReadCursor(Long chatId, Long userId, Long lastReadSeq) {
+}
@@ -0,0 +1,14 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ReadCursorRequestDto {
+    @NotNull
+    @PositiveOrZero
+    private Long seq;
+}
@@ -0,0 +1,21 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+import com.bb3.bodybuddybe.chat.enums.MessageType;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 한 구간 동안 입력 중이던 사용자 목록. 채팅 메시지와 같은 /sub/chats/{chatId} 로 전달되므로 type 으로 구분한다.
+ */
+@Getter
+public class TypingResponseDto {
+    private final MessageType type = MessageType.TYPING;
+    private Long chatId;
+    private List<Long> userIds;
+
+    public TypingResponseDto(Long chatId, List<Long> userIds) {
+        this.chatId = chatId;
+        this.userIds = userIds;
+    }
+}
@@ -0,0 +1,18 @@
+package com.bb3.bodybuddybe.chat.dto;
+
+import lombok.Getter;
+
+@Getter
+public class UnreadCountResponseDto {
+    private Long chatId;
+    private Long lastReadSeq;
+    private Long lastSeq;
+    private Long unreadCount;
+
+    public UnreadCountResponseDto(Long chatId, long lastReadSeq, long lastSeq) {
+        this.chatId = chatId;
+        this.lastReadSeq = lastReadSeq;
+        this.lastSeq = lastSeq;
+        this.unreadCount = Math.max(0, lastSeq - lastReadSeq);
+    }
+}
@@ -47,18 +47,31 @@ public class Chat extends TimeStamped {
     @JoinColumn(name = "owner_id")
     private User owner;
 
+    // 1:1 채팅방에만 있는 "gymId:작은 userId:큰 userId" 키. 같은 두 사람의 1:1 채팅방은 헬스장마다 하나뿐이다.
+    @Column(unique = true, length = 64)
+    private String directKey;
+
     @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<ChatParticipant> participants;
 
     @OneToMany(mappedBy = "chat", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Message> messages;
 
+    @OneToOne(mappedBy = "chat", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    private ChatSummary summary;
+
     @Builder
-    public Chat(ChatType chatType, String name, Gym gym, User owner) {
+    public Chat(ChatType chatType, String name, Gym gym, User owner, String directKey) {
         this.chatType = chatType;
         this.name = name;
         this.gym = gym;
         this.owner = owner;
+        this.directKey = directKey;
+        this.summary = new ChatSummary(this);
+    }
+
+    public static String directKey(Long gymId, Long userId, Long otherUserId) {
+        return gymId + ":" + Math.min(userId, otherUserId) + ":" + Math.max(userId, otherUserId);
     }
 
     public void updateChat(String name) {
@@ -1,6 +1,7 @@
 package com.bb3.bodybuddybe.chat.entity;
 
 import com.bb3.bodybuddybe.user.entity.User;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
@@ -8,12 +9,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 @Entity
 @Getter
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_chat_participant_chat_id_user_id", columnNames = {"chat_id", "user_id"}))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ChatParticipant {
 
@@ -29,8 +33,18 @@ public class ChatParticipant {
     @JoinColumn(name = "chat_id", nullable = false)
     private Chat chat;
 
+    // 마지막으로 읽은 메시지 순번. 안 읽은 메시지 수는 채팅방의 마지막 순번과의 차이다.
+    @Column(nullable = false)
+    private Long lastReadSeq = 0L;
+
     public ChatParticipant(User user, Chat chat) {
         this.user = user;
         this.chat = chat;
     }
+
+    public ChatParticipant(User user, Chat chat, long lastReadSeq) {
+        this.user = user;
+        this.chat = chat;
+        this.lastReadSeq = lastReadSeq;
+    }
 }
@@ -0,0 +1,61 @@
+package com.bb3.bodybuddybe.chat.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅방 목록 조회용 요약. 메시지 전송, 참여, 나가기 시점에 갱신해 두고
+ * 목록 조회에서는 메시지/참여자 컬렉션 대신 이 값만 읽는다.
+ */
+@Entity
+@Getter
+@Table(name = "chat_summary")
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ChatSummary {
+
+    public static final int SNIPPET_LENGTH = 100;
+    public static final int MAX_AVATARS = 4;
+
+    @Id
+    private Long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "chat_id")
+    private Chat chat;
+
+    @Column
+    private Long lastMessageId;
+
+    @Column(length = SNIPPET_LENGTH)
+    private String lastMessageSnippet;
+
+    @Column
+    private LocalDateTime lastMessageSentAt;
+
+    @Column(nullable = false)
+    private int participantCount;
+
+    @Column(name = "avatar_user_ids")
+    @Convert(converter = UserIdListConverter.class)
+    private List<Long> avatarUserIds = new ArrayList<>();
+
+    public ChatSummary(Chat chat) {
+        this.chat = chat;
+    }
+
+    public void updateParticipants(long participantCount, List<Long> avatarUserIds) {
+        this.participantCount = (int) participantCount;
+        this.avatarUserIds = new ArrayList<>(avatarUserIds);
+    }
+
+    public static String snippetOf(String content) {
+        return content.length() <= SNIPPET_LENGTH ? content : content.substring(0, SNIPPET_LENGTH);
+    }
+}
@@ -6,18 +6,20 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Getter
-@Table(name = "message")
+@Table(name = "message",
+        indexes = @Index(name = "idx_message_chat_id_id", columnList = "chat_id, id"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_message_chat_id_seq", columnNames = {"chat_id", "seq"}))
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Message {
 
+    // 전송 시점에 SnowflakeIdGenerator 로 발급한다. 시각 순으로 커지지만 여러 서버가 발급한 id 는 각 서버의 시계 순서라
+    // 보낸 순서와 다를 수 있다. 채팅방 안의 메시지 순서는 seq 다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(nullable = false)
@@ -31,14 +33,20 @@ public class Message {
     @JoinColumn(name = "chat_id", nullable = false)
     private Chat chat;
 
-    @CreationTimestamp
+    // 채팅방 안에서 1 부터 빈틈없이 증가하는 순번. 클라이언트는 순번이 건너뛰면 빠진 메시지만 다시 받는다.
+    @Column(nullable = false, updatable = false)
+    private Long seq;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime sentAt;
 
     @Builder
-    public Message(String content, User sender, Chat chat) {
+    public Message(Long id, String content, User sender, Chat chat, Long seq, LocalDateTime sentAt) {
+        this.id = id;
         this.content = content;
         this.sender = sender;
         this.chat = chat;
+        this.seq = seq;
+        this.sentAt = sentAt;
     }
 }
@@ -0,0 +1,43 @@
+package com.bb3.bodybuddybe.chat.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 사용자 id 목록을 콤마로 구분한 문자열로 저장한다.
+ */
+@Converter
+public class UserIdListConverter implements AttributeConverter<List<Long>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder builder = new StringBuilder();
+        for (Long userId : userIds) {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(userId);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public List<Long> convertToEntityAttribute(String column) {
+        List<Long> userIds = new ArrayList<>();
+        if (column == null || column.isEmpty()) {
+            return userIds;
+        }
+
+        for (String userId : column.split(",")) {
+            userIds.add(Long.parseLong(userId));
+        }
+        return userIds;
+    }
+}
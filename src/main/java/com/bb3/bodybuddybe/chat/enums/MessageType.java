@@ -1,5 +1,5 @@
 package com.bb3.bodybuddybe.chat.enums;
 
 public enum MessageType {
-    ENTER, TALK, LEAVE
+    ENTER, TALK, LEAVE, TYPING
 }
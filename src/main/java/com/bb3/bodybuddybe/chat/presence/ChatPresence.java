@@ -0,0 +1,126 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import com.bb3.bodybuddybe.chat.broker.ChatBroadcaster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * STOMP 연결/구독/해제/연결 종료 이벤트로 채팅방(/sub/chats/{chatId})별 접속 중인 세션 수를 센다.
+ * 한 세션이 같은 채팅방을 여러 번 구독해도 한 번만 센다. DB 는 읽지 않는다.
+ * 세션별 구독은 이 서버에서 기억하고, 채팅방별 수는 {@link PresenceCounter} 에 더한다.
+ * chat.broker.relay=redis 이면 모든 서버의 세션을 합친 수가 된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatPresence {
+
+    private final PresenceCounter counter;
+    // sessionId -> (subscriptionId -> chatId)
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new HashMap<>();
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        connect(StompHeaderAccessor.wrap(event.getMessage()).getSessionId());
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long chatId = parseChatId(accessor.getDestination());
+        if (chatId != null) {
+            subscribe(accessor.getSessionId(), accessor.getSubscriptionId(), chatId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        unsubscribe(accessor.getSessionId(), accessor.getSubscriptionId());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        disconnect(event.getSessionId());
+    }
+
+    public int onlineCount(Long chatId) {
+        return counter.count(chatId);
+    }
+
+    synchronized void connect(String sessionId) {
+        subscriptionsBySession.putIfAbsent(sessionId, new HashMap<>());
+    }
+
+    // 세션 구독은 락 안에서 바꾸고, 채팅방 수는 락 밖에서 더한다. (redis 모드에서 락을 잡은 채 왕복하지 않게)
+    void subscribe(String sessionId, String subscriptionId, Long chatId) {
+        Long released = null;
+        boolean joined;
+        synchronized (this) {
+            Map<String, Long> subscriptions = subscriptionsBySession.computeIfAbsent(sessionId, id -> new HashMap<>());
+            Long previous = subscriptions.put(subscriptionId, chatId);
+            if (chatId.equals(previous)) {
+                return;
+            }
+            if (previous != null && !subscriptions.containsValue(previous)) {
+                released = previous;
+            }
+            joined = countOf(subscriptions, chatId) == 1;
+        }
+        if (released != null) {
+            counter.add(released, -1);
+        }
+        if (joined) {
+            counter.add(chatId, 1);
+        }
+    }
+
+    void unsubscribe(String sessionId, String subscriptionId) {
+        Long released;
+        synchronized (this) {
+            Map<String, Long> subscriptions = subscriptionsBySession.get(sessionId);
+            if (subscriptions == null) {
+                return;
+            }
+            Long chatId = subscriptions.remove(subscriptionId);
+            // 세션에 같은 채팅방 구독이 더 남아 있으면 빼지 않는다.
+            released = chatId != null && !subscriptions.containsValue(chatId) ? chatId : null;
+        }
+        if (released != null) {
+            counter.add(released, -1);
+        }
+    }
+
+    void disconnect(String sessionId) {
+        Map<String, Long> subscriptions;
+        synchronized (this) {
+            subscriptions = subscriptionsBySession.remove(sessionId);
+        }
+        if (subscriptions != null) {
+            subscriptions.values().stream().distinct().forEach(chatId -> counter.add(chatId, -1));
+        }
+    }
+
+    private static long countOf(Map<String, Long> subscriptions, Long chatId) {
+        return subscriptions.values().stream().filter(chatId::equals).count();
+    }
+
+    private static Long parseChatId(String destination) {
+        if (destination == null || !destination.startsWith(ChatBroadcaster.DESTINATION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(ChatBroadcaster.DESTINATION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이 서버의 세션만 센다. 서버가 한 대일 때 쓰는 기본 모드.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceCounter implements PresenceCounter {
+
+    // chatId -> 접속 중인 세션 수. 0 이 되면 지운다.
+    private final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public void add(Long chatId, int delta) {
+        counts.merge(chatId, delta, (count, added) -> count + added == 0 ? null : count + added);
+    }
+
+    @Override
+    public int count(Long chatId) {
+        return Math.max(counts.getOrDefault(chatId, 0), 0);
+    }
+
+    Set<Long> chatIds() {
+        return counts.keySet();
+    }
+}
@@ -0,0 +1,15 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+/**
+ * 채팅방별 접속 중인 세션 수를 보관한다.
+ * {@link ChatPresence} 가 세션이 채팅방을 처음 구독하면 +1, 마지막 구독을 해제하거나 연결이 끊기면 -1 을 더한다.
+ */
+public interface PresenceCounter {
+
+    /**
+     * 채팅방의 세션 수에 delta 를 더한다. 이벤트 순서가 뒤바뀌어도 결과가 같도록 순서와 상관없이 더한다.
+     */
+    void add(Long chatId, int delta);
+
+    int count(Long chatId);
+}
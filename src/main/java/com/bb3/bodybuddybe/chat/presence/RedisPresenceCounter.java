@@ -0,0 +1,59 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 채팅방별 Redis 해시(chat:online:{chatId})에 서버마다 필드 하나씩 세션 수를 HINCRBY 로 더하고, 필드를 모두 더해 읽는다.
+ * 서버가 정상 종료하면 자기 필드를 지운다. 비정상 종료한 서버의 필드는 남으므로 그때는 키를 지워 다시 세게 해야 한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisPresenceCounter implements PresenceCounter {
+
+    private static final String KEY_PREFIX = "chat:online:";
+
+    // 이 서버 몫이 0 이 되면 필드를 지운다.
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local count = redis.call('HINCRBY', KEYS[1], ARGV[1], ARGV[2]) " +
+            "if count == 0 then redis.call('HDEL', KEYS[1], ARGV[1]) end " +
+            "return count", Long.class);
+
+    private static final RedisScript<Long> SUM_SCRIPT = new DefaultRedisScript<>(
+            "local total = 0 " +
+            "for _, count in ipairs(redis.call('HVALS', KEYS[1])) do total = total + tonumber(count) end " +
+            "return total", Long.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redisTemplate;
+    // 종료할 때 지울 필드를 알기 위해 이 서버 몫도 따로 센다.
+    private final LocalPresenceCounter local = new LocalPresenceCounter();
+
+    @Override
+    public void add(Long chatId, int delta) {
+        local.add(chatId, delta);
+        redisTemplate.execute(ADD_SCRIPT, List.of(KEY_PREFIX + chatId), nodeId, String.valueOf(delta));
+    }
+
+    @Override
+    public int count(Long chatId) {
+        Long total = redisTemplate.execute(SUM_SCRIPT, List.of(KEY_PREFIX + chatId));
+        return total == null ? 0 : (int) Math.max(total, 0);
+    }
+
+    @PreDestroy
+    public void clear() {
+        for (Long chatId : local.chatIds()) {
+            redisTemplate.opsForHash().delete(KEY_PREFIX + chatId, nodeId);
+        }
+    }
+}
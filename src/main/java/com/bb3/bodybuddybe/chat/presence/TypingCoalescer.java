@@ -0,0 +1,77 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import com.bb3.bodybuddybe.chat.broker.ChatBroadcaster;
+import com.bb3.bodybuddybe.chat.dto.TypingResponseDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 입력 중 이벤트를 채팅방별로 모아 window-ms(기본 500ms)마다 한 번만 전달한다.
+ * 키를 누를 때마다 오는 이벤트가 그대로 simple broker 로 퍼지지 않고, 구간 안에서는 같은 사용자가 한 번만 포함된다.
+ * 입력을 멈춘 사용자는 다음 구간 목록에서 빠지므로, 클라이언트는 목록을 받을 때마다 표시를 갱신하면 된다.
+ */
+@Slf4j
+@Component
+public class TypingCoalescer {
+
+    private final ChatBroadcaster chatBroadcaster;
+    private final long windowMillis;
+    // chatId -> 이번 구간에 입력 중이던 사용자
+    private final Map<Long, Set<Long>> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "typing-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public TypingCoalescer(ChatBroadcaster chatBroadcaster,
+                           @Value("${chat.presence.typing-window-ms:500}") long windowMillis) {
+        this.chatBroadcaster = chatBroadcaster;
+        this.windowMillis = windowMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleAtFixedRate(this::flush, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public void record(Long chatId, Long userId) {
+        // flush 가 꺼낸 집합에 더하지 않도록 compute 안에서 더한다.
+        pending.compute(chatId, (id, userIds) -> {
+            Set<Long> typing = userIds == null ? ConcurrentHashMap.newKeySet() : userIds;
+            typing.add(userId);
+            return typing;
+        });
+    }
+
+    void flush() {
+        for (Long chatId : pending.keySet()) {
+            // 꺼낸 뒤에 들어온 사용자는 새 집합에 모여 다음 구간에 전달된다.
+            Set<Long> userIds = pending.remove(chatId);
+            if (userIds == null || userIds.isEmpty()) {
+                continue;
+            }
+            try {
+                chatBroadcaster.broadcast(chatId, new TypingResponseDto(chatId, new ArrayList<>(userIds)));
+            } catch (RuntimeException e) {
+                log.warn("입력 중 알림 전달 실패 [chatId={}]", chatId, e);
+            }
+        }
+    }
+}
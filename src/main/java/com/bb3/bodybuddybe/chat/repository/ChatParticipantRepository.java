@@ -1,16 +1,27 @@
 package com.bb3.bodybuddybe.chat.repository;
 
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
 import com.bb3.bodybuddybe.chat.entity.Chat;
 import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
 import com.bb3.bodybuddybe.user.entity.User;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface ChatParticipantRepository extends JpaRepository<ChatParticipant, Long> {
-    List<ChatParticipant> findAllByUserAndChat_Gym_Id(User user, Long gymId);
     Optional<ChatParticipant> findByUserAndChatId(User user, Long chatId);
     boolean existsByChatAndUser(Chat chat, User user);
+    long countByChatId(Long chatId);
+
+    @Query("SELECT cp.user.id FROM ChatParticipant cp WHERE cp.chat.id = :chatId ORDER BY cp.id")
+    List<Long> findUserIdsByChatId(@Param("chatId") Long chatId, Pageable pageable);
+
+    @Query("SELECT new com.bb3.bodybuddybe.chat.dto.ReadCursor(cp.chat.id, cp.user.id, cp.lastReadSeq) " +
+            "FROM ChatParticipant cp WHERE cp.user.id = :userId")
+    List<ReadCursor> findReadCursorsByUserId(@Param("userId") Long userId);
 }
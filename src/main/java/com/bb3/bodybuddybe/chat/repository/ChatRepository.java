@@ -7,16 +7,17 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Long> {
-    List<Chat> findAllByGym_Id(Long gymId);
+    @Query("SELECT c FROM Chat c LEFT JOIN FETCH c.summary WHERE c.gym.id = :gymId")
+    List<Chat> findAllWithSummaryByGymId(@Param("gymId") Long gymId);
 
-    @Query("SELECT c FROM Chat c " +
-            "WHERE c.gym.id = :gymId AND c.chatType = 'DIRECT' " +
-            "AND EXISTS (SELECT cp1 FROM c.participants cp1 WHERE cp1.user.id = :userId1) " +
-            "AND EXISTS (SELECT cp2 FROM c.participants cp2 WHERE cp2.user.id = :userId2)")
-    Chat findDirectChatBetweenUsers(@Param("gymId") Long gymId,
-                                    @Param("userId1") Long userId1,
-                                    @Param("userId2") Long userId2);
+    @Query("SELECT c FROM ChatParticipant cp JOIN cp.chat c LEFT JOIN FETCH c.summary " +
+            "WHERE cp.user.id = :userId AND c.gym.id = :gymId")
+    List<Chat> findAllWithSummaryByGymIdAndUserId(@Param("gymId") Long gymId, @Param("userId") Long userId);
+
+    @Query("SELECT c.id FROM Chat c WHERE c.directKey = :directKey")
+    Optional<Long> findIdByDirectKey(@Param("directKey") String directKey);
 }
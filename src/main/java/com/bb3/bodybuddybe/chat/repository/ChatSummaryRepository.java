@@ -0,0 +1,21 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.entity.ChatSummary;
+import java.time.LocalDateTime;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ChatSummaryRepository extends JpaRepository<ChatSummary, Long> {
+
+    // 읽지 않고 바로 갱신하며, 늦게 도착한 이전 메시지가 최신 메시지를 덮어쓰지 않도록 id 를 비교한다.
+    @Modifying
+    @Query("UPDATE ChatSummary s " +
+            "SET s.lastMessageId = :messageId, s.lastMessageSnippet = :snippet, s.lastMessageSentAt = :sentAt " +
+            "WHERE s.id = :chatId AND (s.lastMessageId IS NULL OR s.lastMessageId < :messageId)")
+    int updateLastMessage(@Param("chatId") Long chatId,
+                          @Param("messageId") Long messageId,
+                          @Param("snippet") String snippet,
+                          @Param("sentAt") LocalDateTime sentAt);
+}
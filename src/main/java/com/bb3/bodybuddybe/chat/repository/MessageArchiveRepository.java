@@ -0,0 +1,53 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.archive.ArchivedMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 보관할 메시지를 (chat_id, seq) 유니크 인덱스 순으로 읽고, 보관이 끝난 순번 구간을 지운다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageArchiveRepository {
+
+    private static final String SELECT_ARCHIVABLE_SQL =
+            "SELECT id, seq, sender_id, content, sent_at FROM message " +
+            "WHERE chat_id = ? AND seq > ? AND seq < ? ORDER BY seq LIMIT ?";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM message WHERE chat_id = ? AND seq <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public List<Long> findChatIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM chat", Long.class);
+    }
+
+    /**
+     * 순번이 (afterSeq, beforeSeq) 사이인 메시지를 순번 순으로 최대 limit 개 읽되, id 가 beforeId 이상인 메시지를 만나면 멈춘다.
+     * 보관한 구간은 순번으로 지우므로, id 로 거르면 그 사이에 끼인 보관하지 않은 메시지까지 지워진다.
+     */
+    public List<ArchivedMessage> findArchivable(Long chatId, long afterSeq, long beforeSeq, long beforeId, int limit) {
+        return jdbcTemplate.query(SELECT_ARCHIVABLE_SQL, rs -> {
+            List<ArchivedMessage> messages = new ArrayList<>();
+            while (rs.next() && rs.getLong("id") < beforeId) {
+                messages.add(new ArchivedMessage(
+                        rs.getLong("id"),
+                        rs.getLong("seq"),
+                        rs.getLong("sender_id"),
+                        rs.getString("content"),
+                        rs.getTimestamp("sent_at").toLocalDateTime()));
+            }
+            return messages;
+        }, chatId, afterSeq, beforeSeq, limit);
+    }
+
+    public int deleteUpTo(Long chatId, long lastSeq) {
+        return jdbcTemplate.update(DELETE_RANGE_SQL, chatId, lastSeq);
+    }
+}
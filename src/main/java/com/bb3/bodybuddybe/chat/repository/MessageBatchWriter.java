@@ -0,0 +1,34 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * 메시지를 JDBC batch INSERT 로 저장한다.
+ * MySQL 에서는 접속 URL 에 rewriteBatchedStatements=true 를 주어야 한 번의 INSERT 로 묶인다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MessageBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO message (id, chat_id, seq, sender_id, content, sent_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertAll(List<PendingMessage> messages) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, messages, messages.size(), (ps, message) -> {
+            ps.setLong(1, message.id());
+            ps.setLong(2, message.chatId());
+            ps.setLong(3, message.seq());
+            ps.setLong(4, message.senderId());
+            ps.setString(5, message.content());
+            ps.setTimestamp(6, Timestamp.valueOf(message.sentAt()));
+        });
+    }
+}
@@ -1,10 +1,41 @@
 package com.bb3.bodybuddybe.chat.repository;
 
+import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
 import com.bb3.bodybuddybe.chat.entity.Message;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    List<Message> findAllByChatId(Long chatId);
+    // (chat_id, id) 인덱스를 역순으로 읽어 before 이전 메시지를 최신순으로 pageable 크기만큼 가져온다.
+    @Query("SELECT new com.bb3.bodybuddybe.chat.dto.MessageResponseDto(m.id, m.seq, m.content, m.sentAt, s.id, s.nickname, s.imageUrl) " +
+            "FROM Message m JOIN m.sender s " +
+            "WHERE m.chat.id = :chatId AND m.id < :before " +
+            "ORDER BY m.id DESC")
+    List<MessageResponseDto> findPageByChatId(@Param("chatId") Long chatId,
+                                              @Param("before") Long before,
+                                              Pageable pageable);
+
+    // (chat_id, seq) 유니크 인덱스로 since 이후 메시지를 순번 순으로 가져온다.
+    @Query("SELECT new com.bb3.bodybuddybe.chat.dto.MessageResponseDto(m.id, m.seq, m.content, m.sentAt, s.id, s.nickname, s.imageUrl) " +
+            "FROM Message m JOIN m.sender s " +
+            "WHERE m.chat.id = :chatId AND m.seq > :since " +
+            "ORDER BY m.seq")
+    List<MessageResponseDto> findSinceByChatId(@Param("chatId") Long chatId,
+                                               @Param("since") Long since,
+                                               Pageable pageable);
+
+    // (chat_id, seq) 유니크 인덱스로 검색 후보 메시지만 가져온다.
+    @Query("SELECT new com.bb3.bodybuddybe.chat.dto.MessageResponseDto(m.id, m.seq, m.content, m.sentAt, s.id, s.nickname, s.imageUrl) " +
+            "FROM Message m JOIN m.sender s " +
+            "WHERE m.chat.id = :chatId AND m.seq IN :seqs")
+    List<MessageResponseDto> findByChatIdAndSeqIn(@Param("chatId") Long chatId,
+                                                  @Param("seqs") Collection<Long> seqs);
+
+    @Query("SELECT COALESCE(MAX(m.seq), 0) FROM Message m WHERE m.chat.id = :chatId")
+    long findLastSeqByChatId(@Param("chatId") Long chatId);
 }
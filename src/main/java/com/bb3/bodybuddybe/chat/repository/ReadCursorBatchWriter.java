@@ -0,0 +1,30 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 읽음 위치를 JDBC batch UPDATE 로 저장한다. 이미 더 뒤까지 읽은 기록은 되돌리지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReadCursorBatchWriter {
+
+    private static final String UPDATE_SQL =
+            "UPDATE chat_participant SET last_read_seq = ? WHERE chat_id = ? AND user_id = ? AND last_read_seq < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void updateAll(List<ReadCursor> cursors) {
+        jdbcTemplate.batchUpdate(UPDATE_SQL, cursors, cursors.size(), (ps, cursor) -> {
+            ps.setLong(1, cursor.lastReadSeq());
+            ps.setLong(2, cursor.chatId());
+            ps.setLong(3, cursor.userId());
+            ps.setLong(4, cursor.lastReadSeq());
+        });
+    }
+}
@@ -0,0 +1,78 @@
+package com.bb3.bodybuddybe.chat.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 메시지를 문자 bigram 으로 나눈다. 형태소 분석 없이도 한국어 부분 일치 검색이 되도록
+ * 글자/숫자가 이어진 구간(단어)마다 연속한 두 글자를 하나의 term 으로 쓴다.
+ * 한 글자 단어는 그 글자 하나를 term 으로 쓴다.
+ *
+ * <p>조합형(NFD)으로 입력된 한글도 같은 term 이 되도록 NFC 로 정규화하고 소문자로 바꾼다.
+ */
+public final class BigramTokenizer {
+
+    private BigramTokenizer() {
+    }
+
+    /**
+     * 정규화한 뒤 글자/숫자가 이어진 구간으로 나눈다.
+     */
+    public static List<String> words(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i < normalized.length(); i++) {
+            if (Character.isLetterOrDigit(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                words.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start >= 0) {
+            words.add(normalized.substring(start));
+        }
+        return words;
+    }
+
+    /**
+     * 메시지 본문을 색인할 term 집합.
+     */
+    public static Set<String> terms(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words(text)) {
+            if (word.length() == 1) {
+                terms.add(word);
+            } else {
+                addBigrams(word, terms);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * 검색어의 term 집합. 한 글자 단어는 더 긴 단어의 일부와 일치시킬 수 없으므로 빼고, 본문 확인 단계에서 거른다.
+     */
+    public static Set<String> queryTerms(List<String> words) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : words) {
+            if (word.length() > 1) {
+                addBigrams(word, terms);
+            }
+        }
+        return terms;
+    }
+
+    private static void addBigrams(String word, Set<String> terms) {
+        for (int i = 0; i + 1 < word.length(); i++) {
+            terms.add(word.substring(i, i + 2));
+        }
+    }
+}
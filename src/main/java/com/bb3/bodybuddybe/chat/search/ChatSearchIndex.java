@@ -0,0 +1,369 @@
+package com.bb3.bodybuddybe.chat.search;
+
+import com.bb3.bodybuddybe.chat.archive.ArchivedMessage;
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 bigram 역색인. term 마다 그 term 이 들어 있는 메시지 순번을 오름차순으로 보관한다.
+ *
+ * <p>채팅방 색인은 처음 검색할 때 보관된 구간과 message 테이블을 순번 순으로 읽어 만들고,
+ * 그 뒤로는 {@code MessageWriteBehindQueue} 가 저장한 메시지를 바로 더한다.
+ * 다른 서버에서 저장된 메시지나 순서가 어긋나 더하지 못한 메시지는 검색할 때 indexedSeq 이후만 다시 읽어 채운다.
+ *
+ * <p>메시지가 sync-build-messages 개 이하인 채팅방은 검색 요청에서 바로 만들고, 더 큰 채팅방은 색인 스레드에서 만들며
+ * 다 만들 때까지 검색을 거절한다. 한 채팅방의 posting 이 max-postings-per-chat 을 넘으면 색인을 버리고 검색을 막고,
+ * 전체 posting 이 max-postings 를 넘거나 색인한 채팅방이 max-chats 를 넘으면 임의의 다른 채팅방을 지운다.
+ */
+@Slf4j
+@Component
+public class ChatSearchIndex {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final MessageRepository messageRepository;
+    private final MessageArchive messageArchive;
+    private final int maxChats;
+    private final long maxPostingsPerChat;
+    private final long maxPostings;
+    private final long syncBuildMessages;
+    private final Executor indexer;
+    private final Map<Long, ChatPostings> chats = new ConcurrentHashMap<>();
+    private final AtomicLong totalPostings = new AtomicLong();
+
+    @Autowired
+    public ChatSearchIndex(MessageRepository messageRepository,
+                           MessageArchive messageArchive,
+                           @Value("${chat.search.max-chats:1000}") int maxChats,
+                           @Value("${chat.search.max-postings-per-chat:5000000}") long maxPostingsPerChat,
+                           @Value("${chat.search.max-postings:20000000}") long maxPostings,
+                           @Value("${chat.search.sync-build-messages:5000}") long syncBuildMessages) {
+        this(messageRepository, messageArchive, maxChats, maxPostingsPerChat, maxPostings, syncBuildMessages,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "chat-search-indexer");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    ChatSearchIndex(MessageRepository messageRepository, MessageArchive messageArchive, int maxChats,
+                    long maxPostingsPerChat, long maxPostings, long syncBuildMessages, Executor indexer) {
+        this.messageRepository = messageRepository;
+        this.messageArchive = messageArchive;
+        this.maxChats = maxChats;
+        this.maxPostingsPerChat = maxPostingsPerChat;
+        this.maxPostings = maxPostings;
+        this.syncBuildMessages = syncBuildMessages;
+        this.indexer = indexer;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (indexer instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * terms 를 모두 포함하는 메시지 중 순번이 before 보다 작은 것의 순번을 최신순으로 반환한다.
+     * bigram 만 비교하므로 실제 본문에 검색어가 있는지는 호출한 쪽에서 확인한다.
+     * 색인을 만드는 중이거나 너무 커서 버린 채팅방이면 예외를 던진다.
+     */
+    public long[] candidates(Long chatId, Collection<String> terms, long before) {
+        while (true) {
+            ChatPostings postings = chats.get(chatId);
+            if (postings == null) {
+                postings = startIndexing(chatId);
+            }
+            validateSearchable(postings);
+
+            long[] result;
+            synchronized (postings) {
+                // 그 사이에 지워졌으면 다시 만든다.
+                if (postings.released) {
+                    continue;
+                }
+                validateSearchable(postings);
+                catchUp(chatId, postings);
+                validateSearchable(postings);
+                result = postings.candidates(terms, before);
+            }
+            enforceBudget(chatId);
+            return result;
+        }
+    }
+
+    /**
+     * 저장된 메시지를 이미 색인 중인 채팅방에 더한다. 색인하지 않은 채팅방은 처음 검색할 때 DB 에서 읽는다.
+     */
+    public void indexAll(List<PendingMessage> messages) {
+        Long lastChatId = null;
+        for (PendingMessage message : messages) {
+            ChatPostings postings = chats.get(message.chatId());
+            if (postings == null) {
+                continue;
+            }
+            synchronized (postings) {
+                postings.add(message.seq(), message.content());
+                if (message.seq() == postings.indexedSeq + 1) {
+                    postings.indexedSeq = message.seq();
+                }
+            }
+            lastChatId = message.chatId();
+        }
+        if (lastChatId != null) {
+            enforceBudget(lastChatId);
+        }
+    }
+
+    public void evict(Long chatId) {
+        ChatPostings postings = chats.remove(chatId);
+        if (postings != null) {
+            release(postings);
+        }
+    }
+
+    private ChatPostings startIndexing(Long chatId) {
+        if (chats.size() >= maxChats) {
+            evictOther(chatId);
+        }
+        ChatPostings created = new ChatPostings();
+        // 다른 요청은 색인을 다 만들거나 색인 스레드로 넘길 때까지 기다린다.
+        synchronized (created) {
+            ChatPostings existing = chats.putIfAbsent(chatId, created);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                if (messageRepository.findLastSeqByChatId(chatId) <= syncBuildMessages) {
+                    catchUp(chatId, created);
+                    created.building = false;
+                    return created;
+                }
+            } catch (RuntimeException e) {
+                chats.remove(chatId, created);
+                release(created);
+                throw e;
+            }
+        }
+        try {
+            indexer.execute(() -> build(chatId, created));
+        } catch (RejectedExecutionException e) {
+            chats.remove(chatId, created);
+            throw e;
+        }
+        return created;
+    }
+
+    // 색인 스레드에서 페이지마다 잠금을 풀어, 그동안 저장된 메시지도 더할 수 있게 한다.
+    private void build(Long chatId, ChatPostings postings) {
+        try {
+            long archivedSeq = messageArchive.lastSeq(chatId);
+            boolean more = true;
+            while (more && !postings.released) {
+                synchronized (postings) {
+                    more = indexNextPage(chatId, postings, archivedSeq);
+                }
+                enforceBudget(chatId);
+            }
+            postings.building = false;
+        } catch (RuntimeException e) {
+            log.warn("검색 색인 생성 실패 [chatId={}]", chatId, e);
+            if (chats.remove(chatId, postings)) {
+                release(postings);
+            }
+        }
+    }
+
+    private void catchUp(Long chatId, ChatPostings postings) {
+        long archivedSeq = messageArchive.lastSeq(chatId);
+        while (indexNextPage(chatId, postings, archivedSeq)) {
+            // 다 읽을 때까지 반복한다.
+        }
+    }
+
+    /**
+     * indexedSeq 다음 메시지를 한 페이지 색인하고, 더 읽을 메시지가 있으면 true 를 반환한다.
+     */
+    private boolean indexNextPage(Long chatId, ChatPostings postings, long archivedSeq) {
+        if (postings.tooLarge || postings.released) {
+            return false;
+        }
+        if (postings.indexedSeq < archivedSeq) {
+            List<ArchivedMessage> page = messageArchive.findSince(chatId, postings.indexedSeq, LOAD_PAGE_SIZE);
+            if (!page.isEmpty()) {
+                page.forEach(message -> postings.add(message.seq(), message.content()));
+                postings.indexedSeq = page.get(page.size() - 1).seq();
+                return true;
+            }
+        }
+
+        List<MessageResponseDto> page =
+                messageRepository.findSinceByChatId(chatId, postings.indexedSeq, PageRequest.of(0, LOAD_PAGE_SIZE));
+        page.forEach(message -> postings.add(message.getSeq(), message.getContent()));
+        if (!page.isEmpty()) {
+            postings.indexedSeq = page.get(page.size() - 1).getSeq();
+        }
+        return page.size() == LOAD_PAGE_SIZE;
+    }
+
+    private static void validateSearchable(ChatPostings postings) {
+        if (postings.tooLarge) {
+            throw new CustomException(ErrorCode.SEARCH_INDEX_TOO_LARGE);
+        }
+        if (postings.building) {
+            throw new CustomException(ErrorCode.SEARCH_INDEX_BUILDING);
+        }
+    }
+
+    // 잠금을 잡지 않은 채로 불러야 한다. 다른 채팅방의 잠금을 잡고 지우기 때문이다.
+    private void enforceBudget(Long keepChatId) {
+        while (totalPostings.get() > maxPostings) {
+            if (!evictOther(keepChatId)) {
+                return;
+            }
+        }
+    }
+
+    private boolean evictOther(Long keepChatId) {
+        for (Iterator<Map.Entry<Long, ChatPostings>> iterator = chats.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Long, ChatPostings> entry = iterator.next();
+            if (!entry.getKey().equals(keepChatId)) {
+                iterator.remove();
+                release(entry.getValue());
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void release(ChatPostings postings) {
+        synchronized (postings) {
+            postings.clear();
+            postings.released = true;
+        }
+    }
+
+    private final class ChatPostings {
+
+        private final Map<String, SeqList> postings = new HashMap<>();
+        // 이 순번까지는 빠짐없이 색인했다.
+        private long indexedSeq;
+        private long size;
+        private volatile boolean building = true;
+        private volatile boolean tooLarge;
+        private volatile boolean released;
+
+        void add(long seq, String content) {
+            if (tooLarge || released) {
+                return;
+            }
+            for (String term : BigramTokenizer.terms(content)) {
+                if (postings.computeIfAbsent(term, t -> new SeqList()).add(seq)) {
+                    size++;
+                    totalPostings.incrementAndGet();
+                }
+            }
+            if (size > maxPostingsPerChat) {
+                clear();
+                tooLarge = true;
+            }
+        }
+
+        void clear() {
+            totalPostings.addAndGet(-size);
+            size = 0;
+            postings.clear();
+        }
+
+        long[] candidates(Collection<String> terms, long before) {
+            List<SeqList> lists = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                SeqList list = postings.get(term);
+                if (list == null) {
+                    return new long[0];
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            // 가장 짧은 목록을 기준으로 나머지 목록에 모두 있는 순번만 남긴다.
+            SeqList shortest = lists.get(0);
+            long[] result = new long[shortest.size];
+            int count = 0;
+            for (int i = shortest.size - 1; i >= 0; i--) {
+                long seq = shortest.seqs[i];
+                if (seq < before && containsAll(lists, seq)) {
+                    result[count++] = seq;
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private static boolean containsAll(List<SeqList> lists, long seq) {
+            for (int i = 1; i < lists.size(); i++) {
+                if (!lists.get(i).contains(seq)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class SeqList {
+
+        private long[] seqs = new long[4];
+        private int size;
+
+        boolean add(long seq) {
+            if (size > 0 && seqs[size - 1] >= seq) {
+                // 순서가 어긋나 들어온 순번은 자리를 찾아 넣는다.
+                int at = Arrays.binarySearch(seqs, 0, size, seq);
+                if (at >= 0) {
+                    return false;
+                }
+                insert(-at - 1, seq);
+                return true;
+            }
+            insert(size, seq);
+            return true;
+        }
+
+        boolean contains(long seq) {
+            return Arrays.binarySearch(seqs, 0, size, seq) >= 0;
+        }
+
+        private void insert(int at, long seq) {
+            if (size == seqs.length) {
+                seqs = Arrays.copyOf(seqs, size * 2);
+            }
+            System.arraycopy(seqs, at, seqs, at + 1, size - at);
+            seqs[at] = seq;
+            size++;
+        }
+    }
+}
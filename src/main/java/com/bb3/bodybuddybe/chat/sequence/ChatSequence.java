@@ -0,0 +1,20 @@
+package com.bb3.bodybuddybe.chat.sequence;
+
+import java.util.List;
+
+/**
+ * 채팅방별 메시지 순번을 발급한다. 순번은 1 부터 시작해 채팅방 안에서 빈틈없이 증가한다.
+ */
+public interface ChatSequence {
+
+    long next(Long chatId);
+
+    /**
+     * 채팅방별 마지막으로 발급한 순번. 안 읽은 메시지 수를 계산할 때 쓴다.
+     */
+    long[] current(List<Long> chatIds);
+
+    default long current(Long chatId) {
+        return current(List.of(chatId))[0];
+    }
+}
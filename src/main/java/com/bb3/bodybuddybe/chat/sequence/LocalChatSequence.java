@@ -0,0 +1,59 @@
+package com.bb3.bodybuddybe.chat.sequence;
+
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 채팅방별 AtomicLong 으로 순번을 발급한다. 서버가 한 대일 때 쓰는 기본 모드.
+ * 처음 발급할 때 DB 에 저장된 마지막 순번에서 이어 간다.
+ * (종료 시 write-behind 큐를 모두 저장하므로 재시작 후의 DB 값이 마지막 순번이다.)
+ *
+ * <p>서버마다 따로 세므로 chat.broker.relay=redis 로 여러 서버를 띄우면 같은 순번이 두 번 발급된다.
+ * 이 조합에서는 chat.sequence.store=redis 를 주어야 하며, 없으면 서버를 띄우지 않는다.
+ */
+@Component
+@ConditionalOnProperty(name = "chat.sequence.store", havingValue = "local", matchIfMissing = true)
+public class LocalChatSequence implements ChatSequence {
+
+    private final MessageRepository messageRepository;
+    private final Map<Long, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LocalChatSequence(MessageRepository messageRepository,
+                             @Value("${chat.broker.relay:local}") String relay) {
+        this(messageRepository);
+        if ("redis".equals(relay)) {
+            throw new IllegalStateException("chat.sequence.store must be redis when chat.broker.relay=redis");
+        }
+    }
+
+    LocalChatSequence(MessageRepository messageRepository) {
+        this.messageRepository = messageRepository;
+    }
+
+    @Override
+    public long next(Long chatId) {
+        return counter(chatId).incrementAndGet();
+    }
+
+    @Override
+    public long[] current(List<Long> chatIds) {
+        long[] seqs = new long[chatIds.size()];
+        for (int i = 0; i < seqs.length; i++) {
+            seqs[i] = counter(chatIds.get(i)).get();
+        }
+        return seqs;
+    }
+
+    private AtomicLong counter(Long chatId) {
+        return counters.computeIfAbsent(chatId, id -> new AtomicLong(messageRepository.findLastSeqByChatId(id)));
+    }
+}
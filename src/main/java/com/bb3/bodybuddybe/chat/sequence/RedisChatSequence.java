@@ -0,0 +1,67 @@
+package com.bb3.bodybuddybe.chat.sequence;
+
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 채팅방별 Redis 카운터(chat:seq:{chatId})를 INCR 해서 순번을 발급한다. 여러 서버가 같은 채팅방 순번을 공유한다.
+ * 키가 없으면 DB 에 저장된 마지막 순번으로 한 번 초기화한 뒤 이어 간다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.sequence.store", havingValue = "redis")
+public class RedisChatSequence implements ChatSequence {
+
+    private static final String KEY_PREFIX = "chat:seq:";
+
+    // 키가 있을 때만 증가시킨다. 없으면 -1
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    // 다른 서버가 먼저 초기화했으면 그 값을 그대로 쓴다.
+    private static final RedisScript<Long> INITIALIZE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('SET', KEYS[1], ARGV[1], 'NX') " +
+            "return redis.call('INCR', KEYS[1])", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MessageRepository messageRepository;
+
+    @Override
+    public long next(Long chatId) {
+        List<String> keys = List.of(KEY_PREFIX + chatId);
+        Long seq = redisTemplate.execute(INCREMENT_SCRIPT, keys);
+        if (seq != null && seq > 0) {
+            return seq;
+        }
+        long lastSeq = messageRepository.findLastSeqByChatId(chatId);
+        return redisTemplate.execute(INITIALIZE_SCRIPT, keys, String.valueOf(lastSeq));
+    }
+
+    // 한 번의 MGET 으로 읽고, 아직 키가 없는 채팅방만 DB 에서 읽는다.
+    @Override
+    public long[] current(List<Long> chatIds) {
+        long[] seqs = new long[chatIds.size()];
+        if (chatIds.isEmpty()) {
+            return seqs;
+        }
+        List<String> keys = new ArrayList<>(chatIds.size());
+        for (Long chatId : chatIds) {
+            keys.add(KEY_PREFIX + chatId);
+        }
+        List<String> values = redisTemplate.opsForValue().multiGet(keys);
+        for (int i = 0; i < seqs.length; i++) {
+            String value = values == null ? null : values.get(i);
+            seqs[i] = value != null ? Long.parseLong(value) : messageRepository.findLastSeqByChatId(chatIds.get(i));
+        }
+        return seqs;
+    }
+}
@@ -1,25 +1,36 @@
 package com.bb3.bodybuddybe.chat.service;
 
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
 import com.bb3.bodybuddybe.chat.dto.ChatRequestDto;
 import com.bb3.bodybuddybe.chat.dto.ChatResponseDto;
+import com.bb3.bodybuddybe.chat.dto.ChatSummaryResponseDto;
 import com.bb3.bodybuddybe.chat.entity.Chat;
 import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
 import com.bb3.bodybuddybe.chat.enums.ChatType;
 import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
 import com.bb3.bodybuddybe.chat.repository.ChatRepository;
+import com.bb3.bodybuddybe.chat.presence.ChatPresence;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
 import com.bb3.bodybuddybe.common.exception.CustomException;
 import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.bb3.bodybuddybe.common.util.TransactionUtils;
 import com.bb3.bodybuddybe.gym.entity.Gym;
 import com.bb3.bodybuddybe.gym.repository.GymRepository;
 import com.bb3.bodybuddybe.gym.repository.UserGymRepository;
 import com.bb3.bodybuddybe.user.entity.User;
 import com.bb3.bodybuddybe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +41,14 @@ public class ChatService {
     private final UserRepository userRepository;
     private final UserGymRepository userGymRepository;
     private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatSummaryService chatSummaryService;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ReadCursorCache readCursorCache;
+    private final ChatSequence chatSequence;
+    private final DirectChatCreator directChatCreator;
+    private final MessageArchive messageArchive;
+    private final ChatSearchIndex chatSearchIndex;
+    private final ChatPresence chatPresence;
 
     @Transactional
     public void createGroupChat(Long gymId, ChatRequestDto requestDto, User user) {
@@ -47,23 +66,24 @@ public class ChatService {
 
         chatRepository.save(chat);
         chatParticipantRepository.save(chatParticipant);
+        chatSummaryService.refreshParticipants(chat.getId());
+        readCursorCache.evict(user.getId());
     }
 
     @Transactional(readOnly = true)
-    public List<ChatResponseDto> getAllChatsInGym(Long gymId) {
-        return chatRepository.findAllByGym_Id(gymId)
+    public List<ChatSummaryResponseDto> getAllChatsInGym(Long gymId) {
+        return chatRepository.findAllWithSummaryByGymId(gymId)
                 .stream()
-                .map(ChatResponseDto::new)
+                .map(ChatSummaryResponseDto::new)
                 .toList();
     }
 
 
     @Transactional(readOnly = true)
-    public List<ChatResponseDto> getMyChatsInGym(Long gymId, User user) {
-        return chatParticipantRepository.findAllByUserAndChat_Gym_Id(user, gymId)
+    public List<ChatSummaryResponseDto> getMyChatsInGym(Long gymId, User user) {
+        return chatRepository.findAllWithSummaryByGymIdAndUserId(gymId, user.getId())
                 .stream()
-                .map(ChatParticipant::getChat)
-                .map(ChatResponseDto::new)
+                .map(ChatSummaryResponseDto::new)
                 .toList();
     }
 
@@ -71,7 +91,7 @@ public class ChatService {
         Chat chat = findChat(chatId);
         validateJoinedChat(user, chat);
 
-        return new ChatResponseDto(chat);
+        return new ChatResponseDto(chat, chatPresence.onlineCount(chatId));
     }
 
     @Transactional
@@ -87,46 +107,61 @@ public class ChatService {
         Chat chat = findChat(chatId);
         validateUserIsChatOwner(user, chat);
 
+        chat.getParticipants().forEach(participant -> readCursorCache.evict(participant.getUser().getId()));
         chatRepository.delete(chat);
-    }
-
-    @Transactional
+        chatMembershipCache.evict(chatId);
+        TransactionUtils.afterCommit(() -> {
+            messageArchive.deleteChat(chatId);
+            chatSearchIndex.evict(chatId);
+        });
+    }
+
+    /**
+     * direct_key 로 기존 1:1 채팅방을 찾고, 없으면 만든다.
+     * 기존 채팅방에서 한쪽이 나갔으면 다시 참여자로 넣어 두 사람이 계속 대화할 수 있게 한다.
+     * 참여 여부는 {@link ChatMembershipCache} 로 먼저 확인하고, 빠진 사람이 있을 때만 DB 에서 다시 확인한다.
+     * 동시에 만들거나 다시 넣어 유니크 인덱스에 걸리면 먼저 커밋된 결과를 다시 조회한다.
+     */
     public Long getOrCreateDirectChat(Long gymId, User user, Long toChatUserId) {
         User toChatUser = findUser(toChatUserId);
         Gym gym = findGym(gymId);
 
         validateUserMembership(user, gym);
 
-        Chat directChat = chatRepository.findDirectChatBetweenUsers(gymId, user.getId(), toChatUserId);
-
-        if (directChat == null) {
-            Chat chat = Chat.builder()
-                    .chatType(ChatType.DIRECT)
-                    .name(toChatUser.getNickname() + "님과의 채팅")
-                    .gym(gym)
-                    .build();
-
-            chatRepository.save(chat);
-
-            ChatParticipant chatParticipant1 = new ChatParticipant(user, chat);
-            ChatParticipant chatParticipant2 = new ChatParticipant(toChatUser, chat);
-
-            chatParticipantRepository.save(chatParticipant1);
-            chatParticipantRepository.save(chatParticipant2);
-
-            directChat = chat;
+        String directKey = Chat.directKey(gymId, user.getId(), toChatUserId);
+        Optional<Long> directChatId = chatRepository.findIdByDirectKey(directKey);
+        if (directChatId.isPresent()) {
+            Long chatId = directChatId.get();
+            if (!chatMembershipCache.contains(chatId, user.getId(), this::findMemberIds)
+                    || !chatMembershipCache.contains(chatId, toChatUserId, this::findMemberIds)) {
+                try {
+                    directChatCreator.rejoin(chatId, user, toChatUser);
+                } catch (DataIntegrityViolationException e) {
+                    // 동시에 다시 넣은 요청이 먼저 커밋됐다. 그 요청과 빠진 사람이 달랐을 수 있으므로 한 번 더 확인한다.
+                    directChatCreator.rejoin(chatId, user, toChatUser);
+                }
+            }
+            return chatId;
         }
 
-        return directChat.getId();
+        try {
+            return directChatCreator.create(gym, user, toChatUser, directKey);
+        } catch (DataIntegrityViolationException e) {
+            return chatRepository.findIdByDirectKey(directKey).orElseThrow(() -> e);
+        }
     }
 
     @Transactional
     public void joinChat(User user, Long chatId) {
         Chat chat = findChat(chatId);
         validateDuplicatedChat(user, chat);
-        ChatParticipant chatParticipant = new ChatParticipant(user, chat);
+        // 입장 전 메시지는 안 읽은 메시지로 세지 않는다.
+        ChatParticipant chatParticipant = new ChatParticipant(user, chat, chatSequence.current(chatId));
 
         chatParticipantRepository.save(chatParticipant);
+        chatSummaryService.refreshParticipants(chatId);
+        chatMembershipCache.addMember(chatId, user.getId());
+        readCursorCache.evict(user.getId());
     }
 
     @Transactional
@@ -139,6 +174,9 @@ public class ChatService {
 
         ChatParticipant chatParticipant = findChatParticipant(user, chatId);
         chatParticipantRepository.delete(chatParticipant);
+        chatSummaryService.refreshParticipants(chatId);
+        chatMembershipCache.removeMember(chatId, user.getId());
+        readCursorCache.evict(user.getId());
     }
 
     private Gym findGym(Long gymId) {
@@ -151,6 +189,20 @@ public class ChatService {
                 .orElseThrow(() -> new CustomException(ErrorCode.CHAT_NOT_FOUND));
     }
 
+    /**
+     * {@link ChatMembershipCache} 를 채울 때 쓰는 참여자 id 목록. 채팅방이 없으면 예외를 던진다.
+     */
+    @Transactional(readOnly = true)
+    public long[] findMemberIds(Long chatId) {
+        if (!chatRepository.existsById(chatId)) {
+            throw new CustomException(ErrorCode.CHAT_NOT_FOUND);
+        }
+        return chatParticipantRepository.findUserIdsByChatId(chatId, Pageable.unpaged())
+                .stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
     public User findUser(Long userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
@@ -0,0 +1,32 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.entity.ChatSummary;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.repository.ChatSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ChatSummaryService {
+
+    private final ChatSummaryRepository chatSummaryRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+
+    @Transactional
+    public void recordMessage(PendingMessage message) {
+        chatSummaryRepository.updateLastMessage(message.chatId(), message.id(),
+                ChatSummary.snippetOf(message.content()), message.sentAt());
+    }
+
+    // 참여자 변경은 메시지보다 드물어서 참여자 수와 대표 이미지 사용자를 다시 조회해 덮어쓴다.
+    @Transactional
+    public void refreshParticipants(Long chatId) {
+        chatSummaryRepository.findById(chatId).ifPresent(summary -> summary.updateParticipants(
+                chatParticipantRepository.countByChatId(chatId),
+                chatParticipantRepository.findUserIdsByChatId(chatId, PageRequest.of(0, ChatSummary.MAX_AVATARS))));
+    }
+}
@@ -0,0 +1,76 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.repository.ChatRepository;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * 1:1 채팅방을 별도 트랜잭션에서 만든다.
+ * 같은 두 사람의 채팅방을 동시에 만들면 direct_key 유니크 인덱스 때문에 한쪽만 커밋되고,
+ * 나머지는 DataIntegrityViolationException 으로 끝나므로 호출한 쪽에서 먼저 만들어진 채팅방을 다시 조회한다.
+ * 나간 사람을 다시 넣을 때도 (chat_id, user_id) 유니크 인덱스로 같은 방식으로 처리한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class DirectChatCreator {
+
+    private final ChatRepository chatRepository;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatSummaryService chatSummaryService;
+    private final ReadCursorCache readCursorCache;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ChatSequence chatSequence;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Long create(Gym gym, User user, User toChatUser, String directKey) {
+        Chat chat = Chat.builder()
+                .chatType(ChatType.DIRECT)
+                .name(toChatUser.getNickname() + "님과의 채팅")
+                .gym(gym)
+                .directKey(directKey)
+                .build();
+
+        chatRepository.save(chat);
+
+        chatParticipantRepository.save(new ChatParticipant(user, chat));
+        chatParticipantRepository.save(new ChatParticipant(toChatUser, chat));
+        chatSummaryService.refreshParticipants(chat.getId());
+        readCursorCache.evict(user.getId());
+        readCursorCache.evict(toChatUser.getId());
+
+        return chat.getId();
+    }
+
+    /**
+     * 기존 1:1 채팅방에서 나간 사람을 다시 참여자로 넣는다. 다시 들어오기 전 메시지는 안 읽은 메시지로 세지 않는다.
+     */
+    @Transactional
+    public void rejoin(Long chatId, User user, User toChatUser) {
+        Chat chat = chatRepository.getReferenceById(chatId);
+        boolean rejoined = false;
+        for (User member : List.of(user, toChatUser)) {
+            if (!chatParticipantRepository.existsByChatAndUser(chat, member)) {
+                chatParticipantRepository.save(new ChatParticipant(member, chat, chatSequence.current(chatId)));
+                chatMembershipCache.addMember(chatId, member.getId());
+                readCursorCache.evict(member.getId());
+                rejoined = true;
+            }
+        }
+        if (rejoined) {
+            chatSummaryService.refreshParticipants(chatId);
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package com.bb3.bodybuddybe.chat.service;
 
+import com.bb3.bodybuddybe.chat.archive.ArchivedMessage;
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.cache.SenderProfile;
+import com.bb3.bodybuddybe.chat.cache.SenderProfileCache;
+import com.bb3.bodybuddybe.chat.dedupe.MessageDeduplicator;
 import com.bb3.bodybuddybe.chat.dto.MessageRequestDto;
 import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
-import com.bb3.bodybuddybe.chat.entity.Chat;
-import com.bb3.bodybuddybe.chat.entity.Message;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.presence.TypingCoalescer;
 import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import com.bb3.bodybuddybe.chat.search.BigramTokenizer;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
 import com.bb3.bodybuddybe.common.exception.CustomException;
 import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.bb3.bodybuddybe.common.util.SnowflakeIdGenerator;
 import com.bb3.bodybuddybe.user.entity.User;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 import com.bb3.bodybuddybe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,67 +37,217 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class MessageService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChatService chatService;
     private final UserRepository userRepository;
     private final MessageRepository messageRepository;
+    private final MessageWriteBehindQueue messageWriteBehindQueue;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ChatMembershipCache chatMembershipCache;
+    private final SenderProfileCache senderProfileCache;
+    private final ChatSequence chatSequence;
+    private final MessageArchive messageArchive;
+    private final ChatSearchIndex chatSearchIndex;
+    private final TypingCoalescer typingCoalescer;
+    private final MessageDeduplicator messageDeduplicator;
+    private final ReadCursorCache readCursorCache;
+    private final ReadCursorWriteBehind readCursorWriteBehind;
+
+    /**
+     * before 보다 이전 메시지를 최대 limit 개, 오래된 순으로 반환한다. before 가 없으면 가장 최근 메시지부터 조회한다.
+     * message 테이블에서 모자란 만큼은 {@link MessageArchive} 에 보관된 메시지로 이어 붙인다.
+     * id 로 페이지를 나누므로 여러 서버가 거의 동시에 보낸 메시지는 보낸 순서와 조금 다를 수 있다.
+     * 정확한 순서가 필요하면 {@link #getMessagesSince} 처럼 seq 로 조회한다.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponseDto> getPastMessages(Long chatId, User user, Long before, int limit) {
+        validateMember(chatId, user.getId());
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<MessageResponseDto> messages = new ArrayList<>(messageRepository.findPageByChatId(
+                chatId, before == null ? Long.MAX_VALUE : before, PageRequest.of(0, pageSize)));
+        if (messages.size() < pageSize) {
+            long oldest = messages.isEmpty()
+                    ? (before == null ? Long.MAX_VALUE : before)
+                    : messages.get(messages.size() - 1).getId();
+            messageArchive.findBefore(chatId, oldest, pageSize - messages.size())
+                    .forEach(message -> messages.add(toResponse(message)));
+        }
+        Collections.reverse(messages);
+        return messages;
+    }
 
-    public List<MessageResponseDto> getPastMessages(Long chatId, User user) {
-        Chat chat = chatService.findChat(chatId);
-        chatService.validateJoinedChat(user, chat);
+    /**
+     * 순번이 since 보다 큰 메시지를 최대 limit 개, 순번 순으로 반환한다.
+     * 다시 연결한 클라이언트가 마지막으로 받은 순번 이후의 메시지만 받아 갈 때 쓴다.
+     * 아직 write-behind 큐에 있는 메시지는 포함되지 않으므로, 그 메시지는 구독으로 받는다.
+     * since 가 보관된 구간 안이면 보관된 메시지부터 순번 순으로 채운다.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponseDto> getMessagesSince(Long chatId, User user, long since, int limit) {
+        validateMember(chatId, user.getId());
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        List<MessageResponseDto> messages = new ArrayList<>(pageSize);
+        long after = since;
+        if (after < messageArchive.lastSeq(chatId)) {
+            for (ArchivedMessage message : messageArchive.findSince(chatId, after, pageSize)) {
+                messages.add(toResponse(message));
+            }
+            if (messages.size() == pageSize) {
+                return messages;
+            }
+            after = messages.isEmpty() ? after : messages.get(messages.size() - 1).getSeq();
+        }
+        messages.addAll(messageRepository.findSinceByChatId(chatId, after, PageRequest.of(0, pageSize - messages.size())));
+        return messages;
+    }
 
-        return messageRepository.findAllByChatId(chatId)
-                .stream()
-                .map(MessageResponseDto::new)
-                .collect(Collectors.toList());
+    /**
+     * 검색어의 모든 단어가 들어 있는 메시지 중 순번이 before 보다 작은 것을 최대 limit 개, 최신순으로 반환한다.
+     * {@link ChatSearchIndex} 로 후보 순번을 고른 뒤 후보의 본문만 읽어 확인하므로 LIKE 검색을 하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponseDto> searchMessages(Long chatId, User user, String query, Long before, int limit) {
+        validateMember(chatId, user.getId());
+
+        List<String> words = BigramTokenizer.words(query);
+        Set<String> terms = BigramTokenizer.queryTerms(words);
+        if (terms.isEmpty()) {
+            throw new CustomException(ErrorCode.SEARCH_QUERY_TOO_SHORT);
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long[] candidates = chatSearchIndex.candidates(chatId, terms, before == null ? Long.MAX_VALUE : before);
+        long archivedSeq = messageArchive.lastSeq(chatId);
+        List<MessageResponseDto> results = new ArrayList<>(pageSize);
+        for (int from = 0; from < candidates.length && results.size() < pageSize; from += pageSize) {
+            int to = Math.min(from + pageSize, candidates.length);
+            Map<Long, MessageResponseDto> loaded = loadBySeq(chatId, candidates, from, to, archivedSeq);
+            for (int i = from; i < to && results.size() < pageSize; i++) {
+                MessageResponseDto message = loaded.get(candidates[i]);
+                if (message != null && containsAll(message.getContent(), words)) {
+                    results.add(message);
+                }
+            }
+        }
+        return results;
     }
 
-    @Transactional
+    /**
+     * 메시지 id 와 전송 시각을 바로 정해 응답을 만들고, 저장은 {@link MessageWriteBehindQueue} 에 맡긴다.
+     * 참여 여부와 보낸 사람 정보는 캐시에서 확인하므로 평소에는 DB 를 읽지 않는다.
+     * 이미 받은 clientMessageId 로 다시 보낸 메시지는 저장하지 않고 null 을 반환한다.
+     * 보내다 실패하면 clientMessageId 기록을 지워 클라이언트가 다시 보낼 수 있게 한다.
+     */
     public MessageResponseDto sendMessage(Long chatId, MessageRequestDto requestDto) {
-        Message message = Message.builder()
-                .content(requestDto.getContent())
-                .sender(findUser(requestDto.getSenderId()))
-                .chat(chatService.findChat(chatId))
-                .build();
+        SenderProfile sender = findSender(requestDto.getSenderId());
+        validateMember(chatId, sender.id());
+        String clientMessageId = requestDto.getClientMessageId();
+        if (clientMessageId == null) {
+            return publish(chatId, sender, requestDto.getContent());
+        }
+        if (!messageDeduplicator.firstSeen(sender.id(), clientMessageId)) {
+            return null;
+        }
+
+        try {
+            return publish(chatId, sender, requestDto.getContent());
+        } catch (RuntimeException e) {
+            messageDeduplicator.forget(sender.id(), clientMessageId);
+            throw e;
+        }
+    }
 
-        messageRepository.save(message);
+    public MessageResponseDto sendEnterMessage(Long chatId, MessageRequestDto requestDto) {
+        SenderProfile sender = findSender(requestDto.getSenderId());
+        if (isMember(chatId, sender.id())) {
+            throw new CustomException(ErrorCode.DUPLICATED_USER_CHAT);
+        }
 
-        return new MessageResponseDto(message);
+        return publish(chatId, sender, sender.nickname() + "님이 입장하셨습니다.");
     }
 
-    public MessageResponseDto sendEnterMessage(Long chatId, MessageRequestDto requestDto) {
-        Chat chat = chatService.findChat(chatId);
-        User user = findUser(requestDto.getSenderId());
-        chatService.validateDuplicatedChat(user, chat);
+    public MessageResponseDto sendLeaveMessage(Long chatId, MessageRequestDto requestDto) {
+        SenderProfile sender = findSender(requestDto.getSenderId());
+        validateMember(chatId, sender.id());
 
-        Message message = Message.builder()
-                .content(user.getNickname() + "님이 입장하셨습니다.")
-                .sender(user)
-                .chat(chatService.findChat(chatId))
-                .build();
+        return publish(chatId, sender, sender.nickname() + "님이 퇴장하셨습니다.");
+    }
 
-        messageRepository.save(message);
+    /**
+     * 입력 중 이벤트는 저장하지 않고 {@link TypingCoalescer} 에 모아 구간마다 한 번만 전달한다.
+     */
+    public void sendTyping(Long chatId, MessageRequestDto requestDto) {
+        validateMember(chatId, requestDto.getSenderId());
 
-        return new MessageResponseDto(message);
+        typingCoalescer.record(chatId, requestDto.getSenderId());
     }
 
-    public MessageResponseDto sendLeaveMessage(Long chatId, MessageRequestDto requestDto) {
-        Chat chat = chatService.findChat(chatId);
-        User user = findUser(requestDto.getSenderId());
-        chatService.validateJoinedChat(user, chat);
+    private MessageResponseDto publish(Long chatId, SenderProfile sender, String content) {
+        PendingMessage message = new PendingMessage(idGenerator.nextId(), chatId, chatSequence.next(chatId),
+                sender.id(), content, LocalDateTime.now());
+        messageWriteBehindQueue.enqueue(message);
+        // 자기가 보낸 메시지는 읽은 것으로 본다.
+        readCursorCache.advance(sender.id(), chatId, message.seq());
+        readCursorWriteBehind.record(sender.id(), chatId, message.seq());
 
-        Message message = Message.builder()
-                .content(user.getNickname() + "님이 퇴장하셨습니다.")
-                .sender(user)
-                .chat(chatService.findChat(chatId))
-                .build();
+        return new MessageResponseDto(message.id(), message.seq(), message.content(), message.sentAt(),
+                sender.id(), sender.nickname(), sender.imageUrl());
+    }
+
+    private Map<Long, MessageResponseDto> loadBySeq(Long chatId, long[] seqs, int from, int to, long archivedSeq) {
+        Map<Long, MessageResponseDto> loaded = new HashMap<>();
+        List<Long> hotSeqs = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            if (seqs[i] > archivedSeq) {
+                hotSeqs.add(seqs[i]);
+                continue;
+            }
+            List<ArchivedMessage> archived = messageArchive.findSince(chatId, seqs[i] - 1, 1);
+            if (!archived.isEmpty() && archived.get(0).seq() == seqs[i]) {
+                loaded.put(seqs[i], toResponse(archived.get(0)));
+            }
+        }
+        if (!hotSeqs.isEmpty()) {
+            messageRepository.findByChatIdAndSeqIn(chatId, hotSeqs)
+                    .forEach(message -> loaded.put(message.getSeq(), message));
+        }
+        return loaded;
+    }
+
+    private static boolean containsAll(String content, List<String> words) {
+        String normalized = String.join(" ", BigramTokenizer.words(content));
+        for (String word : words) {
+            if (!normalized.contains(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private MessageResponseDto toResponse(ArchivedMessage message) {
+        SenderProfile sender = senderProfileCache.getOrLoad(message.senderId(), id -> userRepository.findById(id)
+                .map(SenderProfile::of)
+                .orElseGet(() -> new SenderProfile(id, null, null)));
+        return new MessageResponseDto(message.id(), message.seq(), message.content(), message.sentAt(),
+                sender.id(), sender.nickname(), sender.imageUrl());
+    }
 
-        messageRepository.save(message);
+    private boolean isMember(Long chatId, long userId) {
+        return chatMembershipCache.contains(chatId, userId, chatService::findMemberIds);
+    }
 
-        return new MessageResponseDto(message);
+    private void validateMember(Long chatId, long userId) {
+        if (!isMember(chatId, userId)) {
+            throw new CustomException(ErrorCode.USER_CHAT_NOT_FOUND);
+        }
     }
 
-    private User findUser(Long senderId) {
-        return userRepository.findById(senderId)
-                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND));
+    private SenderProfile findSender(Long senderId) {
+        return senderProfileCache.getOrLoad(senderId, id -> userRepository.findById(id)
+                .map(SenderProfile::of)
+                .orElseThrow(() -> new CustomException(ErrorCode.USER_NOT_FOUND)));
     }
 }
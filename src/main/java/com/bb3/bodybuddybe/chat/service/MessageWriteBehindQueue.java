@@ -0,0 +1,206 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.repository.MessageBatchWriter;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 전송된 메시지를 모아 두었다가 전용 스레드에서 batch 로 저장한다.
+ * 큐가 가득 차면 보낸 스레드에서 바로 저장해 메시지를 버리지 않고 전송 속도를 늦추며,
+ * 정상 종료 시에는 남은 메시지를 모두 저장한 뒤 끝난다.
+ *
+ * <p>메시지는 저장 전에 이미 전달되었으므로 DB 장애나 failover 같은 일시적인 오류는 저장될 때까지
+ * 간격을 늘려 가며 다시 시도한다. 제약 조건 위반으로 저장할 수 없는 메시지만 버린다.
+ * 종료 중에는 shutdown-timeout-ms 가 지나면 더 기다리지 않는다.
+ *
+ * <p>보낸 스레드에서 저장할 때는 DB 장애 중에 inbound 스레드가 끝없이 묶이지 않도록 caller-timeout-ms 까지만
+ * 다시 시도하고, 그래도 저장하지 못하면 전송을 거절한다. 이때 발급한 순번은 빈자리로 남는다.
+ */
+@Slf4j
+@Component
+public class MessageWriteBehindQueue {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final MessageBatchWriter messageBatchWriter;
+    private final ChatSummaryService chatSummaryService;
+    private final ChatSearchIndex chatSearchIndex;
+    private final BlockingQueue<PendingMessage> queue;
+    private final int batchSize;
+    private final long retryInitialMillis;
+    private final long retryMaxMillis;
+    private final long shutdownTimeoutMillis;
+    private final long callerTimeoutMillis;
+    private final Thread drainer;
+    private volatile boolean running;
+    private volatile long giveUpAt = Long.MAX_VALUE;
+
+    public MessageWriteBehindQueue(MessageBatchWriter messageBatchWriter,
+                                   ChatSummaryService chatSummaryService,
+                                   ChatSearchIndex chatSearchIndex,
+                                   @Value("${chat.write-behind.capacity:10000}") int capacity,
+                                   @Value("${chat.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${chat.write-behind.retry-initial-ms:100}") long retryInitialMillis,
+                                   @Value("${chat.write-behind.retry-max-ms:5000}") long retryMaxMillis,
+                                   @Value("${chat.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis,
+                                   @Value("${chat.write-behind.caller-timeout-ms:3000}") long callerTimeoutMillis,
+                                   MeterRegistry meterRegistry) {
+        this.messageBatchWriter = messageBatchWriter;
+        this.chatSummaryService = chatSummaryService;
+        this.chatSearchIndex = chatSearchIndex;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.retryInitialMillis = retryInitialMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.callerTimeoutMillis = callerTimeoutMillis;
+        this.drainer = new Thread(this::drain, "message-write-behind");
+        this.drainer.setDaemon(true);
+        meterRegistry.gaugeCollectionSize("chat.write-behind.queue", List.of(), queue);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer.start();
+    }
+
+    public void enqueue(PendingMessage message) {
+        if (running && queue.offer(message)) {
+            return;
+        }
+        if (write(List.of(message), System.currentTimeMillis() + callerTimeoutMillis).isEmpty()) {
+            throw new CustomException(ErrorCode.MESSAGE_NOT_SAVED);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        giveUpAt = System.currentTimeMillis() + shutdownTimeoutMillis;
+        running = false;
+        drainer.join();
+
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void drain() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingMessage first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("메시지 저장 스레드 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingMessage> batch) {
+        write(batch, Long.MAX_VALUE);
+    }
+
+    /**
+     * 저장한 메시지를 반환한다. deadline 이 지나도록 저장하지 못하면 빈 목록을 반환한다.
+     */
+    private List<PendingMessage> write(List<PendingMessage> batch, long deadline) {
+        List<PendingMessage> saved = batch;
+        try {
+            if (!insertWithRetry(batch, deadline)) {
+                return List.of();
+            }
+        } catch (DataIntegrityViolationException e) {
+            // 한 건 때문에 batch 전체를 잃지 않도록 한 건씩 다시 저장한다.
+            log.warn("메시지 batch 저장 실패, 한 건씩 다시 저장합니다. [size={}]", batch.size(), e);
+            saved = new ArrayList<>(batch.size());
+            for (PendingMessage message : batch) {
+                if (insertOne(message, deadline)) {
+                    saved.add(message);
+                }
+            }
+        }
+        chatSearchIndex.indexAll(saved);
+        try {
+            recordLastMessages(saved);
+        } catch (DataAccessException e) {
+            log.warn("채팅방 요약 갱신 실패 [size={}]", saved.size(), e);
+        }
+        return saved;
+    }
+
+    private boolean insertOne(PendingMessage message, long deadline) {
+        try {
+            return insertWithRetry(List.of(message), deadline);
+        } catch (DataIntegrityViolationException e) {
+            log.error("메시지 저장 실패, 제약 조건 위반으로 버립니다. [id={}, chatId={}, seq={}]",
+                    message.id(), message.chatId(), message.seq(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 제약 조건 위반은 그대로 던지고, 그 밖의 DB 오류는 저장될 때까지 다시 시도한다.
+     * deadline 이나 종료 대기 시간이 지나거나 인터럽트되어 포기하면 false 를 반환한다.
+     */
+    private boolean insertWithRetry(List<PendingMessage> messages, long deadline) {
+        long backoff = retryInitialMillis;
+        while (true) {
+            try {
+                messageBatchWriter.insertAll(messages);
+                return true;
+            } catch (DataIntegrityViolationException e) {
+                throw e;
+            } catch (DataAccessException e) {
+                if (System.currentTimeMillis() + backoff > Math.min(deadline, giveUpAt)) {
+                    log.error("메시지 저장 포기 [size={}, firstId={}]", messages.size(), messages.get(0).id(), e);
+                    return false;
+                }
+                log.warn("메시지 저장 실패, {}ms 뒤 다시 시도합니다. [size={}]", backoff, messages.size(), e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    log.error("메시지 저장 재시도 중단 [size={}, firstId={}]", messages.size(), messages.get(0).id(), e);
+                    return false;
+                }
+                backoff = Math.min(backoff * 2, retryMaxMillis);
+            }
+        }
+    }
+
+    private void recordLastMessages(List<PendingMessage> batch) {
+        Map<Long, PendingMessage> lastByChat = new HashMap<>();
+        for (PendingMessage message : batch) {
+            lastByChat.merge(message.chatId(), message, (a, b) -> a.id() > b.id() ? a : b);
+        }
+        lastByChat.values().forEach(chatSummaryService::recordMessage);
+    }
+}
@@ -0,0 +1,122 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import com.bb3.bodybuddybe.chat.repository.ReadCursorBatchWriter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 읽음 위치 변경을 (사용자, 채팅방)별 마지막 값 하나로 합쳐 두었다가 전용 스레드에서 주기적으로 batch 저장한다.
+ * 스크롤할 때마다 들어오는 요청이 UPDATE 한 번씩으로 이어지지 않고, 주기마다 채팅방당 한 번만 저장된다.
+ * 정상 종료 시에는 남은 변경을 모두 저장한 뒤 끝난다.
+ */
+@Slf4j
+@Component
+public class ReadCursorWriteBehind {
+
+    private final ReadCursorBatchWriter readCursorBatchWriter;
+    // userId -> (chatId -> lastReadSeq)
+    private final Map<Long, Map<Long, Long>> pending = new ConcurrentHashMap<>();
+    private final long flushIntervalMillis;
+    private final int batchSize;
+    private final Thread flusher;
+    private volatile boolean running;
+
+    public ReadCursorWriteBehind(ReadCursorBatchWriter readCursorBatchWriter,
+                                 @Value("${chat.read-cursor.flush-interval-ms:1000}") long flushIntervalMillis,
+                                 @Value("${chat.read-cursor.batch-size:500}") int batchSize,
+                                 MeterRegistry meterRegistry) {
+        this.readCursorBatchWriter = readCursorBatchWriter;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.flusher = new Thread(this::run, "read-cursor-write-behind");
+        this.flusher.setDaemon(true);
+        meterRegistry.gaugeMapSize("chat.read-cursor.pending-users", List.of(), pending);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher.start();
+    }
+
+    public void record(Long userId, Long chatId, long seq) {
+        // flush 가 빈 맵을 지우는 것과 겹치지 않도록 compute 안에서 합친다.
+        pending.compute(userId, (id, cursors) -> {
+            Map<Long, Long> userPending = cursors == null ? new ConcurrentHashMap<>() : cursors;
+            userPending.merge(chatId, seq, Math::max);
+            return userPending;
+        });
+    }
+
+    /**
+     * 아직 저장되지 않은 사용자의 읽음 위치. 캐시를 DB 에서 다시 채울 때 덮어쓴다.
+     */
+    public Map<Long, Long> pendingOf(Long userId) {
+        Map<Long, Long> userPending = pending.get(userId);
+        return userPending == null ? Map.of() : Map.copyOf(userPending);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join();
+        flush();
+    }
+
+    void flush() {
+        List<ReadCursor> batch = new ArrayList<>(batchSize);
+        for (Map.Entry<Long, Map<Long, Long>> entry : pending.entrySet()) {
+            Long userId = entry.getKey();
+            Map<Long, Long> userPending = entry.getValue();
+            for (Map.Entry<Long, Long> cursor : userPending.entrySet()) {
+                // 그사이 더 뒤로 옮겨졌으면 다음 주기에 새 값으로 저장한다.
+                if (userPending.remove(cursor.getKey(), cursor.getValue())) {
+                    batch.add(new ReadCursor(cursor.getKey(), userId, cursor.getValue()));
+                }
+                if (batch.size() >= batchSize) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+            pending.computeIfPresent(userId, (id, cursors) -> cursors.isEmpty() ? null : cursors);
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(flushIntervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                log.error("읽음 위치 저장 스레드 오류", e);
+            }
+        }
+    }
+
+    private void write(List<ReadCursor> batch) {
+        try {
+            readCursorBatchWriter.updateAll(batch);
+        } catch (DataAccessException e) {
+            log.warn("읽음 위치 저장 실패 [size={}]", batch.size(), e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import com.bb3.bodybuddybe.chat.dto.UnreadCountResponseDto;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.bb3.bodybuddybe.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class ReadStateService {
+
+    private final ChatService chatService;
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final ChatMembershipCache chatMembershipCache;
+    private final ReadCursorCache readCursorCache;
+    private final ReadCursorWriteBehind readCursorWriteBehind;
+    private final ChatSequence chatSequence;
+
+    /**
+     * 읽음 위치를 seq 로 옮긴다. 캐시에 바로 반영하고 DB 저장은 {@link ReadCursorWriteBehind} 에 맡긴다.
+     * 마지막 순번보다 큰 값은 마지막 순번으로 맞추고, 이미 더 뒤까지 읽었으면 무시한다.
+     */
+    public void markRead(Long chatId, User user, long seq) {
+        if (!chatMembershipCache.contains(chatId, user.getId(), chatService::findMemberIds)) {
+            throw new CustomException(ErrorCode.USER_CHAT_NOT_FOUND);
+        }
+
+        long lastReadSeq = Math.min(seq, chatSequence.current(chatId));
+        Map<Long, Long> cursors = readCursorCache.getOrLoad(user.getId(), this::loadCursors);
+        if (lastReadSeq <= cursors.getOrDefault(chatId, 0L)) {
+            return;
+        }
+        readCursorCache.advance(user.getId(), chatId, lastReadSeq);
+        readCursorWriteBehind.record(user.getId(), chatId, lastReadSeq);
+    }
+
+    /**
+     * 사용자가 참여한 모든 채팅방의 안 읽은 메시지 수. 읽음 위치와 마지막 순번 모두 메모리에서 읽는다.
+     */
+    public List<UnreadCountResponseDto> getUnreadCounts(User user) {
+        Map<Long, Long> cursors = readCursorCache.getOrLoad(user.getId(), this::loadCursors);
+        List<Long> chatIds = new ArrayList<>(cursors.keySet());
+        long[] lastSeqs = chatSequence.current(chatIds);
+
+        List<UnreadCountResponseDto> unreadCounts = new ArrayList<>(chatIds.size());
+        for (int i = 0; i < chatIds.size(); i++) {
+            Long chatId = chatIds.get(i);
+            unreadCounts.add(new UnreadCountResponseDto(chatId, cursors.get(chatId), lastSeqs[i]));
+        }
+        return unreadCounts;
+    }
+
+    private Map<Long, Long> loadCursors(Long userId) {
+        Map<Long, Long> cursors = new HashMap<>();
+        for (ReadCursor cursor : chatParticipantRepository.findReadCursorsByUserId(userId)) {
+            cursors.put(cursor.chatId(), cursor.lastReadSeq());
+        }
+        // 아직 저장되지 않은 읽음 위치가 DB 값보다 앞선다.
+        readCursorWriteBehind.pendingOf(userId).forEach((chatId, seq) -> cursors.computeIfPresent(chatId,
+                (id, lastReadSeq) -> Math.max(lastReadSeq, seq)));
+        return cursors;
+    }
+}
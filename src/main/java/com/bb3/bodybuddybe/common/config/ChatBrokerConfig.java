@@ -0,0 +1,19 @@
+package com.bb3.bodybuddybe.common.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class ChatBrokerConfig { // 서버 간 채팅 메시지 중계 (Redis pub/sub)
+
+    @Bean
+    public RedisMessageListenerContainer chatListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
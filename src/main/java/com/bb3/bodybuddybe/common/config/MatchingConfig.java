@@ -0,0 +1,40 @@
+package com.bb3.bodybuddybe.common.config;
+
+import com.bb3.bodybuddybe.matching.index.PairScoreMatrix;
+import com.bb3.bodybuddybe.matching.scoring.ConditionalMatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import com.bb3.bodybuddybe.matching.scoring.WeightTableMatchScorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 매칭 점수 가중치와 scorer 설정. 값은 시작할 때 한 번만 읽으므로 바꾸려면 서버를 다시 띄워야 한다.
+ * 음수 가중치가 있거나 최대 상호 점수가 {@link PairScoreMatrix} 의 short 에 들어가지 않으면 시작에 실패한다.
+ */
+@Configuration
+public class MatchingConfig {
+
+    @Bean
+    public MatchingWeights matchingWeights(@Value("${matching.weights.same-gender:20}") int sameGender,
+                                           @Value("${matching.weights.same-age-range:10}") int sameAgeRange,
+                                           @Value("${matching.weights.same-experience:5}") int sameExperience,
+                                           @Value("${matching.weights.same-intensity:5}") int sameIntensity,
+                                           @Value("${matching.weights.same-exercise-time:5}") int sameExerciseTime,
+                                           @Value("${matching.weights.shared-goal:3}") int sharedGoal) {
+        MatchingWeights weights = new MatchingWeights(sameGender, sameAgeRange, sameExperience, sameIntensity,
+                sameExerciseTime, sharedGoal);
+        PairScoreMatrix.validateWeights(weights);
+        return weights;
+    }
+
+    // 점수표 방식은 조건문 방식보다 빠르다는 측정이 나오기 전까지 matching.scorer=table 로 켤 때만 쓴다.
+    @Bean
+    public MatchScorer matchScorer(@Value("${matching.scorer:conditional}") String scorer, MatchingWeights weights) {
+        if ("table".equals(scorer)) {
+            return new WeightTableMatchScorer(weights);
+        }
+        return new ConditionalMatchScorer(weights);
+    }
+}
@@ -1,24 +1,148 @@
 package com.bb3.bodybuddybe.common.config;
 
+import com.bb3.bodybuddybe.chat.broker.ChatSubProtocolWebSocketHandler;
+import com.bb3.bodybuddybe.chat.broker.OrderedChannelExecutor;
+import com.bb3.bodybuddybe.chat.broker.OutboundBufferMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpLogging;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.config.annotation.DelegatingWebSocketMessageBrokerConfiguration;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
-import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
 
+/**
+ * 세션별 보내기 버퍼 처리 방식을 바꾸기 위해 @EnableWebSocketMessageBroker 대신
+ * DelegatingWebSocketMessageBrokerConfiguration 을 직접 상속해 SubProtocolWebSocketHandler 를 교체한다.
+ *
+ * <p>chat.websocket.executor=virtual 이면 clientInboundChannel, clientOutboundChannel, brokerChannel 을
+ * 가상 스레드 위의 {@link OrderedChannelExecutor} 로 실행한다. (Java 21 이상)
+ * inbound 와 broker 채널은 채팅방 단위로, outbound 채널은 세션 단위로 순서를 지킨다.
+ */
 @Configuration
-@EnableWebSocketMessageBroker
-public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
+public class WebSocketConfig extends DelegatingWebSocketMessageBrokerConfiguration {
+
+    private final OutboundBufferMonitor outboundBufferMonitor;
+
+    @Value("${chat.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimit;
+
+    @Value("${chat.websocket.send-buffer-size-limit:262144}")
+    private int sendBufferSizeLimit;
+
+    @Value("${chat.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+
+    @Value("${chat.websocket.overflow-strategy:TERMINATE}")
+    private OverflowStrategy overflowStrategy;
+
+    @Value("${chat.websocket.outbound-pool-size:16}")
+    private int outboundPoolSize;
+
+    @Value("${chat.websocket.executor:platform}")
+    private String executorType;
+
+    @Value("${chat.websocket.ordered-lanes:1024}")
+    private int orderedLanes;
+
+    public WebSocketConfig(OutboundBufferMonitor outboundBufferMonitor) {
+        this.outboundBufferMonitor = outboundBufferMonitor;
+    }
+
     @Override
-    public void registerStompEndpoints(StompEndpointRegistry registry) {
+    protected void registerStompEndpoints(StompEndpointRegistry registry) {
+        super.registerStompEndpoints(registry);
         registry.addEndpoint("/ws/chat")
                 .setAllowedOriginPatterns("http://localhost:5173", "https://bodybuddy.vercel.app")
                 .withSockJS();
     }
 
     @Override
-    public void configureMessageBroker(MessageBrokerRegistry registry) {
+    protected void configureMessageBroker(MessageBrokerRegistry registry) {
+        super.configureMessageBroker(registry);
+        // 다른 서버로의 전달은 chat.broker.relay=redis 일 때 RedisChatRelay 가 simple broker 앞에서 중계한다.
         registry.enableSimpleBroker("/sub");
         registry.setApplicationDestinationPrefixes("/pub");
     }
-}
\ No newline at end of file
+
+    @Override
+    protected void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        super.configureWebSocketTransport(registration);
+        registration.setSendTimeLimit(sendTimeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setMessageSizeLimit(messageSizeLimit);
+    }
+
+    @Override
+    protected void configureClientOutboundChannel(ChannelRegistration registration) {
+        super.configureClientOutboundChannel(registration);
+        // 느린 세션은 버퍼에 쌓이고 스레드를 오래 잡지 않으므로 고정 크기로 둔다.
+        registration.taskExecutor()
+                .corePoolSize(outboundPoolSize)
+                .maxPoolSize(outboundPoolSize);
+    }
+
+    @Bean
+    @Override
+    public WebSocketHandler subProtocolWebSocketHandler(AbstractSubscribableChannel clientInboundChannel,
+                                                        AbstractSubscribableChannel clientOutboundChannel) {
+        return new ChatSubProtocolWebSocketHandler(clientInboundChannel, clientOutboundChannel,
+                outboundBufferMonitor, overflowStrategy);
+    }
+
+    @Bean
+    @Override
+    public TaskExecutor clientInboundChannelExecutor() {
+        if (!useVirtualThreads()) {
+            return super.clientInboundChannelExecutor();
+        }
+        return OrderedChannelExecutor.byChat(OrderedChannelExecutor.newVirtualThreadExecutor(), orderedLanes);
+    }
+
+    @Bean
+    @Override
+    public TaskExecutor clientOutboundChannelExecutor() {
+        if (!useVirtualThreads()) {
+            return super.clientOutboundChannelExecutor();
+        }
+        return OrderedChannelExecutor.bySession(OrderedChannelExecutor.newVirtualThreadExecutor(), orderedLanes);
+    }
+
+    @Bean
+    @Override
+    public TaskExecutor brokerChannelExecutor(AbstractSubscribableChannel clientInboundChannel,
+                                              AbstractSubscribableChannel clientOutboundChannel) {
+        if (!useVirtualThreads()) {
+            return super.brokerChannelExecutor(clientInboundChannel, clientOutboundChannel);
+        }
+        return OrderedChannelExecutor.byChat(OrderedChannelExecutor.newVirtualThreadExecutor(), orderedLanes);
+    }
+
+    @Bean
+    @Override
+    public AbstractSubscribableChannel brokerChannel(AbstractSubscribableChannel clientInboundChannel,
+                                                     AbstractSubscribableChannel clientOutboundChannel,
+                                                     TaskExecutor brokerChannelExecutor) {
+        AbstractSubscribableChannel channel =
+                super.brokerChannel(clientInboundChannel, clientOutboundChannel, brokerChannelExecutor);
+        if (!useVirtualThreads()) {
+            return channel;
+        }
+        // 기본 brokerChannel 은 executor 를 등록하지 않으면 보내는 스레드에서 바로 처리하므로, 같은 인터셉터로 다시 만든다.
+        ExecutorSubscribableChannel ordered = new ExecutorSubscribableChannel(brokerChannelExecutor);
+        ordered.setLogger(SimpLogging.forLog(ordered.getLogger()));
+        ordered.setInterceptors(channel.getInterceptors());
+        return ordered;
+    }
+
+    private boolean useVirtualThreads() {
+        return "virtual".equalsIgnoreCase(executorType);
+    }
+}
@@ -34,6 +34,7 @@ public enum ErrorCode {
 
     // matching
     MATCHING_CRITERIA_NOT_FOUND(HttpStatus.BAD_REQUEST, "M001", "사용자의 매칭 기준이 존재하지 않습니다."),
+    INVALID_MATCHING_CURSOR(HttpStatus.BAD_REQUEST, "M002", "유효하지 않은 매칭 커서입니다."),
 
     // chat
     CHAT_NOT_FOUND(HttpStatus.BAD_REQUEST, "C001", "존재하지 않는 채팅방 입니다."),
@@ -47,6 +48,11 @@ public enum ErrorCode {
     OWNER_CAN_NOT_LEAVE(HttpStatus.BAD_REQUEST, "C009", "채팅방 생성자는 방을 떠날 수 없습니다. 방 해체를 원하실 경우 채팅방 삭제를 해주세요."),
     MESSAGE_NOT_FOUND(HttpStatus.BAD_REQUEST, "C010", "메세지가 존재하지 않습니다."),
     NOT_SAME_LOGIN_USER(HttpStatus.BAD_REQUEST, "C011", "로그인한 사용자와 메세지를 보낸 사용자가 다릅니다."),
+    MESSAGE_ARCHIVE_IO_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "C012", "보관된 메세지를 읽거나 쓰지 못했습니다."),
+    SEARCH_QUERY_TOO_SHORT(HttpStatus.BAD_REQUEST, "C013", "검색어는 두 글자 이상 입력해야 합니다."),
+    SEARCH_INDEX_BUILDING(HttpStatus.SERVICE_UNAVAILABLE, "C014", "검색 색인을 만드는 중입니다. 잠시 후 다시 시도해주세요."),
+    SEARCH_INDEX_TOO_LARGE(HttpStatus.BAD_REQUEST, "C015", "메세지가 너무 많은 채팅방은 검색할 수 없습니다."),
+    MESSAGE_NOT_SAVED(HttpStatus.SERVICE_UNAVAILABLE, "C016", "메세지를 저장하지 못했습니다. 잠시 후 다시 시도해주세요."),
 
     // user
     USER_NOT_FOUND(HttpStatus.BAD_REQUEST, "U001", "존재하지 않는 사용자 입니다."),
@@ -1,5 +1,6 @@
 package com.bb3.bodybuddybe.common.oauth2;
 
+import com.bb3.bodybuddybe.chat.cache.SenderProfileCache;
 import com.bb3.bodybuddybe.common.oauth2.dto.OAuthAttributes;
 import com.bb3.bodybuddybe.user.entity.User;
 import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
@@ -23,6 +24,7 @@ import java.util.Map;
 public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequest, OAuth2User> {
 
     private final UserRepository userRepository;
+    private final SenderProfileCache senderProfileCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest userRequest) throws OAuth2AuthenticationException {
@@ -48,6 +50,8 @@ public class CustomOAuth2UserService implements OAuth2UserService<OAuth2UserRequ
                 .map(entity -> entity.update(attributes.getName(), attributes.getPicture()))
                 .orElse(new User(attributes, UserRoleEnum.USER));
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        senderProfileCache.evict(savedUser.getId());
+        return savedUser;
     }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.bb3.bodybuddybe.common.util;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 시간순으로 증가하는 64비트 id 를 DB 없이 발급한다.
+ *
+ * <pre>
+ * bit 22-62 : 2023-01-01 UTC 이후 경과 밀리초
+ * bit 12-21 : 노드 id (서버마다 달라야 한다)
+ * bit 0-11  : 같은 밀리초 안의 순번
+ * </pre>
+ *
+ * <p>chat.broker.relay=redis 로 여러 서버를 띄울 때는 서버마다 다른 chat.node-id 를 주어야 하며,
+ * 없으면 id 가 겹쳐 메시지 저장이 실패하므로 서버를 띄우지 않는다. 단일 서버에서는 0 을 쓴다.
+ * id 는 2^53 보다 커서 JavaScript 숫자로는 정확히 표현되지 않으므로 응답에는 문자열로 내보낸다.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    private static final long EPOCH = 1672531200000L;
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private long lastTimestamp = -1L;
+    private long sequence;
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${chat.node-id:}") String nodeId,
+                                @Value("${chat.broker.relay:local}") String relay) {
+        this(resolveNodeId(nodeId, relay));
+    }
+
+    public SnowflakeIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("node id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public synchronized long nextId() {
+        // 시계가 뒤로 가도 마지막 시각을 이어 써서 id 가 줄어들지 않게 한다.
+        long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & MAX_SEQUENCE;
+            if (sequence == 0) {
+                timestamp = waitNextMillis(lastTimestamp);
+            }
+        } else {
+            sequence = 0;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    /**
+     * epochMillis 이후에 발급된 어떤 id 보다도 작거나 같은 id. 시각으로 id 범위를 자를 때 쓴다.
+     */
+    public static long minIdAt(long epochMillis) {
+        return Math.max(epochMillis - EPOCH, 0) << (NODE_BITS + SEQUENCE_BITS);
+    }
+
+    private static long resolveNodeId(String nodeId, String relay) {
+        if (nodeId != null && !nodeId.isBlank()) {
+            return Long.parseLong(nodeId.trim());
+        }
+        if ("redis".equals(relay)) {
+            throw new IllegalStateException("chat.node-id must be set to a unique value per node when chat.broker.relay=redis");
+        }
+        return 0L;
+    }
+
+    private static long waitNextMillis(long lastTimestamp) {
+        long timestamp = System.currentTimeMillis();
+        while (timestamp <= lastTimestamp) {
+            Thread.onSpinWait();
+            timestamp = System.currentTimeMillis();
+        }
+        return timestamp;
+    }
+}
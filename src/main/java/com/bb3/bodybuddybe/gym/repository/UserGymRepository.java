@@ -4,6 +4,8 @@ import com.bb3.bodybuddybe.gym.entity.Gym;
 import com.bb3.bodybuddybe.gym.entity.UserGym;
 import com.bb3.bodybuddybe.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,7 +17,8 @@ public interface UserGymRepository extends JpaRepository<UserGym, Long> {
 
     Optional<UserGym> findByUserAndGym(User user, Gym gym);
 
-    List<UserGym> findAllByGymId(Long gymId);
+    @Query("SELECT ug FROM UserGym ug JOIN FETCH ug.user WHERE ug.gym.id = :gymId")
+    List<UserGym> findAllByGymId(@Param("gymId") Long gymId);
 
     boolean existsByUserAndGym(User user, Gym gym);
 
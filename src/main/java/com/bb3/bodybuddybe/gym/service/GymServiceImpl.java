@@ -10,6 +10,7 @@ import com.bb3.bodybuddybe.gym.entity.Gym;
 import com.bb3.bodybuddybe.gym.entity.UserGym;
 import com.bb3.bodybuddybe.gym.repository.GymRepository;
 import com.bb3.bodybuddybe.gym.repository.UserGymRepository;
+import com.bb3.bodybuddybe.matching.service.MatchingService;
 import com.bb3.bodybuddybe.user.entity.User;
 import com.bb3.bodybuddybe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,7 @@ public class GymServiceImpl implements GymService {
     private final UserRepository userRepository;
     private final GymRepository gymRepository;
     private final UserGymRepository userGymRepository;
+    private final MatchingService matchingService;
     private static final String SPORTS_CATEGORY = "스포츠,레저";
 
     @Override
@@ -61,6 +63,7 @@ public class GymServiceImpl implements GymService {
         user.markedAsRegisteredGym();
         userRepository.save(user);
         userGymRepository.save(new UserGym(user, gym));
+        matchingService.registerGymMember(gym.getId(), user);
     }
 
     @Override
@@ -79,6 +82,7 @@ public class GymServiceImpl implements GymService {
         Gym gym = findGym(gymId);
         UserGym userGym = findUserGym(user, gym);
         userGymRepository.delete(userGym);
+        matchingService.unregisterGymMember(gym.getId(), user);
     }
 
     private Gym findGym(Long gymId) {
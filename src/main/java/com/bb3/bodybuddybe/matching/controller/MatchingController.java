@@ -5,6 +5,7 @@ import com.bb3.bodybuddybe.common.security.UserDetailsImpl;
 import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaResponseDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaUpdateRequestDto;
+import com.bb3.bodybuddybe.matching.dto.MatchingPageResponseDto;
 import com.bb3.bodybuddybe.matching.service.MatchingServiceImpl;
 import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
 import jakarta.validation.Valid;
@@ -49,4 +50,15 @@ public class MatchingController {
         List<ProfileResponseDto> matchingUsers = matchingService.getMatchingUsers(gymId, userDetails.getUser());
         return ResponseEntity.ok(matchingUsers);
     }
+
+    @GetMapping("/gyms/{gymId}/matches/page")
+    ResponseEntity<MatchingPageResponseDto> getMatchingUsersPage(@PathVariable Long gymId,
+                                                                 @RequestParam(defaultValue = "20") int limit,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "false") boolean strict,
+                                                                 @RequestParam(defaultValue = "false") boolean reciprocal,
+                                                                 @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        MatchingPageResponseDto matchingUsers = matchingService.getMatchingUsersPage(gymId, userDetails.getUser(), limit, cursor, strict, reciprocal);
+        return ResponseEntity.ok(matchingUsers);
+    }
 }
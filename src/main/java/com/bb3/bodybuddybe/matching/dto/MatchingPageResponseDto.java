@@ -0,0 +1,17 @@
+package com.bb3.bodybuddybe.matching.dto;
+
+import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class MatchingPageResponseDto {
+    private List<ProfileResponseDto> users;
+    private String nextCursor;
+
+    public MatchingPageResponseDto(List<ProfileResponseDto> users, String nextCursor) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+    }
+}
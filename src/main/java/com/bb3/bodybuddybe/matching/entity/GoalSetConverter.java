@@ -0,0 +1,46 @@
+package com.bb3.bodybuddybe.matching.entity;
+
+import com.bb3.bodybuddybe.matching.enums.GoalEnum;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 운동 목표 집합을 GoalEnum ordinal 기준 비트마스크 정수로 저장한다.
+ * 비트 위치가 선언 순서에 묶여 있으므로 GoalEnum 은 뒤에만 추가해야 한다.
+ */
+@Converter
+public class GoalSetConverter implements AttributeConverter<Set<GoalEnum>, Integer> {
+
+    private static final GoalEnum[] GOALS = GoalEnum.values();
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<GoalEnum> goals) {
+        return goals == null ? 0 : toMask(goals);
+    }
+
+    @Override
+    public Set<GoalEnum> convertToEntityAttribute(Integer mask) {
+        return mask == null ? EnumSet.noneOf(GoalEnum.class) : fromMask(mask);
+    }
+
+    public static int toMask(Set<GoalEnum> goals) {
+        int mask = 0;
+        for (GoalEnum goal : goals) {
+            mask |= 1 << goal.ordinal();
+        }
+        return mask;
+    }
+
+    public static Set<GoalEnum> fromMask(int mask) {
+        Set<GoalEnum> goals = EnumSet.noneOf(GoalEnum.class);
+        for (GoalEnum goal : GOALS) {
+            if ((mask & (1 << goal.ordinal())) != 0) {
+                goals.add(goal);
+            }
+        }
+        return goals;
+    }
+}
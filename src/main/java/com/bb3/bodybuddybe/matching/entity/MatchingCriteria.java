@@ -12,9 +12,8 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Entity
 @Getter
@@ -37,8 +36,9 @@ public class MatchingCriteria {
     @Column(nullable = false)
     private Boolean preferSameAgeRange;
 
-    @Column(nullable = false)
-    private String goals;
+    @Column(name = "goal_mask", nullable = false)
+    @Convert(converter = GoalSetConverter.class)
+    private Set<GoalEnum> goals;
 
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -59,11 +59,7 @@ public class MatchingCriteria {
         this.experience = requestDto.getExperience();
         this.intensity = requestDto.getIntensity();
         this.exerciseTime = requestDto.getExerciseTime();
-        this.goals = String.join(",",
-                requestDto.getGoals()
-                        .stream()
-                        .map(Enum::name)
-                        .toList());
+        this.goals = toGoalSet(requestDto.getGoals());
     }
 
     public void update(CriteriaUpdateRequestDto requestDto) {
@@ -72,16 +68,16 @@ public class MatchingCriteria {
         this.experience = requestDto.getExperience();
         this.intensity = requestDto.getIntensity();
         this.exerciseTime = requestDto.getExerciseTime();
-        this.goals = String.join(",",
-                requestDto.getGoals()
-                        .stream()
-                        .map(Enum::name)
-                        .toList());
+        this.goals = toGoalSet(requestDto.getGoals());
+    }
+
+    public int getGoalMask() {
+        return GoalSetConverter.toMask(goals);
     }
 
-    public Set<GoalEnum> getGoals() {
-        return Arrays.stream(goals.split(","))
-                .map(GoalEnum::valueOf)
-                .collect(Collectors.toSet());
+    private static Set<GoalEnum> toGoalSet(Set<GoalEnum> goals) {
+        Set<GoalEnum> goalSet = EnumSet.noneOf(GoalEnum.class);
+        goalSet.addAll(goals);
+        return goalSet;
     }
 }
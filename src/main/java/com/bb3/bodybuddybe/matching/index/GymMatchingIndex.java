@@ -0,0 +1,166 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 한 헬스장의 매칭 대상자 목록. 사용자 id 와 {@link MatchingProfile} 로 압축한 값을
+ * 같은 위치의 원시 배열에 보관하며, 변경 시에는 새 인스턴스를 만들어 교체한다.
+ * 운동 목표별, 운동 시간대별 posting list (위치 비트맵) 와 상호 점수 행렬은 처음 필요할 때 만든다.
+ */
+public final class GymMatchingIndex {
+
+    private final long[] userIds;
+    private final long[] profiles;
+    private final long builtOn;
+    private volatile Postings postings;
+    private volatile PairScoreMatrix pairScores;
+
+    private GymMatchingIndex(long[] userIds, long[] profiles, long builtOn) {
+        this(userIds, profiles, builtOn, null);
+    }
+
+    private GymMatchingIndex(long[] userIds, long[] profiles, long builtOn, PairScoreMatrix pairScores) {
+        this.userIds = userIds;
+        this.profiles = profiles;
+        this.builtOn = builtOn;
+        this.pairScores = pairScores;
+    }
+
+    public static GymMatchingIndex of(long[] userIds, long[] profiles) {
+        return new GymMatchingIndex(userIds, profiles, LocalDate.now().toEpochDay());
+    }
+
+    public int size() {
+        return userIds.length;
+    }
+
+    public long userIdAt(int slot) {
+        return userIds[slot];
+    }
+
+    public long profileAt(int slot) {
+        return profiles[slot];
+    }
+
+    public int slotOf(long userId) {
+        for (int i = 0; i < userIds.length; i++) {
+            if (userIds[i] == userId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 주어진 프로필과 운동 목표가 하나 이상 겹치거나 운동 시간대가 같은 멤버의 위치 비트맵을 반환한다.
+     */
+    public long[] candidatesSharingGoalOrTime(long profile) {
+        Postings current = postings();
+        int exerciseTime = (int) ((profile & MatchingProfile.EXERCISE_TIME_MASK) >>> MatchingProfile.EXERCISE_TIME_SHIFT);
+        long[] candidates = current.exerciseTimes()[exerciseTime].clone();
+
+        long goals = (profile & MatchingProfile.GOALS_MASK) >>> MatchingProfile.GOALS_SHIFT;
+        while (goals != 0) {
+            long[] goalPosting = current.goals()[Long.numberOfTrailingZeros(goals)];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] |= goalPosting[i];
+            }
+            goals &= goals - 1;
+        }
+        return candidates;
+    }
+
+    /**
+     * 대칭 scorer 로 계산한 멤버 쌍 점수 행렬. 이미 다른 scorer 로 만든 행렬이 있으면 다시 만든다.
+     */
+    public PairScoreMatrix pairScores(MatchScorer scorer) {
+        PairScoreMatrix current = pairScores;
+        if (current == null || !current.scorer().equals(scorer)) {
+            current = PairScoreMatrix.build(profiles, scorer);
+            pairScores = current;
+        }
+        return current;
+    }
+
+    // 나이대는 생성 시점 기준으로 계산되므로 날짜가 바뀌면 다시 만든다.
+    public boolean isStale() {
+        return builtOn != LocalDate.now().toEpochDay();
+    }
+
+    GymMatchingIndex withMember(long userId, long profile) {
+        int slot = slotOf(userId);
+        if (slot >= 0) {
+            long[] newProfiles = profiles.clone();
+            newProfiles[slot] = profile;
+            return new GymMatchingIndex(userIds, newProfiles, builtOn, updatedPairScores(newProfiles, slot));
+        }
+
+        long[] newUserIds = Arrays.copyOf(userIds, userIds.length + 1);
+        long[] newProfiles = Arrays.copyOf(profiles, profiles.length + 1);
+        newUserIds[userIds.length] = userId;
+        newProfiles[profiles.length] = profile;
+        return new GymMatchingIndex(newUserIds, newProfiles, builtOn, updatedPairScores(newProfiles, profiles.length));
+    }
+
+    GymMatchingIndex withoutMember(long userId) {
+        int slot = slotOf(userId);
+        if (slot < 0) {
+            return this;
+        }
+
+        long[] newUserIds = new long[userIds.length - 1];
+        long[] newProfiles = new long[profiles.length - 1];
+        System.arraycopy(userIds, 0, newUserIds, 0, slot);
+        System.arraycopy(profiles, 0, newProfiles, 0, slot);
+        System.arraycopy(userIds, slot + 1, newUserIds, slot, userIds.length - slot - 1);
+        System.arraycopy(profiles, slot + 1, newProfiles, slot, profiles.length - slot - 1);
+        return new GymMatchingIndex(newUserIds, newProfiles, builtOn);
+    }
+
+    // 이미 만든 행렬은 바뀐 멤버의 점수만 다시 계산해 이어 쓴다. 탈퇴 시에는 위치가 당겨지므로 다음 조회 때 새로 만든다.
+    private PairScoreMatrix updatedPairScores(long[] newProfiles, int slot) {
+        PairScoreMatrix current = pairScores;
+        if (current == null || newProfiles.length > PairScoreMatrix.MAX_MEMBERS) {
+            return null;
+        }
+        return current.withSlot(newProfiles, slot);
+    }
+
+    private Postings postings() {
+        Postings current = postings;
+        if (current == null) {
+            current = Postings.build(profiles);
+            postings = current;
+        }
+        return current;
+    }
+
+    private record Postings(long[][] goals, long[][] exerciseTimes) {
+
+        private static final int GOAL_COUNT = 8;
+        private static final int EXERCISE_TIME_COUNT = 8;
+
+        static Postings build(long[] profiles) {
+            int words = (profiles.length + 63) >>> 6;
+            long[][] goals = new long[GOAL_COUNT][words];
+            long[][] exerciseTimes = new long[EXERCISE_TIME_COUNT][words];
+
+            for (int slot = 0; slot < profiles.length; slot++) {
+                long profile = profiles[slot];
+                long bit = 1L << slot;
+                int exerciseTime = (int) ((profile & MatchingProfile.EXERCISE_TIME_MASK) >>> MatchingProfile.EXERCISE_TIME_SHIFT);
+                exerciseTimes[exerciseTime][slot >>> 6] |= bit;
+
+                long goalMask = (profile & MatchingProfile.GOALS_MASK) >>> MatchingProfile.GOALS_SHIFT;
+                while (goalMask != 0) {
+                    goals[Long.numberOfTrailingZeros(goalMask)][slot >>> 6] |= bit;
+                    goalMask &= goalMask - 1;
+                }
+            }
+            return new Postings(goals, exerciseTimes);
+        }
+    }
+}
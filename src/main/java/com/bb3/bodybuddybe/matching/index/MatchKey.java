@@ -0,0 +1,30 @@
+package com.bb3.bodybuddybe.matching.index;
+
+/**
+ * 매칭 순위 키. 점수가 높을수록, 점수가 같으면 사용자 id 가 작을수록 큰 long 값이 된다.
+ *
+ * <pre>
+ * bit 48-62 : 매칭 점수
+ * bit 0-47  : MAX_USER_ID - userId
+ * </pre>
+ */
+public final class MatchKey {
+
+    private static final int SCORE_SHIFT = 48;
+    private static final long MAX_USER_ID = (1L << SCORE_SHIFT) - 1;
+
+    private MatchKey() {
+    }
+
+    public static long of(int score, long userId) {
+        return ((long) score << SCORE_SHIFT) | (MAX_USER_ID - userId);
+    }
+
+    public static int score(long key) {
+        return (int) (key >>> SCORE_SHIFT);
+    }
+
+    public static long userId(long key) {
+        return MAX_USER_ID - (key & MAX_USER_ID);
+    }
+}
@@ -0,0 +1,149 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 헬스장 인덱스에서 점수 상위 k 명을 고른다.
+ * 멤버 수가 임계값 이상이면 전용 ForkJoinPool 에서 구간별 top-k 를 구한 뒤 합치고, 그 외에는 현재 스레드에서 계산한다.
+ */
+@Component
+public class MatchRanker {
+
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    private final int parallelThreshold;
+    private final ForkJoinPool pool;
+    private final Counter sequentialCounter;
+    private final Counter parallelCounter;
+
+    public MatchRanker(@Value("${matching.parallel.threshold:10000}") int parallelThreshold,
+                       @Value("${matching.parallel.pool-size:0}") int poolSize,
+                       MeterRegistry meterRegistry) {
+        this.parallelThreshold = parallelThreshold;
+        this.pool = new ForkJoinPool(poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors());
+        this.sequentialCounter = meterRegistry.counter("matching.scoring", "path", "sequential");
+        this.parallelCounter = meterRegistry.counter("matching.scoring", "path", "parallel");
+    }
+
+    public TopKSelector selectTop(GymMatchingIndex index, int userSlot, int k, long before, MatchScorer scorer) {
+        return selectTop(index, userSlot, k, before, null, scorer);
+    }
+
+    /**
+     * @param userSlot   순위에서 제외할 요청자의 위치
+     * @param before     이 값보다 작은 {@link MatchKey} 만 후보로 삼는다. (커서)
+     * @param candidates 점수를 계산할 멤버의 위치 비트맵. null 이면 전체 멤버
+     */
+    public TopKSelector selectTop(GymMatchingIndex index, int userSlot, int k, long before,
+                                  long[] candidates, MatchScorer scorer) {
+        return select(new Scan(index, userSlot, index.profileAt(userSlot), k, before, candidates, scorer, null));
+    }
+
+    /**
+     * 점수를 새로 계산하지 않고 미리 계산된 쌍 점수 행렬에서 조회한다.
+     */
+    public TopKSelector selectTop(GymMatchingIndex index, int userSlot, int k, long before,
+                                  long[] candidates, PairScoreMatrix pairScores) {
+        return select(new Scan(index, userSlot, index.profileAt(userSlot), k, before, candidates,
+                pairScores.scorer(), pairScores));
+    }
+
+    private TopKSelector select(Scan scan) {
+        GymMatchingIndex index = scan.index();
+        if (index.size() < parallelThreshold) {
+            sequentialCounter.increment();
+            return scan.run(0, index.size());
+        }
+
+        parallelCounter.increment();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, index.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new ScoreTask(scan, 0, index.size(), chunkSize));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private record Scan(GymMatchingIndex index, int userSlot, long userProfile, int k, long before,
+                        long[] candidates, MatchScorer scorer, PairScoreMatrix pairScores) {
+
+        TopKSelector run(int from, int to) {
+            TopKSelector selector = new TopKSelector(k);
+            if (candidates == null) {
+                for (int slot = from; slot < to; slot++) {
+                    offer(selector, slot);
+                }
+                return selector;
+            }
+
+            for (int word = from >>> 6; from < to && word <= (to - 1) >>> 6; word++) {
+                int base = word << 6;
+                long bits = candidates[word];
+                if (base < from) {
+                    bits &= -1L << (from - base);
+                }
+                if (to - base < 64) {
+                    bits &= (1L << (to - base)) - 1;
+                }
+                while (bits != 0) {
+                    offer(selector, base + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return selector;
+        }
+
+        private void offer(TopKSelector selector, int slot) {
+            if (slot == userSlot) {
+                return;
+            }
+            int score = pairScores != null
+                    ? pairScores.score(userSlot, slot)
+                    : scorer.score(userProfile, index.profileAt(slot));
+            long key = MatchKey.of(score, index.userIdAt(slot));
+            if (key < before) {
+                selector.offer(key);
+            }
+        }
+    }
+
+    // ForkJoinPool 안에서만 쓰고 직렬화하지 않는다.
+    @SuppressWarnings("serial")
+    private static final class ScoreTask extends RecursiveTask<TopKSelector> {
+        private final Scan scan;
+        private final int from;
+        private final int to;
+        private final int chunkSize;
+
+        private ScoreTask(Scan scan, int from, int to, int chunkSize) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected TopKSelector compute() {
+            if (to - from <= chunkSize) {
+                return scan.run(from, to);
+            }
+
+            int mid = (from + to) >>> 1;
+            ScoreTask left = new ScoreTask(scan, from, mid, chunkSize);
+            ScoreTask right = new ScoreTask(scan, mid, to, chunkSize);
+            left.fork();
+            TopKSelector merged = right.compute();
+            merged.merge(left.join());
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static com.bb3.bodybuddybe.common.util.TransactionUtils.afterCommit;
+
+/**
+ * 헬스장별 매칭 인덱스 저장소.
+ * 조회 시점에 없는 헬스장은 loader 로 한 번 만들어 두고, 이후 변경은 트랜잭션 커밋 뒤에 반영한다.
+ * 아직 로드되지 않은 헬스장에 대한 변경은 무시한다. (다음 로드 때 DB 에서 그대로 읽힌다.)
+ *
+ * <p>변경은 커밋 뒤 {@link MatchingIndexChangedEvent} 로 알려 다른 서버의 인덱스를 지우게 하고,
+ * 알림을 놓쳐도 ttl-ms 가 지나면 다시 만든다.
+ */
+@Component
+public class MatchingIndex {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<Long, Loaded> gyms = new ConcurrentHashMap<>();
+    // 인덱스를 만드는 중인 헬스장과 그동안의 변경 횟수. 만드는 동안 변경이 있었으면 캐시하지 않는다.
+    private final Map<Long, Loads> loads = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MatchingIndex(ApplicationEventPublisher eventPublisher,
+                         @Value("${matching.index.ttl-ms:300000}") long ttlMillis) {
+        this(eventPublisher, ttlMillis, System::currentTimeMillis);
+    }
+
+    MatchingIndex(ApplicationEventPublisher eventPublisher, long ttlMillis, LongSupplier clock) {
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public GymMatchingIndex getOrLoad(Long gymId, Function<Long, GymMatchingIndex> loader) {
+        long now = clock.getAsLong();
+        Loaded loaded = gyms.get(gymId);
+        if (loaded != null && isFresh(loaded, now)) {
+            return loaded.index();
+        }
+
+        // DB 를 읽는 동안 맵의 bin 을 잠그지 않도록 compute 밖에서 만들고, compute 에서는 바꿔 넣기만 한다.
+        long changes = loads.merge(gymId, new Loads(1, 0), (current, one) -> current.joined()).changes();
+        try {
+            Loaded created = new Loaded(loader.apply(gymId), now);
+            Loaded current = gyms.compute(gymId, (id, existing) -> {
+                if (existing != null && isFresh(existing, now)) {
+                    return existing;
+                }
+                return loads.get(id).changes() == changes ? created : null;
+            });
+            return current != null ? current.index() : created.index();
+        } finally {
+            loads.computeIfPresent(gymId, (id, current) -> current.left());
+        }
+    }
+
+    public void upsertMember(Long gymId, Long userId, long profile) {
+        afterCommit(() -> {
+            markChanged(gymId);
+            gyms.computeIfPresent(gymId, (id, loaded) -> loaded.with(loaded.index().withMember(userId, profile)));
+            eventPublisher.publishEvent(new MatchingIndexChangedEvent(gymId));
+        });
+    }
+
+    public void removeMember(Long gymId, Long userId) {
+        afterCommit(() -> {
+            markChanged(gymId);
+            gyms.computeIfPresent(gymId, (id, loaded) -> loaded.with(loaded.index().withoutMember(userId)));
+            eventPublisher.publishEvent(new MatchingIndexChangedEvent(gymId));
+        });
+    }
+
+    public void evict(Long gymId) {
+        markChanged(gymId);
+        gyms.remove(gymId);
+    }
+
+    /**
+     * 다른 서버에서 멤버가 바뀌었을 때 이 서버의 인덱스만 지운다.
+     */
+    public void invalidateLocal(Long gymId) {
+        markChanged(gymId);
+        gyms.remove(gymId);
+    }
+
+    private void markChanged(Long gymId) {
+        loads.computeIfPresent(gymId, (id, current) -> current.changed());
+    }
+
+    private boolean isFresh(Loaded loaded, long now) {
+        return !loaded.index().isStale() && now - loaded.loadedAt() < ttlMillis;
+    }
+
+    private record Loaded(GymMatchingIndex index, long loadedAt) {
+
+        Loaded with(GymMatchingIndex changed) {
+            return new Loaded(changed, loadedAt);
+        }
+    }
+
+    private record Loads(int loaders, long changes) {
+
+        Loads joined() {
+            return new Loads(loaders + 1, changes);
+        }
+
+        Loads left() {
+            return loaders == 1 ? null : new Loads(loaders - 1, changes);
+        }
+
+        Loads changed() {
+            return new Loads(loaders, changes + 1);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.bb3.bodybuddybe.matching.index;
+
+/**
+ * 헬스장 매칭 멤버가 바뀌어 커밋된 뒤에 발행된다. 다른 서버의 {@link MatchingIndex} 를 지우는 데 쓴다.
+ */
+public record MatchingIndexChangedEvent(Long gymId) {
+}
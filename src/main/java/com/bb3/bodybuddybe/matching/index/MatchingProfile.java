@@ -0,0 +1,77 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
+import com.bb3.bodybuddybe.matching.enums.AgeRangeEnum;
+import com.bb3.bodybuddybe.matching.enums.GenderEnum;
+import com.bb3.bodybuddybe.user.entity.User;
+
+/**
+ * 매칭 점수 계산에 필요한 사용자 정보와 매칭 기준을 하나의 long 값으로 압축한다.
+ *
+ * <pre>
+ * bit 0-1   : 성별 (ordinal + 1, 0 = 미설정)
+ * bit 2-4   : 나이대 (ordinal + 1, 0 = 미설정)
+ * bit 5-6   : 운동 경력
+ * bit 7-8   : 운동 강도
+ * bit 9-11  : 운동 시간대
+ * bit 12-19 : 운동 목표 비트마스크 (GoalEnum ordinal)
+ * bit 20    : 같은 성별 선호
+ * bit 21    : 같은 나이대 선호
+ * </pre>
+ */
+public final class MatchingProfile {
+
+    public static final int GENDER_SHIFT = 0;
+    public static final int AGE_RANGE_SHIFT = 2;
+    public static final int EXPERIENCE_SHIFT = 5;
+    public static final int INTENSITY_SHIFT = 7;
+    public static final int EXERCISE_TIME_SHIFT = 9;
+    public static final int GOALS_SHIFT = 12;
+    public static final int PREFER_SAME_GENDER_SHIFT = 20;
+    public static final int PREFER_SAME_AGE_RANGE_SHIFT = 21;
+
+    public static final long GENDER_MASK = 0b11L << GENDER_SHIFT;
+    public static final long AGE_RANGE_MASK = 0b111L << AGE_RANGE_SHIFT;
+    public static final long EXPERIENCE_MASK = 0b11L << EXPERIENCE_SHIFT;
+    public static final long INTENSITY_MASK = 0b11L << INTENSITY_SHIFT;
+    public static final long EXERCISE_TIME_MASK = 0b111L << EXERCISE_TIME_SHIFT;
+    public static final long GOALS_MASK = 0xFFL << GOALS_SHIFT;
+    public static final long PREFER_SAME_GENDER = 1L << PREFER_SAME_GENDER_SHIFT;
+    public static final long PREFER_SAME_AGE_RANGE = 1L << PREFER_SAME_AGE_RANGE_SHIFT;
+
+    private MatchingProfile() {
+    }
+
+    public static long pack(User user, MatchingCriteria criteria) {
+        long profile = 0L;
+        profile |= (long) genderCode(user.getGender()) << GENDER_SHIFT;
+        profile |= (long) ageRangeCode(user.getAgeRange()) << AGE_RANGE_SHIFT;
+        profile |= (long) criteria.getExperience().ordinal() << EXPERIENCE_SHIFT;
+        profile |= (long) criteria.getIntensity().ordinal() << INTENSITY_SHIFT;
+        profile |= (long) criteria.getExerciseTime().ordinal() << EXERCISE_TIME_SHIFT;
+        profile |= (long) criteria.getGoalMask() << GOALS_SHIFT;
+        if (criteria.getPreferSameGender()) {
+            profile |= PREFER_SAME_GENDER;
+        }
+        if (criteria.getPreferSameAgeRange()) {
+            profile |= PREFER_SAME_AGE_RANGE;
+        }
+        return profile;
+    }
+
+    public static boolean sameField(long a, long b, long mask) {
+        return ((a ^ b) & mask) == 0;
+    }
+
+    public static int sharedGoalCount(long a, long b) {
+        return Long.bitCount(a & b & GOALS_MASK);
+    }
+
+    private static int genderCode(GenderEnum gender) {
+        return gender == null ? 0 : gender.ordinal() + 1;
+    }
+
+    private static int ageRangeCode(AgeRangeEnum ageRange) {
+        return ageRange == null ? 0 : ageRange.ordinal() + 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+
+import java.util.Arrays;
+
+/**
+ * 한 헬스장 멤버 사이의 대칭 점수를 미리 계산해 둔 하삼각 행렬.
+ * 위치 i > j 인 쌍의 점수를 {@code i * (i - 1) / 2 + j} 위치의 short 로 보관하므로 멤버 n 명에 n(n-1)/2 칸을 쓴다.
+ * 대칭 점수를 내는 scorer 로만 만들어야 하며, 메모리를 위해 {@link #MAX_MEMBERS} 명 이하의 헬스장에만 쓴다.
+ */
+public final class PairScoreMatrix {
+
+    public static final int MAX_MEMBERS = 2048; // 약 4MB
+
+    private final MatchScorer scorer;
+    private final int size;
+    private final short[] scores;
+
+    private PairScoreMatrix(MatchScorer scorer, int size, short[] scores) {
+        this.scorer = scorer;
+        this.size = size;
+        this.scores = scores;
+    }
+
+    public static PairScoreMatrix build(long[] profiles, MatchScorer scorer) {
+        PairScoreMatrix matrix = new PairScoreMatrix(scorer, profiles.length, new short[offset(profiles.length)]);
+        for (int i = 1; i < profiles.length; i++) {
+            matrix.fillRow(profiles, i);
+        }
+        return matrix;
+    }
+
+    /**
+     * 상호 점수(두 방향 점수의 합)의 최댓값이 short 에 들어가는지 확인한다. 기본 가중치로는 2 * 63 = 126 이다.
+     */
+    public static void validateWeights(MatchingWeights weights) {
+        if (2 * weights.maxScore() > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("max reciprocal score " + 2 * weights.maxScore()
+                    + " does not fit in a short: " + weights.fingerprint());
+        }
+    }
+
+    public MatchScorer scorer() {
+        return scorer;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int score(int a, int b) {
+        return a > b ? scores[offset(a) + b] : scores[offset(b) + a];
+    }
+
+    /**
+     * slot 의 프로필이 바뀌었거나 마지막 위치에 새로 추가된 경우, 해당 멤버의 점수만 다시 계산한 행렬을 반환한다.
+     */
+    PairScoreMatrix withSlot(long[] profiles, int slot) {
+        PairScoreMatrix matrix = new PairScoreMatrix(scorer, profiles.length, Arrays.copyOf(scores, offset(profiles.length)));
+        matrix.fillRow(profiles, slot);
+        for (int i = slot + 1; i < profiles.length; i++) {
+            matrix.scores[offset(i) + slot] = clamp(scorer.score(profiles[i], profiles[slot]));
+        }
+        return matrix;
+    }
+
+    private void fillRow(long[] profiles, int i) {
+        int base = offset(i);
+        for (int j = 0; j < i; j++) {
+            scores[base + j] = clamp(scorer.score(profiles[i], profiles[j]));
+        }
+    }
+
+    private static int offset(int i) {
+        return (int) ((long) i * (i - 1) / 2);
+    }
+
+    // 시작할 때 validateWeights 로 확인하므로 설정한 가중치의 점수는 잘리지 않는다.
+    private static short clamp(int score) {
+        return (short) Math.min(score, Short.MAX_VALUE);
+    }
+}
@@ -0,0 +1,53 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * 헬스장 매칭 멤버 변경을 Redis 채널(matching-index)로 알려 다른 서버의 {@link MatchingIndex} 를 지운다.
+ * 여러 서버로 띄우는 설정(chat.broker.relay=redis)에서만 켜진다.
+ * 메시지는 "보낸 서버 id:gymId" 이며, 자기가 보낸 메시지는 이미 반영했으므로 무시한다.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "chat.broker.relay", havingValue = "redis")
+public class RedisMatchingIndexRelay implements MessageListener {
+
+    private static final String CHANNEL = "matching-index";
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final MatchingIndex matchingIndex;
+    private final String originId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    public void start() {
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener
+    public void onMatchingIndexChanged(MatchingIndexChangedEvent event) {
+        redisTemplate.convertAndSend(CHANNEL, originId + ":" + event.gymId());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(originId)) {
+            return;
+        }
+        matchingIndex.invalidateLocal(Long.valueOf(body.substring(separator + 1)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.bb3.bodybuddybe.matching.index;
+
+/**
+ * 크기가 k 로 제한된 최소 힙으로 가장 큰 k 개의 long 키만 남긴다.
+ * 전체 정렬 없이 O(n log k) 로 상위 k 개를 고를 때 사용한다.
+ */
+public final class TopKSelector {
+
+    private final long[] heap;
+    private int size;
+
+    public TopKSelector(int k) {
+        this.heap = new long[k];
+    }
+
+    public void offer(long key) {
+        if (heap.length == 0) {
+            return;
+        }
+        if (size < heap.length) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (key > heap[0]) {
+            heap[0] = key;
+            siftDown(0);
+        }
+    }
+
+    public void merge(TopKSelector other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.heap[i]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] toSortedDescending() {
+        long[] sorted = new long[size];
+        long[] copy = heap.clone();
+        int remaining = size;
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = copy[0];
+            copy[0] = copy[--remaining];
+            siftDown(copy, remaining, 0);
+        }
+        return sorted;
+    }
+
+    private void siftUp(int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    private void siftDown(int index) {
+        siftDown(heap, size, index);
+    }
+
+    private static void siftDown(long[] heap, int size, int index) {
+        if (size == 0) {
+            return;
+        }
+        long key = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+}
@@ -3,14 +3,18 @@ package com.bb3.bodybuddybe.matching.repository;
 import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
 import com.bb3.bodybuddybe.user.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface MatchingCriteriaRepository extends JpaRepository<MatchingCriteria, Long> {
     Optional<MatchingCriteria> findByUser(User user);
 
-
-
+    @Query("SELECT mc FROM MatchingCriteria mc JOIN FETCH mc.user u " +
+            "WHERE u.id IN (SELECT ug.user.id FROM UserGym ug WHERE ug.gym.id = :gymId)")
+    List<MatchingCriteria> findAllByGymId(@Param("gymId") Long gymId);
 }
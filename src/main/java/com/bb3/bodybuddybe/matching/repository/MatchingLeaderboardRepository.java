@@ -0,0 +1,163 @@
+package com.bb3.bodybuddybe.matching.repository;
+
+import com.bb3.bodybuddybe.matching.index.MatchKey;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 사용자별, 헬스장별 매칭 순위를 Redis sorted set 으로 보관한다.
+ * 여러 서버가 같은 순위를 공유하므로 한 서버에서 계산한 결과를 다른 서버에서 그대로 페이지 조회할 수 있다.
+ *
+ * <p>sorted set 의 score 는 {@code 매칭 점수 * 2^32 + (2^32 - 1 - userId)} 로,
+ * 점수가 같으면 사용자 id 오름차순이 되도록 {@link MatchKey} 와 같은 순서를 유지한다.
+ * 이 인코딩은 사용자 id 가 2^32 미만일 때만 순서가 맞으므로 그보다 큰 id 는 예외로 거절한다.
+ * 매칭 점수는 15비트 이하라 전체 값이 2^53 보다 작아 double 로도 정확히 표현된다.
+ * 한 헬스장의 키는 같은 해시 태그를 써서 클러스터에서도 한 슬롯에 모이고, 가중치가 바뀌면 다른 키를 쓴다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MatchingLeaderboardRepository {
+
+    private static final String KEY_PREFIX = "matching:board:{";
+    private static final double USER_ID_RANGE = 4294967296.0; // 2^32
+
+    // 순위가 이미 만들어진 사용자에게만 변경된 멤버의 점수를 반영한다. ARGV 마지막 값이 멤버 id
+    private static final RedisScript<Long> UPSERT_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do " +
+            "  if redis.call('EXISTS', KEYS[i]) == 1 then redis.call('ZADD', KEYS[i], ARGV[i], ARGV[#ARGV]) end " +
+            "end " +
+            "return #KEYS", Long.class);
+
+    private static final RedisScript<Long> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "for i = 1, #KEYS do redis.call('ZREM', KEYS[i], ARGV[1]) end " +
+            "return #KEYS", Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final MatchingWeights weights;
+
+    @Value("${matching.leaderboard.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    // 큰 헬스장에서 명령 하나가 Redis 를 오래 붙잡지 않도록 owner 나 순위 항목을 이 개수씩 나눠 보낸다.
+    @Value("${matching.leaderboard.script-batch-size:500}")
+    private int scriptBatchSize;
+
+    public boolean exists(Long gymId, Long userId) {
+        return Boolean.TRUE.equals(redisTemplate.hasKey(key(gymId, userId)));
+    }
+
+    /**
+     * 순위 전체를 바꾼다. 같은 슬롯의 임시 키에 나눠 채운 뒤 RENAME 으로 한 번에 바꾸므로
+     * 다른 요청이 비어 있거나 TTL 이 없는 순위를 읽지 않는다.
+     */
+    public void replace(Long gymId, Long userId, long[] matchKeys) {
+        String key = key(gymId, userId);
+        if (matchKeys.length == 0) {
+            redisTemplate.delete(key);
+            return;
+        }
+
+        String staging = key + ":staging:" + UUID.randomUUID();
+        int batchSize = batchSize();
+        for (int from = 0; from < matchKeys.length; from += batchSize) {
+            int to = Math.min(from + batchSize, matchKeys.length);
+            Set<TypedTuple<String>> tuples = new HashSet<>((to - from) * 2);
+            for (int i = from; i < to; i++) {
+                tuples.add(TypedTuple.of(String.valueOf(MatchKey.userId(matchKeys[i])), toRedisScore(matchKeys[i])));
+            }
+            redisTemplate.opsForZSet().add(staging, tuples);
+            if (from == 0) {
+                // 도중에 실패해도 임시 키가 남지 않게 먼저 TTL 을 건다. RENAME 은 TTL 을 그대로 옮긴다.
+                redisTemplate.expire(staging, Duration.ofSeconds(ttlSeconds));
+            }
+        }
+        redisTemplate.rename(staging, key);
+    }
+
+    /**
+     * before 보다 순위가 낮은 항목을 최대 count 개 조회한다. count 가 음수이면 전부 조회한다.
+     */
+    public long[] findBefore(Long gymId, Long userId, long before, int count) {
+        double max = before == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : Math.nextDown(toRedisScore(before));
+        Set<TypedTuple<String>> tuples = redisTemplate.opsForZSet()
+                .reverseRangeByScoreWithScores(key(gymId, userId), Double.NEGATIVE_INFINITY, max, 0, count);
+        if (tuples == null) {
+            return new long[0];
+        }
+
+        long[] matchKeys = new long[tuples.size()];
+        int i = 0;
+        for (TypedTuple<String> tuple : tuples) {
+            matchKeys[i++] = toMatchKey(tuple.getScore(), Long.parseLong(tuple.getValue()));
+        }
+        return matchKeys;
+    }
+
+    /**
+     * member 의 점수를 owners 각각의 순위에 반영한다. 아직 순위가 없는 owner 는 건너뛴다.
+     */
+    public void upsertMember(Long gymId, Long member, long[] owners, long[] matchKeys) {
+        int batchSize = batchSize();
+        for (int from = 0; from < owners.length; from += batchSize) {
+            int to = Math.min(from + batchSize, owners.length);
+            List<String> keys = new ArrayList<>(to - from);
+            Object[] args = new Object[to - from + 1];
+            for (int i = from; i < to; i++) {
+                keys.add(key(gymId, owners[i]));
+                args[i - from] = String.valueOf(toRedisScore(matchKeys[i]));
+            }
+            args[to - from] = String.valueOf(member);
+            redisTemplate.execute(UPSERT_SCRIPT, keys, args);
+        }
+    }
+
+    public void removeMember(Long gymId, Long member, long[] owners) {
+        redisTemplate.delete(key(gymId, member));
+
+        int batchSize = batchSize();
+        for (int from = 0; from < owners.length; from += batchSize) {
+            int to = Math.min(from + batchSize, owners.length);
+            List<String> keys = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                keys.add(key(gymId, owners[i]));
+            }
+            redisTemplate.execute(REMOVE_SCRIPT, keys, String.valueOf(member));
+        }
+    }
+
+    public void delete(Long gymId, Long userId) {
+        redisTemplate.delete(key(gymId, userId));
+    }
+
+    private int batchSize() {
+        return Math.max(scriptBatchSize, 1);
+    }
+
+    private String key(Long gymId, long userId) {
+        return KEY_PREFIX + gymId + "}:" + weights.fingerprint() + ":" + userId;
+    }
+
+    private static double toRedisScore(long matchKey) {
+        if (MatchKey.userId(matchKey) >= USER_ID_RANGE) {
+            throw new IllegalArgumentException("순위에 담을 수 없는 사용자 id 입니다: " + MatchKey.userId(matchKey));
+        }
+        return MatchKey.score(matchKey) * USER_ID_RANGE + (USER_ID_RANGE - 1 - MatchKey.userId(matchKey));
+    }
+
+    private static long toMatchKey(double redisScore, long userId) {
+        return MatchKey.of((int) (redisScore / USER_ID_RANGE), userId);
+    }
+}
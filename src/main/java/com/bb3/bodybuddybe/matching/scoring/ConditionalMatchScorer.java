@@ -0,0 +1,44 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+
+/**
+ * 항목마다 조건문으로 점수를 더하는 구현. {@link WeightTableMatchScorer} 의 비교 기준으로 남겨 둔다.
+ */
+public class ConditionalMatchScorer implements MatchScorer {
+
+    private final MatchingWeights weights;
+
+    public ConditionalMatchScorer(MatchingWeights weights) {
+        this.weights = weights;
+    }
+
+    @Override
+    public int score(long user, long other) {
+        int score = 0;
+        if ((user & MatchingProfile.PREFER_SAME_GENDER) != 0
+                && MatchingProfile.sameField(user, other, MatchingProfile.GENDER_MASK)) {
+            score += weights.sameGender();
+        }
+
+        if ((user & MatchingProfile.PREFER_SAME_AGE_RANGE) != 0
+                && MatchingProfile.sameField(user, other, MatchingProfile.AGE_RANGE_MASK)) {
+            score += weights.sameAgeRange();
+        }
+
+        if (MatchingProfile.sameField(user, other, MatchingProfile.EXPERIENCE_MASK)) {
+            score += weights.sameExperience();
+        }
+
+        if (MatchingProfile.sameField(user, other, MatchingProfile.INTENSITY_MASK)) {
+            score += weights.sameIntensity();
+        }
+
+        if (MatchingProfile.sameField(user, other, MatchingProfile.EXERCISE_TIME_MASK)) {
+            score += weights.sameExerciseTime();
+        }
+
+        score += weights.sharedGoal() * MatchingProfile.sharedGoalCount(user, other);
+        return score;
+    }
+}
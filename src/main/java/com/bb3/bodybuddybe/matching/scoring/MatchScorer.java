@@ -0,0 +1,12 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+
+/**
+ * 압축된 두 {@link MatchingProfile} 사이의 매칭 점수를 계산한다.
+ * user 는 점수를 요청한 사용자로, 같은 성별/나이대 선호 여부는 user 의 값만 본다.
+ */
+@FunctionalInterface
+public interface MatchScorer {
+    int score(long user, long other);
+}
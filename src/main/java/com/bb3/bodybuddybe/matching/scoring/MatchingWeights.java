@@ -0,0 +1,39 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import com.bb3.bodybuddybe.matching.enums.GoalEnum;
+
+/**
+ * 매칭 점수 가중치. 각 항목이 일치할 때 더해지는 점수이며, sharedGoal 은 겹치는 운동 목표 하나당 점수다.
+ * 일치할수록 점수가 높다는 전제로 순위를 매기므로 음수 가중치는 받지 않는다.
+ */
+public record MatchingWeights(int sameGender,
+                              int sameAgeRange,
+                              int sameExperience,
+                              int sameIntensity,
+                              int sameExerciseTime,
+                              int sharedGoal) {
+
+    public MatchingWeights {
+        if (sameGender < 0 || sameAgeRange < 0 || sameExperience < 0
+                || sameIntensity < 0 || sameExerciseTime < 0 || sharedGoal < 0) {
+            throw new IllegalArgumentException("matching weights must not be negative: " + sameGender + "-" + sameAgeRange
+                    + "-" + sameExperience + "-" + sameIntensity + "-" + sameExerciseTime + "-" + sharedGoal);
+        }
+    }
+
+    public static final MatchingWeights DEFAULT = new MatchingWeights(20, 10, 5, 5, 5, 3);
+
+    /**
+     * 한 방향 점수의 최댓값. 모든 항목이 같고 운동 목표가 모두 겹칠 때의 점수다.
+     */
+    public long maxScore() {
+        return (long) sameGender + sameAgeRange + sameExperience + sameIntensity + sameExerciseTime
+                + (long) sharedGoal * GoalEnum.values().length;
+    }
+
+    // 가중치가 바뀌면 이전 가중치로 계산해 둔 순위를 쓰지 않도록 저장 키에 붙인다.
+    public String fingerprint() {
+        return sameGender + "-" + sameAgeRange + "-" + sameExperience + "-"
+                + sameIntensity + "-" + sameExerciseTime + "-" + sharedGoal;
+    }
+}
@@ -0,0 +1,13 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+/**
+ * 양쪽 사용자의 선호를 모두 반영한 상호 매칭 점수. 두 방향 점수의 합이므로 대칭이다.
+ * 감싼 scorer 가 같으면 같은 점수를 내므로 equals 로 비교할 수 있다.
+ */
+public record ReciprocalMatchScorer(MatchScorer scorer) implements MatchScorer {
+
+    @Override
+    public int score(long user, long other) {
+        return scorer.score(user, other) + scorer.score(other, user);
+    }
+}
@@ -0,0 +1,71 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import static com.bb3.bodybuddybe.matching.index.MatchingProfile.*;
+
+/**
+ * 가중치를 enum ordinal 기준 점수표로 미리 펼쳐 두고, 조건문 없이 배열 조회만으로 점수를 계산한다.
+ *
+ * <p>각 표의 색인은 user 와 other 의 해당 항목 값을 xor 한 값이며, 0 (같은 값) 위치에만 가중치가 있다.
+ * 성별/나이대 표는 user 의 선호 비트까지 포함하므로 선호하지 않으면 0 점이 조회된다.
+ */
+public class WeightTableMatchScorer implements MatchScorer {
+
+    // 표 크기는 MatchingProfile 의 비트 배치에서 구하므로 배치가 바뀌어도 따로 고칠 필요가 없다.
+    private static final int GENDER_BITS = Long.bitCount(GENDER_MASK);
+    private static final int AGE_RANGE_BITS = Long.bitCount(AGE_RANGE_MASK);
+    private static final int EXPERIENCE_BITS = Long.bitCount(EXPERIENCE_MASK);
+    private static final int INTENSITY_BITS = Long.bitCount(INTENSITY_MASK);
+    private static final int EXERCISE_TIME_BITS = Long.bitCount(EXERCISE_TIME_MASK);
+    private static final int GOAL_BITS = Long.bitCount(GOALS_MASK);
+
+    private final int[] genderTable;
+    private final int[] ageRangeTable;
+    private final int[] experienceTable;
+    private final int[] intensityTable;
+    private final int[] exerciseTimeTable;
+    private final int[] sharedGoalTable;
+
+    public WeightTableMatchScorer(MatchingWeights weights) {
+        this.genderTable = preferenceTable(GENDER_BITS, weights.sameGender());
+        this.ageRangeTable = preferenceTable(AGE_RANGE_BITS, weights.sameAgeRange());
+        this.experienceTable = equalityTable(EXPERIENCE_BITS, weights.sameExperience());
+        this.intensityTable = equalityTable(INTENSITY_BITS, weights.sameIntensity());
+        this.exerciseTimeTable = equalityTable(EXERCISE_TIME_BITS, weights.sameExerciseTime());
+        this.sharedGoalTable = new int[GOAL_BITS + 1];
+        for (int count = 0; count <= GOAL_BITS; count++) {
+            sharedGoalTable[count] = count * weights.sharedGoal();
+        }
+    }
+
+    @Override
+    public int score(long user, long other) {
+        long diff = user ^ other;
+        int preferGender = field(user, PREFER_SAME_GENDER, PREFER_SAME_GENDER_SHIFT);
+        int preferAgeRange = field(user, PREFER_SAME_AGE_RANGE, PREFER_SAME_AGE_RANGE_SHIFT);
+
+        return genderTable[(preferGender << GENDER_BITS) | field(diff, GENDER_MASK, GENDER_SHIFT)]
+                + ageRangeTable[(preferAgeRange << AGE_RANGE_BITS) | field(diff, AGE_RANGE_MASK, AGE_RANGE_SHIFT)]
+                + experienceTable[field(diff, EXPERIENCE_MASK, EXPERIENCE_SHIFT)]
+                + intensityTable[field(diff, INTENSITY_MASK, INTENSITY_SHIFT)]
+                + exerciseTimeTable[field(diff, EXERCISE_TIME_MASK, EXERCISE_TIME_SHIFT)]
+                + sharedGoalTable[Long.bitCount(user & other & GOALS_MASK)];
+    }
+
+    private static int field(long profile, long mask, int shift) {
+        return (int) ((profile & mask) >>> shift);
+    }
+
+    // user 값과 other 값의 xor 가 0 (같은 값) 이면 weight
+    private static int[] equalityTable(int bits, int weight) {
+        int[] table = new int[1 << bits];
+        table[0] = weight;
+        return table;
+    }
+
+    // [선호 여부][user 값 xor other 값] 이 선호하면서 같으면 weight
+    private static int[] preferenceTable(int bits, int weight) {
+        int[] table = new int[2 << bits];
+        table[1 << bits] = weight;
+        return table;
+    }
+}
@@ -3,6 +3,7 @@ package com.bb3.bodybuddybe.matching.service;
 import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaResponseDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaUpdateRequestDto;
+import com.bb3.bodybuddybe.matching.dto.MatchingPageResponseDto;
 import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
 import com.bb3.bodybuddybe.user.entity.User;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,4 +22,12 @@ public interface MatchingService {
 
     @Transactional(readOnly = true)
     List<ProfileResponseDto> getMatchingUsers(Long gymId, User user);
+
+    @Transactional(readOnly = true)
+    MatchingPageResponseDto getMatchingUsersPage(Long gymId, User user, int limit, String cursor,
+                                                 boolean strict, boolean reciprocal);
+
+    void registerGymMember(Long gymId, User user);
+
+    void unregisterGymMember(Long gymId, User user);
 }
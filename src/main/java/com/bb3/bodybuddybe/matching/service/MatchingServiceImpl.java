@@ -7,27 +7,52 @@ import com.bb3.bodybuddybe.gym.repository.UserGymRepository;
 import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaResponseDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaUpdateRequestDto;
+import com.bb3.bodybuddybe.matching.dto.MatchingPageResponseDto;
 import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
-import com.bb3.bodybuddybe.matching.enums.GoalEnum;
+import com.bb3.bodybuddybe.matching.index.GymMatchingIndex;
+import com.bb3.bodybuddybe.matching.index.MatchRanker;
+import com.bb3.bodybuddybe.matching.index.MatchingIndex;
+import com.bb3.bodybuddybe.matching.index.MatchKey;
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+import com.bb3.bodybuddybe.matching.index.PairScoreMatrix;
 import com.bb3.bodybuddybe.matching.repository.MatchingCriteriaRepository;
+import com.bb3.bodybuddybe.matching.repository.MatchingLeaderboardRepository;
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.ReciprocalMatchScorer;
 import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
 import com.bb3.bodybuddybe.user.entity.User;
 import com.bb3.bodybuddybe.user.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.bb3.bodybuddybe.common.util.TransactionUtils.afterCommit;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class MatchingServiceImpl implements MatchingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
     private final UserGymRepository userGymRepository;
     private final MatchingCriteriaRepository matchingCriteriaRepository;
+    private final MatchingIndex matchingIndex;
+    private final MatchRanker matchRanker;
+    private final MatchScorer matchScorer;
+    private final MatchingLeaderboardRepository leaderboardRepository;
+
+    @Value("${matching.leaderboard.enabled:true}")
+    private boolean leaderboardEnabled;
 
     @Override
     @Transactional
@@ -36,6 +61,7 @@ public class MatchingServiceImpl implements MatchingService {
         matchingCriteriaRepository.save(matchingCriteria);
         user.markedAsSetMatchingCriteria();
         userRepository.save(user);
+        updateMatchingIndex(user, matchingCriteria);
     }
 
     @Override
@@ -50,63 +76,213 @@ public class MatchingServiceImpl implements MatchingService {
     public void updateMatchingCriteria(CriteriaUpdateRequestDto requestDto, User user) {
         MatchingCriteria matchingCriteria = findByUser(user);
         matchingCriteria.update(requestDto);
+        updateMatchingIndex(user, matchingCriteria);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ProfileResponseDto> getMatchingUsers(Long gymId, User user) {
+        long[] keys = rank(gymId, user, Long.MAX_VALUE, -1, false, false);
+        return findProfiles(toUserIds(keys, keys.length));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchingPageResponseDto getMatchingUsersPage(Long gymId, User user, int limit, String cursor,
+                                                        boolean strict, boolean reciprocal) {
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        long before = cursor == null ? Long.MAX_VALUE : decodeCursor(cursor);
+
+        // 다음 페이지 존재 여부를 알기 위해 한 건 더 고른다.
+        long[] keys = rank(gymId, user, before, pageSize + 1, strict, reciprocal);
+        int count = Math.min(keys.length, pageSize);
+
+        String nextCursor = keys.length > pageSize ? encodeCursor(keys[count - 1]) : null;
+        return new MatchingPageResponseDto(findProfiles(toUserIds(keys, count)), nextCursor);
+    }
+
+    @Override
+    public void registerGymMember(Long gymId, User user) {
+        if (!Boolean.TRUE.equals(user.getHasSetMatchingCriteria())) {
+            return;
+        }
+        matchingCriteriaRepository.findByUser(user).ifPresent(criteria ->
+                applyProfile(gymId, user.getId(), MatchingProfile.pack(user, criteria)));
+    }
+
+    @Override
+    public void unregisterGymMember(Long gymId, User user) {
+        Long userId = user.getId();
+        matchingIndex.removeMember(gymId, userId);
+        if (leaderboardEnabled) {
+            afterCommit(() -> updateLeaderboards(gymId, () -> leaderboardRepository.removeMember(gymId, userId,
+                    otherMembers(gymId, userId))));
+        }
+    }
+
+    /**
+     * before 보다 순위가 낮은 매칭 키를 최대 count 개(음수면 전부) 순위 순으로 반환한다.
+     * strict 이면 운동 목표가 하나 이상 겹치거나 운동 시간대가 같은 멤버만 후보로 삼고,
+     * reciprocal 이면 상대방의 선호까지 반영한 상호 점수로 순위를 매긴다.
+     */
+    private long[] rank(Long gymId, User user, long before, int count, boolean strict, boolean reciprocal) {
         if (!userGymRepository.existsByUserAndGymId(user, gymId)) {
             throw new CustomException(ErrorCode.NOT_MY_GYM);
         }
 
-        List<User> allUsersInGym = userGymRepository.findAllByGymId(gymId)
-                .stream()
-                .map(UserGym::getUser)
-                .toList();
+        // strict 후보는 posting list 로 바로 좁혀지고 상호 점수는 작은 헬스장에서 행렬로 조회되므로 Redis 순위를 거치지 않는다.
+        if (leaderboardEnabled && !strict && !reciprocal) {
+            try {
+                return rankFromLeaderboard(gymId, user, before, count);
+            } catch (DataAccessException e) {
+                // Redis 에 문제가 있어도 같은 순위를 메모리 인덱스로 계산할 수 있다.
+                log.warn("매칭 순위 조회 실패, 인덱스로 계산합니다. [gymId={}, userId={}]", gymId, user.getId(), e);
+            }
+        }
+        return rankFromIndex(gymId, user, before, count, strict, reciprocal);
+    }
 
-        MatchingCriteria userCriteria = findByUser(user);
+    private long[] rankFromLeaderboard(Long gymId, User user, long before, int count) {
+        if (!leaderboardRepository.exists(gymId, user.getId())) {
+            leaderboardRepository.replace(gymId, user.getId(),
+                    rankFromIndex(gymId, user, Long.MAX_VALUE, -1, false, false));
+        }
+        return leaderboardRepository.findBefore(gymId, user.getId(), before, count);
+    }
 
-        return allUsersInGym.stream()
-                .filter(other -> !other.getId().equals(user.getId()))
-                .sorted(Comparator.comparingInt(other -> -calculateMatchScore(userCriteria, other)))
-                .map(ProfileResponseDto::new)
-                .toList();
+    private long[] rankFromIndex(Long gymId, User user, long before, int count, boolean strict, boolean reciprocal) {
+        GymMatchingIndex index = matchingIndex.getOrLoad(gymId, this::loadGymIndex);
+        int userSlot = index.slotOf(user.getId());
+        if (userSlot < 0) {
+            throw new CustomException(ErrorCode.MATCHING_CRITERIA_NOT_FOUND);
+        }
+
+        int k = count < 0 ? index.size() : count;
+        long[] candidates = strict ? index.candidatesSharingGoalOrTime(index.profileAt(userSlot)) : null;
+        MatchScorer scorer = reciprocal ? new ReciprocalMatchScorer(matchScorer) : matchScorer;
+        if (reciprocal && index.size() <= PairScoreMatrix.MAX_MEMBERS) {
+            return matchRanker.selectTop(index, userSlot, k, before, candidates, index.pairScores(scorer))
+                    .toSortedDescending();
+        }
+
+        return matchRanker.selectTop(index, userSlot, k, before, candidates, scorer)
+                .toSortedDescending();
+    }
+
+    private List<Long> toUserIds(long[] keys, int count) {
+        List<Long> userIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            userIds.add(MatchKey.userId(keys[i]));
+        }
+        return userIds;
     }
 
-    private int calculateMatchScore(MatchingCriteria userCriteria, User other) {
-        User user = userCriteria.getUser();
-        MatchingCriteria otherCriteria = findByUser(other);
+    private String encodeCursor(long key) {
+        String raw = MatchKey.score(key) + ":" + MatchKey.userId(key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
 
-        int score = 0;
-        if (userCriteria.getPreferSameGender() && user.getGender() == other.getGender()) {
-            score += 20;
+    private long decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return MatchKey.of(Integer.parseInt(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new CustomException(ErrorCode.INVALID_MATCHING_CURSOR);
         }
+    }
+
+    // 헬스장 멤버(User fetch join)와 매칭 기준을 각각 한 번의 쿼리로 읽어 인덱스를 만든다.
+    private GymMatchingIndex loadGymIndex(Long gymId) {
+        List<UserGym> members = userGymRepository.findAllByGymId(gymId);
+        Map<Long, MatchingCriteria> criteriaByUserId = matchingCriteriaRepository.findAllByGymId(gymId)
+                .stream()
+                .collect(Collectors.toMap(criteria -> criteria.getUser().getId(), Function.identity()));
 
-        if (userCriteria.getPreferSameAgeRange() && user.getAgeRange() == other.getAgeRange()) {
-            score += 10;
+        long[] userIds = new long[members.size()];
+        long[] profiles = new long[members.size()];
+        int count = 0;
+        for (UserGym member : members) {
+            User other = member.getUser();
+            MatchingCriteria criteria = criteriaByUserId.get(other.getId());
+            if (criteria == null) {
+                continue;
+            }
+            userIds[count] = other.getId();
+            profiles[count] = MatchingProfile.pack(other, criteria);
+            count++;
         }
+        return GymMatchingIndex.of(Arrays.copyOf(userIds, count), Arrays.copyOf(profiles, count));
+    }
 
-        if (userCriteria.getExperience() == otherCriteria.getExperience()) {
-            score += 5;
+    private void updateMatchingIndex(User user, MatchingCriteria matchingCriteria) {
+        List<UserGym> userGyms = userGymRepository.findAllByUser(user);
+        if (userGyms.isEmpty()) {
+            return;
         }
 
-        if (userCriteria.getIntensity() == otherCriteria.getIntensity()) {
-            score += 5;
+        long profile = MatchingProfile.pack(user, matchingCriteria);
+        for (UserGym userGym : userGyms) {
+            applyProfile(userGym.getGym().getId(), user.getId(), profile);
         }
+    }
 
-        if (userCriteria.getExerciseTime() == otherCriteria.getExerciseTime()) {
-            score += 5;
+    private void applyProfile(Long gymId, Long userId, long profile) {
+        matchingIndex.upsertMember(gymId, userId, profile);
+        if (leaderboardEnabled) {
+            afterCommit(() -> updateLeaderboards(gymId, () -> refreshLeaderboards(gymId, userId, profile)));
         }
+    }
 
-        Set<GoalEnum> userGoals = userCriteria.getGoals();
-        Set<GoalEnum> otherGoals = otherCriteria.getGoals();
-        for (GoalEnum goal : userGoals) {
-            if (otherGoals.contains(goal)) {
-                score += 3;
+    // 다른 멤버들의 순위에서 변경된 멤버의 점수만 갱신하고, 본인의 순위는 다음 조회 때 다시 만든다.
+    private void refreshLeaderboards(Long gymId, Long userId, long profile) {
+        GymMatchingIndex index = matchingIndex.getOrLoad(gymId, this::loadGymIndex);
+        long[] owners = new long[index.size()];
+        long[] keys = new long[index.size()];
+        int count = 0;
+        for (int slot = 0; slot < index.size(); slot++) {
+            if (index.userIdAt(slot) == userId) {
+                continue;
             }
+            owners[count] = index.userIdAt(slot);
+            keys[count] = MatchKey.of(matchScorer.score(index.profileAt(slot), profile), userId);
+            count++;
         }
+        leaderboardRepository.upsertMember(gymId, userId, Arrays.copyOf(owners, count), Arrays.copyOf(keys, count));
+        leaderboardRepository.delete(gymId, userId);
+    }
 
-        return score;
+    private long[] otherMembers(Long gymId, Long userId) {
+        GymMatchingIndex index = matchingIndex.getOrLoad(gymId, this::loadGymIndex);
+        long[] owners = new long[index.size()];
+        int count = 0;
+        for (int slot = 0; slot < index.size(); slot++) {
+            if (index.userIdAt(slot) != userId) {
+                owners[count++] = index.userIdAt(slot);
+            }
+        }
+        return Arrays.copyOf(owners, count);
+    }
+
+    // 순위 갱신에 실패해도 이미 커밋된 요청은 성공으로 두고, 남은 순위는 TTL 로 정리되게 한다.
+    private void updateLeaderboards(Long gymId, Runnable update) {
+        try {
+            update.run();
+        } catch (RuntimeException e) {
+            log.warn("매칭 순위 갱신 실패 [gymId={}]", gymId, e);
+        }
+    }
+
+    private List<ProfileResponseDto> findProfiles(List<Long> userIds) {
+        Map<Long, User> users = userRepository.findAllById(userIds)
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return userIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(ProfileResponseDto::new)
+                .toList();
     }
 
     private MatchingCriteria findByUser(User user) {
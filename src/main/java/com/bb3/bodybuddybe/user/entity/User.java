@@ -130,6 +130,10 @@ public class User {
     }
 
     public AgeRangeEnum getAgeRange() {
+        if (birthDate == null) {
+            return null;
+        }
+
         int age = getAge();
 
         if (age < 20) return AgeRangeEnum.S10s;
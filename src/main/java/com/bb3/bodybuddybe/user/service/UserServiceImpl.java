@@ -1,5 +1,6 @@
 package com.bb3.bodybuddybe.user.service;
 
+import com.bb3.bodybuddybe.chat.cache.SenderProfileCache;
 import com.bb3.bodybuddybe.common.exception.CustomException;
 import com.bb3.bodybuddybe.common.exception.ErrorCode;
 import com.bb3.bodybuddybe.media.service.AwsS3Service;
@@ -31,6 +32,7 @@ public class UserServiceImpl implements UserService {
     private final JwtUtil jwtUtil;
     private final AwsS3Service awsS3Service;
     private final TokenResponseHandler tokenResponseHandler;
+    private final SenderProfileCache senderProfileCache;
 
     @Override
     @Transactional
@@ -129,6 +131,7 @@ public class UserServiceImpl implements UserService {
             throw new CustomException(ErrorCode.PASSWORD_NOT_MATCHED);
         }
         userRepository.delete(user);
+        senderProfileCache.evict(user.getId());
     }
 
     @Override
@@ -137,6 +140,7 @@ public class UserServiceImpl implements UserService {
         String imageUrl = awsS3Service.uploadFile(file);
         user.updateImageUrl(imageUrl);
         userRepository.save(user);
+        senderProfileCache.evict(user.getId());
     }
 
     @Override
@@ -151,6 +155,7 @@ public class UserServiceImpl implements UserService {
         awsS3Service.deleteFileFromS3Url(user.getImageUrl());
         user.updateImageUrl(null);
         userRepository.save(user);
+        senderProfileCache.evict(user.getId());
     }
 
     @Override
@@ -159,6 +164,7 @@ public class UserServiceImpl implements UserService {
         user.setProfile(requestDto);
         user.markedAsSetProfile();
         userRepository.save(user);
+        senderProfileCache.evict(user.getId());
     }
 
     @Override
@@ -166,6 +172,7 @@ public class UserServiceImpl implements UserService {
     public void updateProfile(ProfileRequestDto requestDto, User user) {
         user.setProfile(requestDto);
         userRepository.save(user);
+        senderProfileCache.evict(user.getId());
     }
 
     @Override
@@ -0,0 +1,102 @@
+package com.bb3.bodybuddybe.chat.archive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageArchiveTest {
+
+    private static final Long CHAT_ID = 1L;
+    private static final int BLOCK_SIZE = 4;
+
+    @TempDir
+    Path dir;
+
+    MessageArchive messageArchive;
+
+    @BeforeEach
+    void setUp() {
+        messageArchive = new MessageArchive(new LocalSegmentStore(dir.toString()), BLOCK_SIZE, 60000, 1000);
+    }
+
+    @Test
+    @DisplayName("여러 세그먼트에 걸친 구간을 id 역순, 순번 순으로 이어서 읽는다.")
+    void testReadsAcrossSegments() {
+        // given
+        messageArchive.append(CHAT_ID, messages(1, 10));
+        messageArchive.append(CHAT_ID, messages(11, 25));
+
+        // when
+        List<ArchivedMessage> before = messageArchive.findBefore(CHAT_ID, idOf(13), 5);
+        List<ArchivedMessage> since = messageArchive.findSince(CHAT_ID, 7, 6);
+
+        // then
+        assertEquals(25L, messageArchive.lastSeq(CHAT_ID));
+        assertEquals(List.of(12L, 11L, 10L, 9L, 8L), before.stream().map(ArchivedMessage::seq).toList());
+        assertEquals(List.of(8L, 9L, 10L, 11L, 12L, 13L), since.stream().map(ArchivedMessage::seq).toList());
+        assertEquals("메시지 8", since.get(0).content());
+        assertEquals(LocalDateTime.of(2023, 1, 1, 0, 8, 0, 123_456_000), since.get(0).sentAt());
+    }
+
+    @Test
+    @DisplayName("보관된 순번 이하의 메시지는 다시 보관할 수 없고, 채팅방을 지우면 세그먼트도 지운다.")
+    void testAppendOnlyAndDelete() {
+        // given
+        messageArchive.append(CHAT_ID, messages(1, 10));
+
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> messageArchive.append(CHAT_ID, messages(10, 12)));
+        MessageArchive reopened = new MessageArchive(new LocalSegmentStore(dir.toString()), BLOCK_SIZE, 60000, 1000);
+        assertEquals(10L, reopened.lastSeq(CHAT_ID));
+
+        messageArchive.deleteChat(CHAT_ID);
+        assertEquals(0L, messageArchive.lastSeq(CHAT_ID));
+        assertTrue(messageArchive.findBefore(CHAT_ID, Long.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("max-chats 를 넘으면 가장 오래 조회하지 않은 채팅방의 세그먼트를 놓고, 다시 조회하면 새로 연다.")
+    void testBoundsOpenChats() {
+        // given
+        MessageArchive bounded = new MessageArchive(new LocalSegmentStore(dir.toString()), BLOCK_SIZE, 60000, 2);
+        bounded.append(1L, messages(1, 5));
+        bounded.append(2L, messages(1, 6));
+        bounded.append(3L, messages(1, 7));
+
+        // when
+        bounded.lastSeq(1L);
+        bounded.lastSeq(2L);
+        bounded.lastSeq(1L);
+        bounded.lastSeq(3L);
+
+        // then
+        Map<?, ?> chats = (Map<?, ?>) ReflectionTestUtils.getField(bounded, "chats");
+        assertEquals(Set.of(1L, 3L), chats.keySet());
+        assertEquals(6L, bounded.lastSeq(2L));
+        assertEquals(2, chats.size());
+    }
+
+    private static List<ArchivedMessage> messages(long fromSeq, long toSeq) {
+        List<ArchivedMessage> messages = new ArrayList<>();
+        for (long seq = fromSeq; seq <= toSeq; seq++) {
+            messages.add(new ArchivedMessage(idOf(seq), seq, 3L, "메시지 " + seq,
+                    LocalDateTime.of(2023, 1, 1, 0, (int) seq, 0, 123_456_000)));
+        }
+        return messages;
+    }
+
+    private static long idOf(long seq) {
+        return seq * 1000;
+    }
+}
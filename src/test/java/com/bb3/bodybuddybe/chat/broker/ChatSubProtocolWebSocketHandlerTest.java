@@ -0,0 +1,140 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import com.bb3.bodybuddybe.common.config.WebSocketConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator.OverflowStrategy;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitWebConfig(ChatSubProtocolWebSocketHandlerTest.Config.class)
+@TestPropertySource(properties = {
+        "chat.websocket.send-buffer-size-limit=100",
+        "chat.websocket.overflow-strategy=DROP"
+})
+class ChatSubProtocolWebSocketHandlerTest {
+
+    @Configuration
+    @Import({WebSocketConfig.class, OutboundBufferMonitor.class})
+    static class Config {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    WebSocketHandler subProtocolWebSocketHandler;
+
+    @Autowired
+    OutboundBufferMonitor outboundBufferMonitor;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("DROP 이면 느린 세션의 버퍼가 제한을 넘지 않도록 오래된 메시지를 버리고 연결을 유지한다.")
+    void testDropKeepsBufferBounded() throws Exception {
+        // given
+        ChatSubProtocolWebSocketHandler handler = (ChatSubProtocolWebSocketHandler) subProtocolWebSocketHandler;
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slowSession = slowSession("slow-drop", release);
+        ConcurrentWebSocketSessionDecorator session =
+                (ConcurrentWebSocketSessionDecorator) handler.decorateSession(slowSession);
+        ExecutorService sender = blockFirstSend(session);
+
+        // when
+        for (int i = 0; i < 20; i++) {
+            session.sendMessage(new TextMessage("x".repeat(30)));
+        }
+
+        // then
+        assertTrue(session.getBufferSize() <= 100);
+        assertTrue(outboundBufferMonitor.maxBufferedBytes() > 0);
+        assertEquals(outboundBufferMonitor.totalBufferedBytes(),
+                meterRegistry.get("chat.websocket.outbound.buffered-bytes").gauge().value());
+        verify(slowSession, never()).close(any(CloseStatus.class));
+
+        release.countDown();
+        sender.shutdown();
+        assertTrue(sender.awaitTermination(5, TimeUnit.SECONDS));
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+        assertEquals(0, outboundBufferMonitor.totalBufferedBytes());
+    }
+
+    @Test
+    @DisplayName("TERMINATE 이면 버퍼 제한을 넘긴 세션을 닫고 느린 세션 종료 횟수를 센다.")
+    void testTerminateDisconnectsSlowConsumer() throws Exception {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession slowSession = slowSession("slow-terminate", release);
+        ChatSubProtocolWebSocketHandler handler = new ChatSubProtocolWebSocketHandler(
+                mock(SubscribableChannel.class), mock(SubscribableChannel.class),
+                outboundBufferMonitor, OverflowStrategy.TERMINATE);
+        handler.setSendBufferSizeLimit(100);
+        ConcurrentWebSocketSessionDecorator session =
+                (ConcurrentWebSocketSessionDecorator) handler.decorateSession(slowSession);
+        ExecutorService sender = blockFirstSend(session);
+        double before = meterRegistry.get("chat.websocket.outbound.slow-consumer-disconnects").counter().count();
+
+        // when
+        assertThrows(SessionLimitExceededException.class, () -> {
+            for (int i = 0; i < 20; i++) {
+                session.sendMessage(new TextMessage("x".repeat(30)));
+            }
+        });
+        session.close(CloseStatus.SESSION_NOT_RELIABLE);
+
+        // then
+        assertEquals(before + 1, meterRegistry.get("chat.websocket.outbound.slow-consumer-disconnects").counter().count());
+        verify(slowSession).close(CloseStatus.SESSION_NOT_RELIABLE);
+
+        release.countDown();
+        sender.shutdownNow();
+    }
+
+    private static WebSocketSession slowSession(String id, CountDownLatch release) throws Exception {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.getId()).thenReturn(id);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> release.await(5, TimeUnit.SECONDS)).when(session).sendMessage(any());
+        return session;
+    }
+
+    // 첫 메시지를 보내는 스레드가 소켓 쓰기에서 멈춰 있는 동안 나머지 메시지는 버퍼에 쌓인다.
+    private static ExecutorService blockFirstSend(ConcurrentWebSocketSessionDecorator session)
+            throws InterruptedException {
+        ExecutorService sender = Executors.newSingleThreadExecutor();
+        sender.submit(() -> {
+            session.sendMessage(new TextMessage("first"));
+            return null;
+        });
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (session.getTimeSinceSendStarted() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        return sender;
+    }
+}
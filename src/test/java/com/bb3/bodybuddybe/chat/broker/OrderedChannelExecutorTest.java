@@ -0,0 +1,155 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedChannelExecutorTest {
+
+    private static final int CHAT_COUNT = 50;
+    private static final int MESSAGES_PER_CHAT = 200;
+
+    OrderedChannelExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 채팅방의 메시지는 여러 스레드에서 실행해도 보낸 순서대로 처리된다.")
+    void testPreservesOrderPerChat() throws Exception {
+        // given
+        executor = OrderedChannelExecutor.byChat(Executors.newFixedThreadPool(8), 16);
+        List<List<Integer>> handled = new ArrayList<>();
+        for (int i = 0; i < CHAT_COUNT; i++) {
+            handled.add(Collections.synchronizedList(new ArrayList<>()));
+        }
+        CountDownLatch done = new CountDownLatch(CHAT_COUNT * MESSAGES_PER_CHAT);
+
+        // when
+        for (int seq = 0; seq < MESSAGES_PER_CHAT; seq++) {
+            for (int chat = 0; chat < CHAT_COUNT; chat++) {
+                int chatId = chat;
+                int order = seq;
+                executor.execute(task("/pub/chats/" + chatId + "/send", "session-" + seq, () -> {
+                    handled.get(chatId).add(order);
+                    done.countDown();
+                }));
+            }
+        }
+
+        // then
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (List<Integer> orders : handled) {
+            for (int i = 0; i < MESSAGES_PER_CHAT; i++) {
+                assertEquals(i, orders.get(i));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("채팅방 단위 executor 에서도 SUBSCRIBE 직후의 UNSUBSCRIBE, DISCONNECT 는 같은 세션의 앞선 작업이 끝난 뒤에, 보낸 순서대로 처리된다.")
+    void testSessionFramesWaitForChatLanes() throws Exception {
+        // given
+        executor = OrderedChannelExecutor.byChat(Executors.newFixedThreadPool(8), 16);
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+        CountDownLatch otherSession = new CountDownLatch(1);
+
+        // when
+        executor.execute(task("/sub/chats/7", "s1", () -> {
+            sleep(100);
+            handled.add("subscribe 7");
+            done.countDown();
+        }));
+        executor.execute(task(null, "s1", () -> {
+            handled.add("unsubscribe");
+            done.countDown();
+        }));
+        executor.execute(task("/sub/chats/8", "s1", () -> {
+            handled.add("subscribe 8");
+            done.countDown();
+        }));
+        executor.execute(task("/pub/chats/9/send", "s1", () -> {
+            sleep(50);
+            handled.add("send 9");
+            done.countDown();
+        }));
+        executor.execute(task(null, "s1", () -> {
+            handled.add("disconnect");
+            done.countDown();
+        }));
+        executor.execute(task("/pub/chats/11/send", "s2", otherSession::countDown));
+
+        // then
+        assertTrue(otherSession.await(50, TimeUnit.MILLISECONDS));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("subscribe 7", handled.get(0));
+        assertEquals("unsubscribe", handled.get(1));
+        assertEquals("disconnect", handled.get(4));
+    }
+
+    @Test
+    @DisplayName("세션 단위 executor 는 세션 id 로, 채팅방 단위 executor 는 채팅방이 없는 프레임만 세션 id 로 순서를 맞춘다.")
+    void testKeyOf() {
+        // given
+        executor = OrderedChannelExecutor.bySession(Executors.newSingleThreadExecutor(), 4);
+        OrderedChannelExecutor byChat = OrderedChannelExecutor.byChat(Executors.newSingleThreadExecutor(), 4);
+
+        // when & then
+        assertEquals("s1", executor.keyOf(task("/sub/chats/7", "s1", () -> {})));
+        assertEquals(7L, byChat.keyOf(task("/sub/chats/7", "s1", () -> {})));
+        assertEquals(42L, byChat.keyOf(task("/pub/chats/42/enter", "s1", () -> {})));
+        assertEquals("s1", byChat.keyOf(task(null, "s1", () -> {})));
+        assertNull(byChat.keyOf(() -> {}));
+        assertNull(OrderedChannelExecutor.parseChatId("/sub/chats/abc"));
+        byChat.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static MessageHandlingRunnable task(String destination, String sessionId, Runnable body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setDestination(destination);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        MessageHandler handler = m -> body.run();
+        return new MessageHandlingRunnable() {
+            @Override
+            public Message<?> getMessage() {
+                return message;
+            }
+
+            @Override
+            public MessageHandler getMessageHandler() {
+                return handler;
+            }
+
+            @Override
+            public void run() {
+                handler.handleMessage(message);
+            }
+        };
+    }
+}
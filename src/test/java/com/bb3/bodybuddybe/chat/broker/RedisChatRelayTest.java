@@ -0,0 +1,89 @@
+package com.bb3.bodybuddybe.chat.broker;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RedisChatRelayTest {
+    @InjectMocks
+    RedisChatRelay relay;
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    RedisMessageListenerContainer listenerContainer;
+
+    @Mock
+    SimpMessagingTemplate messagingTemplate;
+
+    @Spy
+    ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("채팅방의 첫 로컬 구독자가 생길 때 채널을 구독하고, 마지막 구독자가 나가면 구독을 해제한다.")
+    void testSubscribeOnlyChatsWithLocalSubscribers() {
+        // given
+        ChannelTopic topic = new ChannelTopic("chat:1");
+
+        // when
+        relay.subscribe("session-1", "sub-0", 1L);
+        relay.subscribe("session-2", "sub-0", 1L);
+        relay.unsubscribe("session-1", "sub-0");
+
+        // then
+        verify(listenerContainer, times(1)).addMessageListener(relay, topic);
+        verify(listenerContainer, never()).removeMessageListener(relay, topic);
+        assertTrue(relay.isListening(1L));
+
+        // when
+        relay.disconnect("session-2");
+
+        // then
+        verify(listenerContainer, times(1)).removeMessageListener(relay, topic);
+        assertFalse(relay.isListening(1L));
+    }
+
+    @Test
+    @DisplayName("메시지는 채팅방 채널로 발행하고, 채널에서 받은 메시지는 로컬 구독자에게 전달한다.")
+    void testBroadcastAndRelay() {
+        // when
+        relay.broadcast(1L, Map.of("content", "안녕하세요"));
+        relay.onMessage(new DefaultMessage("chat:1".getBytes(StandardCharsets.UTF_8),
+                "{\"content\":\"안녕하세요\"}".getBytes(StandardCharsets.UTF_8)), null);
+
+        // then
+        verify(redisTemplate).convertAndSend("chat:1", "{\"content\":\"안녕하세요\"}");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<byte[]>> captor = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate).send(eq("/sub/chats/1"), captor.capture());
+        assertEquals("{\"content\":\"안녕하세요\"}", new String(captor.getValue().getPayload(), StandardCharsets.UTF_8));
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+    }
+}
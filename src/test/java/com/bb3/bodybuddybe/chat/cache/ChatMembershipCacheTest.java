@@ -0,0 +1,104 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatMembershipCacheTest {
+
+    @Test
+    @DisplayName("한 번 읽은 채팅방은 입장/퇴장을 반영하고 다시 읽지 않는다.")
+    void testJoinAndLeaveUpdateCachedMembers() {
+        // given
+        List<Object> events = new ArrayList<>();
+        ChatMembershipCache cache = new ChatMembershipCache(events::add, 60_000, 100, 0, () -> 0L);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, long[]> loader = chatId -> {
+            loads.incrementAndGet();
+            return new long[]{7L, 3L, 5L};
+        };
+        assertTrue(cache.contains(1L, 3L, loader));
+
+        // when
+        cache.addMember(1L, 4L);
+        cache.removeMember(1L, 5L);
+
+        // then
+        assertTrue(cache.contains(1L, 4L, loader));
+        assertTrue(cache.contains(1L, 7L, loader));
+        assertEquals(1, loads.get());
+        assertEquals(List.of(new ChatMembershipChangedEvent(1L), new ChatMembershipChangedEvent(1L)), events);
+        assertFalse(cache.contains(1L, 5L, chatId -> new long[]{3L, 4L, 7L}));
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 참여자는 다시 읽어서 확인한다.")
+    void testMissReloadsMembers() {
+        // given
+        ChatMembershipCache cache = new ChatMembershipCache(event -> { }, 60_000, 100, 0, () -> 0L);
+        cache.contains(1L, 3L, chatId -> new long[]{3L});
+
+        // when
+        boolean joinedElsewhere = cache.contains(1L, 9L, chatId -> new long[]{9L, 3L});
+
+        // then
+        assertTrue(joinedElsewhere);
+        assertTrue(cache.contains(1L, 3L, chatId -> new long[0]));
+    }
+
+    @Test
+    @DisplayName("참여자가 아니면 miss-reload 간격 안에서는 다시 읽지 않고, ttl 이 지나면 나간 참여자도 다시 읽어 반영한다.")
+    void testMissThrottleAndTtl() {
+        // given
+        AtomicLong now = new AtomicLong();
+        AtomicInteger loads = new AtomicInteger();
+        long[][] stored = {{3L}};
+        Function<Long, long[]> loader = chatId -> {
+            loads.incrementAndGet();
+            return stored[0];
+        };
+        ChatMembershipCache cache = new ChatMembershipCache(event -> { }, 60_000, 100, 1_000, now::get);
+        assertTrue(cache.contains(1L, 3L, loader));
+
+        // when & then
+        assertFalse(cache.contains(1L, 9L, loader));
+        assertFalse(cache.contains(1L, 9L, loader));
+        assertEquals(1, loads.get());
+
+        stored[0] = new long[0];
+        now.set(60_000);
+        assertFalse(cache.contains(1L, 3L, loader));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("참여자를 읽는 동안 입장이 커밋되면 읽은 목록을 캐시하지 않고 다음 조회에서 다시 읽는다.")
+    void testChangeDuringLoadIsNotCached() {
+        // given
+        ChatMembershipCache cache = new ChatMembershipCache(event -> { }, 60_000, 100, 60_000, () -> 0L);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, long[]> loader = chatId -> {
+            if (loads.incrementAndGet() == 1) {
+                cache.addMember(chatId, 9L);
+                return new long[]{3L};
+            }
+            return new long[]{3L, 9L};
+        };
+
+        // when
+        assertTrue(cache.contains(1L, 3L, loader));
+
+        // then
+        assertTrue(cache.contains(1L, 9L, loader));
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,58 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadCursorCacheTest {
+
+    @Test
+    @DisplayName("읽음 위치를 옮기면 다른 서버에 알리고, 다른 서버에서 받은 이동은 알리지 않고 반영한다.")
+    void testAdvancePublishesAndAdvanceLocalDoesNot() {
+        // given
+        List<Object> events = new ArrayList<>();
+        ReadCursorCache cache = new ReadCursorCache(events::add, 60_000, 100, () -> 0L);
+        cache.getOrLoad(3L, userId -> Map.of(1L, 4L, 2L, 0L));
+
+        // when
+        cache.advance(3L, 1L, 6L);
+        cache.advanceLocal(3L, 2L, 9L);
+
+        // then
+        assertEquals(Map.of(1L, 6L, 2L, 9L), cache.getOrLoad(3L, userId -> Map.of()));
+        assertEquals(List.of(new ReadCursorAdvancedEvent(3L, 1L, 6L)), events);
+    }
+
+    @Test
+    @DisplayName("ttl 이 지나거나 다른 서버에서 지우면 다시 읽는다.")
+    void testReloadAfterTtlAndInvalidation() {
+        // given
+        AtomicLong now = new AtomicLong();
+        ReadCursorCache cache = new ReadCursorCache(event -> { }, 1_000, 100, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, Map<Long, Long>> loader = userId -> {
+            loads.incrementAndGet();
+            return Map.of(1L, 4L);
+        };
+        cache.getOrLoad(3L, loader);
+
+        // when
+        now.set(999);
+        cache.getOrLoad(3L, loader);
+        now.set(1_000);
+        cache.getOrLoad(3L, loader);
+        cache.invalidateLocal(3L);
+        cache.getOrLoad(3L, loader);
+
+        // then
+        assertEquals(3, loads.get());
+    }
+}
@@ -0,0 +1,43 @@
+package com.bb3.bodybuddybe.chat.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SenderProfileCacheTest {
+
+    @Test
+    @DisplayName("프로필이 바뀌면 지우고 다른 서버에 알리며, 알림을 놓쳐도 ttl 이 지나면 다시 읽는다.")
+    void testEvictPublishesAndTtlReloads() {
+        // given
+        List<Object> events = new ArrayList<>();
+        AtomicLong now = new AtomicLong();
+        SenderProfileCache cache = new SenderProfileCache(events::add, 1_000, 100, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, SenderProfile> loader = userId -> {
+            loads.incrementAndGet();
+            return new SenderProfile(userId, "닉네임" + loads.get(), null);
+        };
+        cache.getOrLoad(3L, loader);
+
+        // when
+        cache.evict(3L);
+        cache.getOrLoad(3L, loader);
+        now.set(999);
+        cache.getOrLoad(3L, loader);
+        now.set(1_000);
+        SenderProfile reloaded = cache.getOrLoad(3L, loader);
+
+        // then
+        assertEquals(3, loads.get());
+        assertEquals("닉네임3", reloaded.nickname());
+        assertEquals(List.of(new SenderProfileChangedEvent(3L)), events);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bb3.bodybuddybe.chat.dedupe;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocalMessageDeduplicatorTest {
+
+    @Test
+    @DisplayName("기억하는 동안 같은 보낸 사람의 같은 id 는 걸러 내고, 두 구간이 지나면 잊는다.")
+    void testRemembersForWindow() {
+        // given
+        AtomicLong now = new AtomicLong();
+        LocalMessageDeduplicator deduplicator = new LocalMessageDeduplicator(1000, 100, now::get);
+
+        // when & then
+        assertTrue(deduplicator.firstSeen(1L, "a"));
+        assertFalse(deduplicator.firstSeen(1L, "a"));
+        assertTrue(deduplicator.firstSeen(2L, "a"));
+
+        now.set(1500);
+        assertFalse(deduplicator.firstSeen(1L, "a"));
+
+        now.set(2500);
+        assertTrue(deduplicator.firstSeen(1L, "a"));
+    }
+
+    @Test
+    @DisplayName("잊은 id 는 기억하는 동안이라도 다시 처음 보는 것으로 본다.")
+    void testForget() {
+        // given
+        AtomicLong now = new AtomicLong();
+        LocalMessageDeduplicator deduplicator = new LocalMessageDeduplicator(1000, 100, now::get);
+        deduplicator.firstSeen(1L, "a");
+        now.set(1500);
+        deduplicator.firstSeen(1L, "b");
+
+        // when
+        deduplicator.forget(1L, "a");
+        deduplicator.forget(1L, "b");
+
+        // then
+        assertTrue(deduplicator.firstSeen(1L, "a"));
+        assertTrue(deduplicator.firstSeen(1L, "b"));
+    }
+
+    @Test
+    @DisplayName("크기가 max-size 를 넘지 않도록 구간이 끝나기 전에도 가장 오래된 세대를 버린다.")
+    void testBoundedBySize() {
+        // given
+        LocalMessageDeduplicator deduplicator = new LocalMessageDeduplicator(60000, 4, () -> 0L);
+
+        // when
+        for (int i = 0; i < 6; i++) {
+            deduplicator.firstSeen(1L, "id-" + i);
+        }
+
+        // then
+        assertFalse(deduplicator.firstSeen(1L, "id-5"));
+        assertTrue(deduplicator.firstSeen(1L, "id-0"));
+    }
+}
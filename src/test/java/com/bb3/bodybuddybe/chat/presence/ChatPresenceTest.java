@@ -0,0 +1,64 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChatPresenceTest {
+
+    ChatPresence chatPresence = new ChatPresence(new LocalPresenceCounter());
+
+    @Test
+    @DisplayName("한 세션이 같은 채팅방을 여러 번 구독해도 한 번만 세고, 마지막 구독을 해제하면 뺀다.")
+    void testCountsSessionOncePerChat() {
+        // given
+        chatPresence.connect("s1");
+        chatPresence.connect("s2");
+
+        // when
+        chatPresence.subscribe("s1", "sub-0", 1L);
+        chatPresence.subscribe("s1", "sub-1", 1L);
+        chatPresence.subscribe("s2", "sub-0", 1L);
+        chatPresence.unsubscribe("s1", "sub-0");
+
+        // then
+        assertEquals(2, chatPresence.onlineCount(1L));
+        chatPresence.unsubscribe("s1", "sub-1");
+        assertEquals(1, chatPresence.onlineCount(1L));
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 세션이 구독한 모든 채팅방에서 뺀다.")
+    void testDisconnectReleasesAllChats() {
+        // given
+        chatPresence.connect("s1");
+        chatPresence.subscribe("s1", "sub-0", 1L);
+        chatPresence.subscribe("s1", "sub-1", 2L);
+        chatPresence.subscribe("s1", "sub-2", 2L);
+
+        // when
+        chatPresence.disconnect("s1");
+        chatPresence.disconnect("s1");
+
+        // then
+        assertEquals(0, chatPresence.onlineCount(1L));
+        assertEquals(0, chatPresence.onlineCount(2L));
+    }
+
+    @Test
+    @DisplayName("같은 구독 id 로 같은 채팅방을 다시 구독해도 두 번 세지 않는다.")
+    void testResubscribeSameChatCountsOnce() {
+        // given
+        chatPresence.connect("s1");
+        chatPresence.subscribe("s1", "sub-0", 1L);
+
+        // when
+        chatPresence.subscribe("s1", "sub-0", 1L);
+
+        // then
+        assertEquals(1, chatPresence.onlineCount(1L));
+        chatPresence.disconnect("s1");
+        assertEquals(0, chatPresence.onlineCount(1L));
+    }
+}
@@ -0,0 +1,69 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisPresenceCounterTest {
+
+    @InjectMocks
+    RedisPresenceCounter counter;
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    HashOperations<String, Object, Object> hashOperations;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("모든 서버 필드를 더한 값을 돌려주고, 순서가 뒤바뀌어 음수가 되면 0 으로 본다.")
+    @SuppressWarnings("unchecked")
+    void testCountSumsAllNodes() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:online:1")))).thenReturn(3L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:online:2")))).thenReturn(-1L);
+
+        // when
+        int count = counter.count(1L);
+
+        // then
+        assertEquals(3, count);
+        assertEquals(0, counter.count(2L));
+    }
+
+    @Test
+    @DisplayName("종료할 때 이 서버가 센 채팅방에서만 자기 필드를 지운다.")
+    @SuppressWarnings("unchecked")
+    void testClearRemovesOwnFields() {
+        // given
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        counter.add(1L, 1);
+        counter.add(2L, 1);
+        counter.add(2L, -1);
+
+        // when
+        counter.clear();
+
+        // then
+        verify(redisTemplate, times(3)).execute(any(RedisScript.class), anyList(), anyString(), anyString());
+        verify(hashOperations, times(1)).delete(eq("chat:online:1"), anyString());
+        verify(hashOperations, never()).delete(eq("chat:online:2"), anyString());
+    }
+}
@@ -0,0 +1,40 @@
+package com.bb3.bodybuddybe.chat.presence;
+
+import com.bb3.bodybuddybe.chat.broker.ChatBroadcaster;
+import com.bb3.bodybuddybe.chat.dto.TypingResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TypingCoalescerTest {
+
+    @Test
+    @DisplayName("한 구간 안의 입력 중 이벤트는 채팅방마다 한 번만, 사용자를 중복 없이 모아 전달한다.")
+    void testCoalescesPerChatPerWindow() {
+        // given
+        ChatBroadcaster chatBroadcaster = mock(ChatBroadcaster.class);
+        TypingCoalescer typingCoalescer = new TypingCoalescer(chatBroadcaster, 500);
+        for (int i = 0; i < 100; i++) {
+            typingCoalescer.record(1L, 3L);
+            typingCoalescer.record(1L, 4L);
+        }
+        typingCoalescer.record(2L, 5L);
+
+        // when
+        typingCoalescer.flush();
+        typingCoalescer.flush();
+
+        // then
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(chatBroadcaster, times(1)).broadcast(eq(1L), payload.capture());
+        assertEquals(Set.of(3L, 4L), Set.copyOf(((TypingResponseDto) payload.getValue()).getUserIds()));
+        verify(chatBroadcaster, times(2)).broadcast(any(), any());
+    }
+}
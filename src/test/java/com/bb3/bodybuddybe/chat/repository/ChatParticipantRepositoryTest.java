@@ -0,0 +1,84 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.bb3.bodybuddybe.common.config.JpaConfig;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest
+@Import({JpaConfig.class, ReadCursorBatchWriter.class})
+class ChatParticipantRepositoryTest {
+
+    @Autowired
+    ChatParticipantRepository chatParticipantRepository;
+
+    @Autowired
+    ReadCursorBatchWriter readCursorBatchWriter;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("읽음 위치를 batch 로 저장하되, 이미 더 뒤까지 읽은 위치는 되돌리지 않는다.")
+    void testUpdateReadCursors() {
+        // given
+        Gym gym = new Gym("place-read", "읽음 헬스장", "서울");
+        em.persist(gym);
+        User user = User.builder().email("reader@test.com").password("password").role(UserRoleEnum.USER).build();
+        em.persist(user);
+        Chat first = Chat.builder().chatType(ChatType.GROUP).name("첫 번째").gym(gym).build();
+        Chat second = Chat.builder().chatType(ChatType.GROUP).name("두 번째").gym(gym).build();
+        em.persist(first);
+        em.persist(second);
+        em.persist(new ChatParticipant(user, first, 3L));
+        em.persist(new ChatParticipant(user, second, 10L));
+        em.flush();
+
+        // when
+        readCursorBatchWriter.updateAll(List.of(
+                new ReadCursor(first.getId(), user.getId(), 8L),
+                new ReadCursor(second.getId(), user.getId(), 6L)));
+        em.clear();
+        List<ReadCursor> cursors = chatParticipantRepository.findReadCursorsByUserId(user.getId()).stream()
+                .sorted(Comparator.comparing(ReadCursor::chatId))
+                .toList();
+
+        // then
+        assertEquals(List.of(new ReadCursor(first.getId(), user.getId(), 8L),
+                new ReadCursor(second.getId(), user.getId(), 10L)), cursors);
+    }
+
+    @Test
+    @DisplayName("같은 사용자를 같은 채팅방에 두 번 넣을 수 없다.")
+    void testUniqueParticipant() {
+        // given
+        Gym gym = new Gym("place-unique", "유니크 헬스장", "서울");
+        em.persist(gym);
+        User user = User.builder().email("twice@test.com").password("password").role(UserRoleEnum.USER).build();
+        em.persist(user);
+        Chat chat = Chat.builder().chatType(ChatType.DIRECT).name("1:1").gym(gym).build();
+        em.persist(chat);
+        chatParticipantRepository.saveAndFlush(new ChatParticipant(user, chat));
+
+        // when & then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> chatParticipantRepository.saveAndFlush(new ChatParticipant(user, chat)));
+    }
+}
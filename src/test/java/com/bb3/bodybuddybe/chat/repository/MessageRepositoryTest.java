@@ -0,0 +1,177 @@
+package com.bb3.bodybuddybe.chat.repository;
+
+import com.bb3.bodybuddybe.chat.archive.ArchivedMessage;
+import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.Message;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.bb3.bodybuddybe.common.config.JpaConfig;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({JpaConfig.class, MessageBatchWriter.class, MessageArchiveRepository.class})
+class MessageRepositoryTest {
+
+    @Autowired
+    MessageRepository messageRepository;
+
+    @Autowired
+    MessageBatchWriter messageBatchWriter;
+
+    @Autowired
+    MessageArchiveRepository messageArchiveRepository;
+
+    @Autowired
+    EntityManager em;
+
+    @Test
+    @DisplayName("before 이전 메시지를 발신자 정보와 함께 한 번의 쿼리로 최신순 조회한다.")
+    void testFindPageByChatId() {
+        // given
+        Gym gym = new Gym("place-chat", "채팅 헬스장", "서울");
+        em.persist(gym);
+        Chat chat = Chat.builder().chatType(ChatType.GROUP).name("채팅방").gym(gym).build();
+        em.persist(chat);
+
+        List<Long> messageIds = new ArrayList<>();
+        List<Long> senderIds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            User sender = User.builder()
+                    .email("sender" + i + "@test.com")
+                    .password("password")
+                    .role(UserRoleEnum.USER)
+                    .build();
+            em.persist(sender);
+            Message message = Message.builder()
+                    .id(100L + i)
+                    .content("메시지 " + i)
+                    .sender(sender)
+                    .chat(chat)
+                    .seq(i + 1L)
+                    .sentAt(LocalDateTime.now())
+                    .build();
+            em.persist(message);
+            messageIds.add(message.getId());
+            senderIds.add(sender.getId());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<MessageResponseDto> page = messageRepository.findPageByChatId(chat.getId(), messageIds.get(7), PageRequest.of(0, 3));
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(messageIds.get(6), messageIds.get(5), messageIds.get(4)),
+                page.stream().map(MessageResponseDto::getId).toList());
+        assertEquals("메시지 6", page.get(0).getContent());
+        assertEquals(senderIds.get(6), page.get(0).getSender().getId());
+    }
+
+    @Test
+    @DisplayName("대기 중인 메시지를 batch 로 저장하면 페이지 조회에서 id 순으로 보인다.")
+    void testInsertAll() {
+        // given
+        Gym gym = new Gym("place-batch", "배치 헬스장", "서울");
+        em.persist(gym);
+        Chat chat = Chat.builder().chatType(ChatType.GROUP).name("채팅방").gym(gym).build();
+        em.persist(chat);
+        User sender = User.builder().email("batch@test.com").password("password").role(UserRoleEnum.USER).build();
+        em.persist(sender);
+        em.flush();
+
+        LocalDateTime sentAt = LocalDateTime.of(2023, 9, 1, 12, 0);
+        List<PendingMessage> messages = List.of(
+                new PendingMessage(1001L, chat.getId(), 1L, sender.getId(), "첫 번째", sentAt),
+                new PendingMessage(1002L, chat.getId(), 2L, sender.getId(), "두 번째", sentAt),
+                new PendingMessage(1003L, chat.getId(), 3L, sender.getId(), "세 번째", sentAt));
+
+        // when
+        messageBatchWriter.insertAll(messages);
+        List<MessageResponseDto> page = messageRepository.findPageByChatId(chat.getId(), Long.MAX_VALUE, PageRequest.of(0, 10));
+
+        // then
+        assertEquals(List.of(1003L, 1002L, 1001L), page.stream().map(MessageResponseDto::getId).toList());
+        assertEquals(sentAt, page.get(0).getSentAt());
+    }
+
+    @Test
+    @DisplayName("since 이후 메시지만 순번 순으로 조회하고, 마지막 순번을 구한다.")
+    void testFindSinceByChatId() {
+        // given
+        Gym gym = new Gym("place-since", "순번 헬스장", "서울");
+        em.persist(gym);
+        Chat chat = Chat.builder().chatType(ChatType.GROUP).name("채팅방").gym(gym).build();
+        em.persist(chat);
+        User sender = User.builder().email("since@test.com").password("password").role(UserRoleEnum.USER).build();
+        em.persist(sender);
+        em.flush();
+
+        LocalDateTime sentAt = LocalDateTime.of(2023, 9, 1, 12, 0);
+        List<PendingMessage> messages = new ArrayList<>();
+        for (long seq = 1; seq <= 5; seq++) {
+            messages.add(new PendingMessage(2000L + seq, chat.getId(), seq, sender.getId(), "메시지 " + seq, sentAt));
+        }
+        messageBatchWriter.insertAll(messages);
+
+        // when
+        List<MessageResponseDto> delta = messageRepository.findSinceByChatId(chat.getId(), 2L, PageRequest.of(0, 2));
+
+        // then
+        assertEquals(List.of(3L, 4L), delta.stream().map(MessageResponseDto::getSeq).toList());
+        assertEquals(5L, messageRepository.findLastSeqByChatId(chat.getId()));
+        assertEquals(0L, messageRepository.findLastSeqByChatId(-1L));
+    }
+
+    @Test
+    @DisplayName("보관할 메시지는 순번 순으로 읽다가 id 가 기준 이상인 메시지에서 멈춰, 순번으로 지워도 보관하지 않은 메시지가 지워지지 않는다.")
+    void testFindArchivableStopsAtCutoff() {
+        // given
+        Gym gym = new Gym("place-archive", "보관 헬스장", "서울");
+        em.persist(gym);
+        Chat chat = Chat.builder().chatType(ChatType.GROUP).name("채팅방").gym(gym).build();
+        em.persist(chat);
+        User sender = User.builder().email("archive@test.com").password("password").role(UserRoleEnum.USER).build();
+        em.persist(sender);
+        em.flush();
+
+        // 서버마다 시계가 달라 순번 3 의 id 가 순번 4 보다 크다.
+        LocalDateTime sentAt = LocalDateTime.of(2023, 9, 1, 12, 0);
+        messageBatchWriter.insertAll(List.of(
+                new PendingMessage(3001L, chat.getId(), 1L, sender.getId(), "메시지 1", sentAt),
+                new PendingMessage(3002L, chat.getId(), 2L, sender.getId(), "메시지 2", sentAt),
+                new PendingMessage(3100L, chat.getId(), 3L, sender.getId(), "메시지 3", sentAt),
+                new PendingMessage(3003L, chat.getId(), 4L, sender.getId(), "메시지 4", sentAt),
+                new PendingMessage(3101L, chat.getId(), 5L, sender.getId(), "메시지 5", sentAt)));
+
+        // when
+        List<ArchivedMessage> archivable = messageArchiveRepository.findArchivable(chat.getId(), 0L, 5L, 3050L, 10);
+        messageArchiveRepository.deleteUpTo(chat.getId(), archivable.get(archivable.size() - 1).seq());
+
+        // then
+        assertEquals(List.of(1L, 2L), archivable.stream().map(ArchivedMessage::seq).toList());
+        assertEquals(List.of(3L, 4L), messageRepository.findSinceByChatId(chat.getId(), 0L, PageRequest.of(0, 2))
+                .stream().map(MessageResponseDto::getSeq).toList());
+    }
+}
@@ -0,0 +1,122 @@
+package com.bb3.bodybuddybe.chat.search;
+
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChatSearchIndexTest {
+
+    private static final LocalDateTime SENT_AT = LocalDateTime.of(2023, 9, 1, 12, 0);
+
+    MessageRepository messageRepository;
+    MessageArchive messageArchive;
+    ChatSearchIndex chatSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        messageRepository = mock(MessageRepository.class);
+        messageArchive = mock(MessageArchive.class);
+        chatSearchIndex = new ChatSearchIndex(messageRepository, messageArchive, 10, 1_000, 10_000, 5_000, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("처음 검색할 때 채팅방 메시지로 색인을 만들고, 이후 저장된 메시지는 DB 를 다시 읽지 않고 더한다.")
+    void testBuildsOnceThenIndexesIncrementally() {
+        // given
+        when(messageRepository.findSinceByChatId(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(response(1, "오늘 하체 운동 같이 해요"), response(2, "저녁에 상체 운동")));
+        chatSearchIndex.candidates(1L, BigramTokenizer.queryTerms(List.of("운동")), Long.MAX_VALUE);
+
+        // when
+        chatSearchIndex.indexAll(List.of(new PendingMessage(10L, 1L, 3L, 5L, "하체 운동 끝!", SENT_AT)));
+        long[] candidates = chatSearchIndex.candidates(1L, BigramTokenizer.queryTerms(List.of("하체")), Long.MAX_VALUE);
+
+        // then
+        assertArrayEquals(new long[]{3L, 1L}, candidates);
+        verify(messageRepository, times(1)).findSinceByChatId(eq(1L), eq(0L), any());
+        verify(messageRepository, times(1)).findSinceByChatId(eq(1L), eq(3L), any());
+    }
+
+    @Test
+    @DisplayName("모든 bigram 을 포함한 메시지만 before 보다 작은 순번으로 최신순 반환하고, 빠진 순번은 검색할 때 채운다.")
+    void testCandidatesIntersectAndCatchUp() {
+        // given
+        when(messageRepository.findSinceByChatId(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(response(1, "스쿼트 100kg"), response(2, "벤치프레스"), response(3, "스쿼트 자세")));
+        chatSearchIndex.candidates(1L, BigramTokenizer.queryTerms(List.of("스쿼트")), Long.MAX_VALUE);
+        // 다른 서버에서 저장된 4번은 이 서버의 색인에 들어오지 않았다.
+        chatSearchIndex.indexAll(List.of(new PendingMessage(50L, 1L, 5L, 5L, "스쿼트 랙 비었어요", SENT_AT)));
+        when(messageRepository.findSinceByChatId(eq(1L), eq(3L), any()))
+                .thenReturn(List.of(response(4, "스쿼트 랙 어디?"), response(5, "스쿼트 랙 비었어요")));
+
+        // when
+        long[] candidates = chatSearchIndex.candidates(1L, BigramTokenizer.queryTerms(List.of("스쿼트", "랙")), 5L);
+
+        // then
+        assertArrayEquals(new long[]{4L, 3L, 1L}, candidates);
+    }
+
+    @Test
+    @DisplayName("메시지가 많은 채팅방은 색인 스레드에서 만들고, 다 만들 때까지 검색을 거절한다.")
+    void testBuildsLargeChatOffRequestThread() {
+        // given
+        List<Runnable> indexer = new ArrayList<>();
+        ChatSearchIndex index = new ChatSearchIndex(messageRepository, messageArchive, 10, 1_000, 10_000, 5_000, indexer::add);
+        when(messageRepository.findLastSeqByChatId(1L)).thenReturn(6_000L);
+        when(messageRepository.findSinceByChatId(eq(1L), eq(0L), any()))
+                .thenReturn(List.of(response(1, "하체 운동")));
+        Set<String> terms = BigramTokenizer.queryTerms(List.of("하체"));
+
+        // when
+        CustomException building = assertThrows(CustomException.class, () -> index.candidates(1L, terms, Long.MAX_VALUE));
+        verify(messageRepository, never()).findSinceByChatId(eq(1L), eq(0L), any());
+        indexer.forEach(Runnable::run);
+
+        // then
+        assertEquals(ErrorCode.SEARCH_INDEX_BUILDING, building.getErrorCode());
+        assertArrayEquals(new long[]{1L}, index.candidates(1L, terms, Long.MAX_VALUE));
+    }
+
+    @Test
+    @DisplayName("한 채팅방의 posting 이 한도를 넘으면 색인을 버리고, 전체 한도를 넘으면 다른 채팅방 색인을 지운다.")
+    void testPostingBudgets() {
+        // given
+        ChatSearchIndex index = new ChatSearchIndex(messageRepository, messageArchive, 10, 2, 3, 5_000, Runnable::run);
+        when(messageRepository.findSinceByChatId(eq(1L), eq(0L), any())).thenReturn(List.of(response(1, "하체 운동")));
+        when(messageRepository.findSinceByChatId(eq(2L), eq(0L), any())).thenReturn(List.of(response(1, "상체 운동")));
+        when(messageRepository.findSinceByChatId(eq(3L), eq(0L), any())).thenReturn(List.of(response(1, "오늘 하체 운동")));
+        Set<String> terms = BigramTokenizer.queryTerms(List.of("운동"));
+
+        // when
+        index.candidates(1L, terms, Long.MAX_VALUE);
+        index.candidates(2L, terms, Long.MAX_VALUE);
+        index.candidates(1L, terms, Long.MAX_VALUE);
+        CustomException tooLarge = assertThrows(CustomException.class, () -> index.candidates(3L, terms, Long.MAX_VALUE));
+
+        // then
+        verify(messageRepository, times(2)).findSinceByChatId(eq(1L), eq(0L), any());
+        assertEquals(ErrorCode.SEARCH_INDEX_TOO_LARGE, tooLarge.getErrorCode());
+    }
+
+    private static MessageResponseDto response(long seq, String content) {
+        return new MessageResponseDto(seq * 10, seq, content, SENT_AT, 5L, "buddy", null);
+    }
+}
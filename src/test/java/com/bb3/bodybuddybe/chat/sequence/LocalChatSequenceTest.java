@@ -0,0 +1,71 @@
+package com.bb3.bodybuddybe.chat.sequence;
+
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class LocalChatSequenceTest {
+
+    @Test
+    @DisplayName("DB 에 저장된 마지막 순번에서 이어서 발급하고, 채팅방마다 따로 센다.")
+    void testContinuesFromLastSeq() {
+        // given
+        MessageRepository messageRepository = mock(MessageRepository.class);
+        when(messageRepository.findLastSeqByChatId(1L)).thenReturn(41L);
+        when(messageRepository.findLastSeqByChatId(2L)).thenReturn(0L);
+        LocalChatSequence sequence = new LocalChatSequence(messageRepository);
+
+        // when & then
+        assertEquals(42L, sequence.next(1L));
+        assertEquals(43L, sequence.next(1L));
+        assertEquals(1L, sequence.next(2L));
+        verify(messageRepository, times(1)).findLastSeqByChatId(1L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 보내도 순번이 겹치거나 건너뛰지 않는다.")
+    void testConcurrentNextIsGapless() throws InterruptedException {
+        // given
+        MessageRepository messageRepository = mock(MessageRepository.class);
+        LocalChatSequence sequence = new LocalChatSequence(messageRepository);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 1_000; j++) {
+                    issued.add(sequence.next(1L));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(8_000, issued.size());
+        assertTrue(issued.contains(1L));
+        assertTrue(issued.contains(8_000L));
+    }
+
+    @Test
+    @DisplayName("여러 서버가 메시지를 중계하는 모드에서는 서버마다 따로 세는 순번으로 띄우지 않는다.")
+    void testRejectsRedisRelay() {
+        // given
+        MessageRepository messageRepository = mock(MessageRepository.class);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> new LocalChatSequence(messageRepository, "redis"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bb3.bodybuddybe.chat.sequence;
+
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RedisChatSequenceTest {
+
+    @InjectMocks
+    RedisChatSequence sequence;
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    MessageRepository messageRepository;
+
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("카운터가 있으면 INCR 한 값을 쓰고 DB 는 읽지 않는다.")
+    @SuppressWarnings("unchecked")
+    void testNextIncrementsExistingCounter() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:seq:1")))).thenReturn(42L);
+
+        // when
+        long seq = sequence.next(1L);
+
+        // then
+        assertEquals(42L, seq);
+        verify(messageRepository, never()).findLastSeqByChatId(anyLong());
+    }
+
+    @Test
+    @DisplayName("카운터가 없으면 DB 의 마지막 순번으로 초기화한 뒤 이어서 발급한다.")
+    @SuppressWarnings("unchecked")
+    void testNextInitializesFromLastSeq() {
+        // given
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:seq:1")))).thenReturn(-1L);
+        when(messageRepository.findLastSeqByChatId(1L)).thenReturn(41L);
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("chat:seq:1")), eq("41"))).thenReturn(42L);
+
+        // when
+        long seq = sequence.next(1L);
+
+        // then
+        assertEquals(42L, seq);
+        verify(messageRepository, times(1)).findLastSeqByChatId(1L);
+    }
+
+    @Test
+    @DisplayName("현재 순번은 한 번에 읽고, 카운터가 없는 채팅방만 DB 에서 읽는다.")
+    void testCurrentFallsBackToDbForMissingCounters() {
+        // given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("chat:seq:1", "chat:seq:2"))).thenReturn(Arrays.asList("7", null));
+        when(messageRepository.findLastSeqByChatId(2L)).thenReturn(3L);
+
+        // when
+        long[] seqs = sequence.current(List.of(1L, 2L));
+
+        // then
+        assertArrayEquals(new long[]{7L, 3L}, seqs);
+        verify(messageRepository, never()).findLastSeqByChatId(1L);
+    }
+}
@@ -0,0 +1,215 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.archive.LocalSegmentStore;
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.presence.ChatPresence;
+import com.bb3.bodybuddybe.chat.presence.LocalPresenceCounter;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.dto.ChatSummaryResponseDto;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.entity.ChatParticipant;
+import com.bb3.bodybuddybe.chat.entity.Message;
+import com.bb3.bodybuddybe.chat.enums.ChatType;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.sequence.LocalChatSequence;
+import com.bb3.bodybuddybe.common.config.JpaConfig;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.gym.entity.UserGym;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({JpaConfig.class, ChatService.class, ChatSummaryService.class, ChatMembershipCache.class,
+        ReadCursorCache.class, LocalChatSequence.class, DirectChatCreator.class, MessageArchive.class,
+        LocalSegmentStore.class, ChatSearchIndex.class, ChatPresence.class,
+        LocalPresenceCounter.class})
+class ChatServiceQueryCountTest {
+
+    private static final int PARTICIPANTS = 6;
+    private static final int MESSAGES = 20;
+
+    @Autowired
+    ChatService chatService;
+
+    @Autowired
+    ChatSummaryService chatSummaryService;
+
+    @Autowired
+    ChatParticipantRepository chatParticipantRepository;
+
+    @Autowired
+    EntityManager em;
+
+    long nextMessageId = 1;
+
+    @Test
+    @DisplayName("채팅방 목록은 채팅방과 메시지 수에 관계없이 한 번의 쿼리로 요약을 조회한다.")
+    void testGetAllChatsInGym_singleQuery() {
+        // given
+        Gym gym = new Gym("place-chat", "채팅 헬스장", "서울");
+        em.persist(gym);
+        List<User> users = createUsers();
+        for (int i = 0; i < 5; i++) {
+            createChat(gym, users, "채팅방 " + i);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<ChatSummaryResponseDto> chats = chatService.getAllChatsInGym(gym.getId());
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, chats.size());
+
+        ChatSummaryResponseDto chat = chats.get(0);
+        assertEquals(PARTICIPANTS, chat.getParticipantCount());
+        assertEquals(users.subList(0, 4).stream().map(User::getId).toList(), chat.getAvatarUserIds());
+        assertEquals("메시지 " + (MESSAGES - 1), chat.getLastMessageSnippet());
+    }
+
+    @Test
+    @DisplayName("참여한 채팅방 목록도 한 번의 쿼리로 요약을 조회한다.")
+    void testGetMyChatsInGym_singleQuery() {
+        // given
+        Gym gym = new Gym("place-my-chat", "내 채팅 헬스장", "서울");
+        em.persist(gym);
+        List<User> users = createUsers();
+        createChat(gym, users, "참여한 채팅방");
+        createChat(gym, users.subList(1, users.size()), "참여하지 않은 채팅방");
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        List<ChatSummaryResponseDto> chats = chatService.getMyChatsInGym(gym.getId(), users.get(0));
+
+        // then
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, chats.size());
+        assertEquals("참여한 채팅방", chats.get(0).getName());
+    }
+
+    @Test
+    @DisplayName("이미 있는 1:1 채팅방은 참여 여부를 캐시로 확인해 회원 검증과 direct_key 인덱스 조회만 한다.")
+    void testGetOrCreateDirectChat_existingChatQueries() {
+        // given
+        Gym gym = new Gym("place-direct", "1:1 헬스장", "서울");
+        em.persist(gym);
+        List<User> users = createUsers();
+        User user = users.get(3);
+        User other = users.get(1);
+        em.persist(new UserGym(user, gym));
+        Chat chat = createDirectChat(gym, user, other);
+        em.persist(new ChatParticipant(user, chat));
+        em.persist(new ChatParticipant(other, chat));
+        em.flush();
+        em.clear();
+        chatService.getOrCreateDirectChat(gym.getId(), user, other.getId());
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(gym.getId(), user, other.getId());
+
+        // then
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(chat.getId(), chatId);
+    }
+
+    @Test
+    @DisplayName("1:1 채팅방에서 나간 사람은 같은 채팅방에 다시 참여자로 들어간다.")
+    void testGetOrCreateDirectChat_rejoinAfterLeave() {
+        // given
+        Gym gym = new Gym("place-direct-rejoin", "1:1 헬스장", "서울");
+        em.persist(gym);
+        List<User> users = createUsers();
+        User user = users.get(3);
+        User other = users.get(1);
+        em.persist(new UserGym(user, gym));
+        Chat chat = createDirectChat(gym, user, other);
+        em.persist(new ChatParticipant(other, chat));
+        em.flush();
+        em.clear();
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(gym.getId(), user, other.getId());
+
+        // then
+        assertEquals(chat.getId(), chatId);
+        assertEquals(2, chatParticipantRepository.countByChatId(chatId));
+    }
+
+    private Chat createDirectChat(Gym gym, User user, User other) {
+        Chat chat = Chat.builder()
+                .chatType(ChatType.DIRECT)
+                .name("1:1 채팅")
+                .gym(gym)
+                .directKey(Chat.directKey(gym.getId(), other.getId(), user.getId()))
+                .build();
+        em.persist(chat);
+        return chat;
+    }
+
+    private List<User> createUsers() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            User user = User.builder()
+                    .email("chat-user" + i + "-" + System.nanoTime() + "@test.com")
+                    .password("password")
+                    .role(UserRoleEnum.USER)
+                    .build();
+            em.persist(user);
+            users.add(user);
+        }
+        return users;
+    }
+
+    private void createChat(Gym gym, List<User> participants, String name) {
+        Chat chat = Chat.builder().chatType(ChatType.GROUP).name(name).gym(gym).build();
+        em.persist(chat);
+        for (User participant : participants) {
+            em.persist(new ChatParticipant(participant, chat));
+        }
+        chatSummaryService.refreshParticipants(chat.getId());
+
+        for (int i = 0; i < MESSAGES; i++) {
+            User sender = participants.get(i % participants.size());
+            PendingMessage message = new PendingMessage(nextMessageId++, chat.getId(), i + 1, sender.getId(),
+                    "메시지 " + i, LocalDateTime.now());
+            em.persist(Message.builder()
+                    .id(message.id())
+                    .content(message.content())
+                    .sender(sender)
+                    .chat(chat)
+                    .seq(message.seq())
+                    .sentAt(message.sentAt())
+                    .build());
+            chatSummaryService.recordMessage(message);
+        }
+    }
+}
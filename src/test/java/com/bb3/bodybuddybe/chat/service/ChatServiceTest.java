@@ -0,0 +1,166 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.entity.Chat;
+import com.bb3.bodybuddybe.chat.repository.ChatRepository;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.gym.repository.GymRepository;
+import com.bb3.bodybuddybe.gym.repository.UserGymRepository;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ChatServiceTest {
+
+    @InjectMocks
+    private ChatService chatService;
+
+    @Mock
+    private ChatRepository chatRepository;
+
+    @Mock
+    private GymRepository gymRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserGymRepository userGymRepository;
+
+    @Mock
+    private DirectChatCreator directChatCreator;
+
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+    }
+
+    @Test
+    @DisplayName("direct_key 는 두 사용자의 순서와 관계없이 같고, 이미 있는 1:1 채팅방은 새로 만들지 않고 반환한다.")
+    void testGetOrCreateDirectChat_existing() {
+        // given
+        assertEquals("1:3:7", Chat.directKey(1L, 7L, 3L));
+        assertEquals(Chat.directKey(1L, 3L, 7L), Chat.directKey(1L, 7L, 3L));
+        Gym gym = mock(Gym.class);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(mock(User.class)));
+        when(gymRepository.findById(1L)).thenReturn(Optional.of(gym));
+        when(userGymRepository.existsByUserAndGym(user, gym)).thenReturn(true);
+        when(chatRepository.findIdByDirectKey("1:3:7")).thenReturn(Optional.of(42L));
+        when(chatMembershipCache.contains(eq(42L), anyLong(), any())).thenReturn(true);
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(1L, user, 3L);
+
+        // then
+        assertEquals(42L, chatId);
+        verifyNoInteractions(directChatCreator);
+    }
+
+    @Test
+    @DisplayName("이미 있는 1:1 채팅방에서 한쪽이 나갔으면 다시 참여자로 넣는다.")
+    void testGetOrCreateDirectChat_rejoin() {
+        // given
+        User other = mock(User.class);
+        Gym gym = mock(Gym.class);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(other));
+        when(gymRepository.findById(1L)).thenReturn(Optional.of(gym));
+        when(userGymRepository.existsByUserAndGym(user, gym)).thenReturn(true);
+        when(chatRepository.findIdByDirectKey("1:3:7")).thenReturn(Optional.of(42L));
+        when(chatMembershipCache.contains(eq(42L), eq(7L), any())).thenReturn(false);
+        when(chatMembershipCache.contains(eq(42L), eq(3L), any())).thenReturn(true);
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(1L, user, 3L);
+
+        // then
+        assertEquals(42L, chatId);
+        verify(directChatCreator).rejoin(42L, user, other);
+        verify(directChatCreator, never()).create(any(Gym.class), any(User.class), any(User.class), anyString());
+    }
+
+    @Test
+    @DisplayName("동시에 다시 넣은 요청이 먼저 커밋되어 유니크 인덱스에 걸리면 한 번 더 확인한다.")
+    void testGetOrCreateDirectChat_concurrentRejoin() {
+        // given
+        User other = mock(User.class);
+        Gym gym = mock(Gym.class);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(other));
+        when(gymRepository.findById(1L)).thenReturn(Optional.of(gym));
+        when(userGymRepository.existsByUserAndGym(user, gym)).thenReturn(true);
+        when(chatRepository.findIdByDirectKey("1:3:7")).thenReturn(Optional.of(42L));
+        when(chatMembershipCache.contains(eq(42L), eq(7L), any())).thenReturn(false);
+        doThrow(new DataIntegrityViolationException("uk_chat_participant_chat_id_user_id"))
+                .doNothing()
+                .when(directChatCreator).rejoin(42L, user, other);
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(1L, user, 3L);
+
+        // then
+        assertEquals(42L, chatId);
+        verify(directChatCreator, times(2)).rejoin(42L, user, other);
+    }
+
+    @Test
+    @DisplayName("헬스장 회원이 아니면 이미 있는 1:1 채팅방도 반환하지 않는다.")
+    void testGetOrCreateDirectChat_notMyGym() {
+        // given
+        Gym gym = mock(Gym.class);
+        when(userRepository.findById(3L)).thenReturn(Optional.of(mock(User.class)));
+        when(gymRepository.findById(1L)).thenReturn(Optional.of(gym));
+        when(userGymRepository.existsByUserAndGym(user, gym)).thenReturn(false);
+
+        // when & then
+        CustomException exception = assertThrows(CustomException.class,
+                () -> chatService.getOrCreateDirectChat(1L, user, 3L));
+        assertEquals(ErrorCode.NOT_MY_GYM, exception.getErrorCode());
+        verifyNoInteractions(chatRepository, directChatCreator);
+    }
+
+    @Test
+    @DisplayName("동시에 만든 1:1 채팅방이 먼저 커밋되었으면 그 채팅방을 반환한다.")
+    void testGetOrCreateDirectChat_concurrentCreate() {
+        // given
+        User other = mock(User.class);
+        Gym gym = mock(Gym.class);
+        when(chatRepository.findIdByDirectKey("1:3:7")).thenReturn(Optional.empty()).thenReturn(Optional.of(42L));
+        when(userRepository.findById(3L)).thenReturn(Optional.of(other));
+        when(gymRepository.findById(1L)).thenReturn(Optional.of(gym));
+        when(userGymRepository.existsByUserAndGym(user, gym)).thenReturn(true);
+        when(directChatCreator.create(any(Gym.class), any(User.class), any(User.class), anyString()))
+                .thenThrow(new DataIntegrityViolationException("uk_chat_direct_key"));
+
+        // when
+        Long chatId = chatService.getOrCreateDirectChat(1L, user, 3L);
+
+        // then
+        assertEquals(42L, chatId);
+        verify(chatRepository, times(2)).findIdByDirectKey("1:3:7");
+    }
+}
@@ -0,0 +1,242 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.archive.ArchivedMessage;
+import com.bb3.bodybuddybe.chat.archive.MessageArchive;
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.cache.SenderProfileCache;
+import com.bb3.bodybuddybe.chat.dedupe.LocalMessageDeduplicator;
+import com.bb3.bodybuddybe.chat.dto.MessageRequestDto;
+import com.bb3.bodybuddybe.chat.dto.MessageResponseDto;
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.repository.MessageRepository;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import com.bb3.bodybuddybe.common.exception.ErrorCode;
+import com.bb3.bodybuddybe.common.util.SnowflakeIdGenerator;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class MessageServiceTest {
+
+    @InjectMocks
+    private MessageService messageService;
+
+    @Mock
+    private ChatService chatService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @Mock
+    private MessageWriteBehindQueue messageWriteBehindQueue;
+
+    @Mock
+    private SnowflakeIdGenerator idGenerator;
+
+    @Mock
+    private ChatSequence chatSequence;
+
+    @Mock
+    private MessageArchive messageArchive;
+
+    @Mock
+    private ChatSearchIndex chatSearchIndex;
+
+    @Mock
+    private ReadCursorWriteBehind readCursorWriteBehind;
+
+    @Spy
+    private ReadCursorCache readCursorCache = new ReadCursorCache(event -> { }, 60_000, 100);
+
+    @Spy
+    private ChatMembershipCache chatMembershipCache = new ChatMembershipCache(event -> { }, 60_000, 10_000, 0);
+
+    @Spy
+    private SenderProfileCache senderProfileCache = new SenderProfileCache(event -> { }, 300_000, 100);
+
+    @Spy
+    private LocalMessageDeduplicator messageDeduplicator = new LocalMessageDeduplicator(300, 100);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        User sender = mock(User.class);
+        when(sender.getId()).thenReturn(3L);
+        when(sender.getNickname()).thenReturn("buddy");
+        when(userRepository.findById(3L)).thenReturn(Optional.of(sender));
+        when(chatService.findMemberIds(1L)).thenReturn(new long[]{3L, 4L});
+    }
+
+    @Test
+    @DisplayName("참여 여부와 보낸 사람을 캐시에서 확인한 뒤에는 메시지를 보낼 때 DB 를 읽지 않는다.")
+    void testSteadyStateSendMakesNoReads() {
+        // given
+        messageService.sendMessage(1L, request(3L, "first"));
+        clearInvocations(chatService, userRepository);
+
+        // when
+        MessageResponseDto response = messageService.sendMessage(1L, request(3L, "second"));
+
+        // then
+        assertEquals("second", response.getContent());
+        assertEquals("buddy", response.getSender().getNickname());
+        verifyNoInteractions(chatService, userRepository);
+        verify(messageWriteBehindQueue, times(2)).enqueue(any(PendingMessage.class));
+    }
+
+    @Test
+    @DisplayName("메시지를 보내면 보낸 사람의 읽음 위치를 그 메시지 순번으로 옮긴다.")
+    void testSendAdvancesSenderReadCursor() {
+        // given
+        readCursorCache.getOrLoad(3L, userId -> Map.of(1L, 4L));
+        when(chatSequence.next(1L)).thenReturn(5L);
+
+        // when
+        messageService.sendMessage(1L, request(3L, "hello"));
+
+        // then
+        assertEquals(5L, readCursorCache.getOrLoad(3L, userId -> Map.of()).get(1L));
+        verify(readCursorWriteBehind).record(3L, 1L, 5L);
+    }
+
+    @Test
+    @DisplayName("같은 clientMessageId 로 다시 보낸 메시지는 저장하지 않는다.")
+    void testRetriedSendIsDeduplicated() {
+        // given
+        MessageRequestDto requestDto = request(3L, "hello");
+        requestDto.setClientMessageId("c-1");
+        messageService.sendMessage(1L, requestDto);
+
+        // when
+        MessageResponseDto retried = messageService.sendMessage(1L, requestDto);
+
+        // then
+        assertNull(retried);
+        verify(messageWriteBehindQueue, times(1)).enqueue(any(PendingMessage.class));
+        verify(chatSequence, times(1)).next(1L);
+    }
+
+    @Test
+    @DisplayName("보내다 실패한 메시지는 같은 clientMessageId 로 다시 보내면 저장한다.")
+    void testRetryAfterFailedSendIsNotDeduplicated() {
+        // given
+        MessageRequestDto requestDto = request(3L, "hello");
+        requestDto.setClientMessageId("c-2");
+        doThrow(new IllegalStateException("queue full")).doNothing()
+                .when(messageWriteBehindQueue).enqueue(any(PendingMessage.class));
+        assertThrows(IllegalStateException.class, () -> messageService.sendMessage(1L, requestDto));
+
+        // when
+        MessageResponseDto retried = messageService.sendMessage(1L, requestDto);
+
+        // then
+        assertEquals("hello", retried.getContent());
+        verify(messageWriteBehindQueue, times(2)).enqueue(any(PendingMessage.class));
+    }
+
+    @Test
+    @DisplayName("채팅방 참여자가 아니면 메시지를 보낼 수 없다.")
+    void testNonMemberCannotSend() {
+        // given
+        User stranger = mock(User.class);
+        when(stranger.getId()).thenReturn(9L);
+        when(userRepository.findById(9L)).thenReturn(Optional.of(stranger));
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> messageService.sendMessage(1L, request(9L, "hello")));
+
+        // then
+        assertEquals(ErrorCode.USER_CHAT_NOT_FOUND, exception.getErrorCode());
+        verifyNoInteractions(messageWriteBehindQueue);
+    }
+
+    @Test
+    @DisplayName("message 테이블의 메시지가 모자라면 보관된 메시지를 이어 붙여 오래된 순으로 반환한다.")
+    void testPastMessagesContinueIntoArchive() {
+        // given
+        User reader = mock(User.class);
+        when(reader.getId()).thenReturn(3L);
+        LocalDateTime sentAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+        when(messageRepository.findPageByChatId(eq(1L), eq(Long.MAX_VALUE), any()))
+                .thenReturn(List.of(new MessageResponseDto(300L, 3L, "hot", sentAt, 3L, "buddy", null)));
+        when(messageArchive.findBefore(1L, 300L, 2))
+                .thenReturn(List.of(new ArchivedMessage(200L, 2L, 3L, "old", sentAt),
+                        new ArchivedMessage(100L, 1L, 3L, "older", sentAt)));
+
+        // when
+        List<MessageResponseDto> messages = messageService.getPastMessages(1L, reader, null, 3);
+
+        // then
+        assertEquals(List.of(1L, 2L, 3L), messages.stream().map(MessageResponseDto::getSeq).toList());
+        assertEquals("buddy", messages.get(0).getSender().getNickname());
+        verify(messageArchive, never()).findSince(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("검색 후보 중 본문에 검색어가 실제로 있는 메시지만 최신순으로 반환한다.")
+    void testSearchVerifiesCandidates() {
+        // given
+        User reader = mock(User.class);
+        when(reader.getId()).thenReturn(3L);
+        LocalDateTime sentAt = LocalDateTime.of(2023, 1, 1, 0, 0);
+        when(chatSearchIndex.candidates(eq(1L), any(), eq(Long.MAX_VALUE))).thenReturn(new long[]{5L, 4L, 2L});
+        when(messageRepository.findByChatIdAndSeqIn(1L, List.of(5L, 4L, 2L))).thenReturn(List.of(
+                new MessageResponseDto(50L, 5L, "데드 리프트", sentAt, 3L, "buddy", null),
+                new MessageResponseDto(40L, 4L, "오늘 데드리프트 몇 kg?", sentAt, 3L, "buddy", null),
+                new MessageResponseDto(20L, 2L, "데드리프트 자세 봐주세요", sentAt, 3L, "buddy", null)));
+
+        // when
+        List<MessageResponseDto> messages = messageService.searchMessages(1L, reader, "데드리프트", null, 20);
+
+        // then
+        assertEquals(List.of(4L, 2L), messages.stream().map(MessageResponseDto::getSeq).toList());
+    }
+
+    @Test
+    @DisplayName("검색어에 두 글자 이상인 단어가 없으면 검색하지 않는다.")
+    void testSearchRejectsShortQuery() {
+        // given
+        User reader = mock(User.class);
+        when(reader.getId()).thenReturn(3L);
+
+        // when
+        CustomException exception = assertThrows(CustomException.class,
+                () -> messageService.searchMessages(1L, reader, "밥 ?", null, 20));
+
+        // then
+        assertEquals(ErrorCode.SEARCH_QUERY_TOO_SHORT, exception.getErrorCode());
+        verifyNoInteractions(chatSearchIndex);
+    }
+
+    private static MessageRequestDto request(Long senderId, String content) {
+        MessageRequestDto requestDto = new MessageRequestDto();
+        requestDto.setSenderId(senderId);
+        requestDto.setContent(content);
+        return requestDto;
+    }
+}
@@ -0,0 +1,123 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.dto.PendingMessage;
+import com.bb3.bodybuddybe.chat.repository.MessageBatchWriter;
+import com.bb3.bodybuddybe.chat.search.ChatSearchIndex;
+import com.bb3.bodybuddybe.common.exception.CustomException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MessageWriteBehindQueueTest {
+
+    @Test
+    @DisplayName("종료 시 큐에 남은 메시지를 batch 크기 단위로 모두 저장한다.")
+    void testShutdownFlushesPendingMessages() throws InterruptedException {
+        // given
+        List<Long> saved = Collections.synchronizedList(new ArrayList<>());
+        List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+        MessageBatchWriter writer = mock(MessageBatchWriter.class);
+        doAnswer(invocation -> {
+            List<PendingMessage> batch = invocation.getArgument(0);
+            batchSizes.add(batch.size());
+            batch.forEach(message -> saved.add(message.id()));
+            return null;
+        }).when(writer).insertAll(anyList());
+        ChatSummaryService chatSummaryService = mock(ChatSummaryService.class);
+
+        MessageWriteBehindQueue queue = new MessageWriteBehindQueue(writer, chatSummaryService, mock(ChatSearchIndex.class), 1_000, 50, 1, 10, 1_000, 1_000,
+                new SimpleMeterRegistry());
+        queue.start();
+
+        // when
+        for (long id = 1; id <= 500; id++) {
+            queue.enqueue(message(id, id % 2));
+        }
+        queue.shutdown();
+
+        // then
+        assertEquals(500, saved.size());
+        assertEquals(500, saved.stream().distinct().count());
+        batchSizes.forEach(size -> assertTrue(size <= 50));
+        verify(chatSummaryService, atLeastOnce()).recordMessage(any(PendingMessage.class));
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 보낸 스레드에서 바로 저장하고, batch 저장이 실패하면 한 건씩 다시 저장한다.")
+    void testEnqueueWhenFull() {
+        // given
+        MessageBatchWriter writer = mock(MessageBatchWriter.class);
+        doThrow(new DataIntegrityViolationException("duplicate"))
+                .doNothing()
+                .when(writer).insertAll(anyList());
+        MessageWriteBehindQueue queue = new MessageWriteBehindQueue(writer, mock(ChatSummaryService.class), mock(ChatSearchIndex.class), 1, 10, 1, 10, 1_000, 1_000,
+                new SimpleMeterRegistry());
+
+        // when (drainer 를 시작하지 않았으므로 바로 저장된다.)
+        queue.enqueue(message(1, 1));
+
+        // then
+        verify(writer, times(2)).insertAll(List.of(message(1, 1)));
+    }
+
+    @Test
+    @DisplayName("일시적인 DB 오류는 저장될 때까지 다시 시도하고, 제약 조건 위반인 메시지만 버리고 요약에서 뺀다.")
+    void testRetryTransientFailureAndDropConstraintViolation() {
+        // given
+        MessageBatchWriter writer = mock(MessageBatchWriter.class);
+        ChatSummaryService chatSummaryService = mock(ChatSummaryService.class);
+        PendingMessage stored = message(1, 1);
+        PendingMessage rejected = message(2, 1);
+        doThrow(new DataAccessResourceFailureException("failover"))
+                .doThrow(new DataAccessResourceFailureException("failover"))
+                .doThrow(new DataIntegrityViolationException("constraint"))
+                .when(writer).insertAll(List.of(stored, rejected));
+        doThrow(new DataIntegrityViolationException("constraint")).when(writer).insertAll(List.of(rejected));
+        MessageWriteBehindQueue queue = new MessageWriteBehindQueue(writer, chatSummaryService, mock(ChatSearchIndex.class), 1, 10, 1, 10, 1_000, 1_000,
+                new SimpleMeterRegistry());
+
+        // when
+        ReflectionTestUtils.invokeMethod(queue, "write", List.of(stored, rejected));
+
+        // then
+        verify(writer, times(3)).insertAll(List.of(stored, rejected));
+        verify(writer).insertAll(List.of(stored));
+        verify(chatSummaryService).recordMessage(stored);
+        verify(chatSummaryService, never()).recordMessage(rejected);
+    }
+
+    @Test
+    @DisplayName("보낸 스레드에서 저장할 때는 caller-timeout-ms 까지만 다시 시도하고, 저장하지 못하면 전송을 거절한다.")
+    void testEnqueueGivesUpAfterCallerTimeout() {
+        // given
+        MessageBatchWriter writer = mock(MessageBatchWriter.class);
+        doThrow(new DataAccessResourceFailureException("down")).when(writer).insertAll(anyList());
+        ChatSummaryService chatSummaryService = mock(ChatSummaryService.class);
+        MessageWriteBehindQueue queue = new MessageWriteBehindQueue(writer, chatSummaryService, mock(ChatSearchIndex.class), 1, 10, 1, 10, 1_000, 50,
+                new SimpleMeterRegistry());
+
+        // when & then (drainer 를 시작하지 않았으므로 보낸 스레드에서 저장한다.)
+        assertThrows(CustomException.class, () -> queue.enqueue(message(1, 1)));
+        verify(writer, atLeast(2)).insertAll(List.of(message(1, 1)));
+        verify(chatSummaryService, never()).recordMessage(any(PendingMessage.class));
+    }
+
+    private PendingMessage message(long id, long chatId) {
+        return new PendingMessage(id, chatId, id, 1L, "메시지 " + id, LocalDateTime.of(2023, 9, 1, 12, 0));
+    }
+}
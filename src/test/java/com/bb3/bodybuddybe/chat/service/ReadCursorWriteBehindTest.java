@@ -0,0 +1,69 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import com.bb3.bodybuddybe.chat.repository.ReadCursorBatchWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReadCursorWriteBehindTest {
+
+    @Test
+    @DisplayName("같은 채팅방의 읽음 위치는 가장 뒤의 값 하나로 합쳐 한 번의 batch 로 저장한다.")
+    void testFlushCoalescesCursors() {
+        // given
+        List<List<ReadCursor>> batches = Collections.synchronizedList(new ArrayList<>());
+        ReadCursorBatchWriter writer = mock(ReadCursorBatchWriter.class);
+        doAnswer(invocation -> batches.add(new ArrayList<>(invocation.getArgument(0))))
+                .when(writer).updateAll(anyList());
+        ReadCursorWriteBehind writeBehind = new ReadCursorWriteBehind(writer, 60_000, 500, new SimpleMeterRegistry());
+
+        // when
+        for (long seq = 1; seq <= 100; seq++) {
+            writeBehind.record(1L, 10L, seq);
+            writeBehind.record(2L, 10L, seq / 2);
+        }
+        writeBehind.record(1L, 10L, 30L);
+        writeBehind.record(1L, 20L, 5L);
+        writeBehind.flush();
+
+        // then
+        assertEquals(1, batches.size());
+        List<ReadCursor> batch = new ArrayList<>(batches.get(0));
+        batch.sort(Comparator.comparing(ReadCursor::userId).thenComparing(ReadCursor::chatId));
+        assertEquals(List.of(new ReadCursor(10L, 1L, 100L), new ReadCursor(20L, 1L, 5L), new ReadCursor(10L, 2L, 50L)),
+                batch);
+        assertTrue(writeBehind.pendingOf(1L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("종료 시 아직 저장하지 않은 읽음 위치를 모두 저장하고, 저장 전에는 사용자별로 조회할 수 있다.")
+    void testShutdownFlushesPendingCursors() throws InterruptedException {
+        // given
+        ReadCursorBatchWriter writer = mock(ReadCursorBatchWriter.class);
+        ReadCursorWriteBehind writeBehind = new ReadCursorWriteBehind(writer, 60_000, 2, new SimpleMeterRegistry());
+        writeBehind.start();
+        for (long chatId = 1; chatId <= 3; chatId++) {
+            writeBehind.record(7L, chatId, chatId * 10);
+        }
+        assertEquals(Map.of(1L, 10L, 2L, 20L, 3L, 30L), writeBehind.pendingOf(7L));
+
+        // when
+        writeBehind.shutdown();
+
+        // then
+        verify(writer, times(2)).updateAll(anyList());
+        assertTrue(writeBehind.pendingOf(7L).isEmpty());
+    }
+}
@@ -0,0 +1,99 @@
+package com.bb3.bodybuddybe.chat.service;
+
+import com.bb3.bodybuddybe.chat.cache.ChatMembershipCache;
+import com.bb3.bodybuddybe.chat.cache.ReadCursorCache;
+import com.bb3.bodybuddybe.chat.dto.ReadCursor;
+import com.bb3.bodybuddybe.chat.dto.UnreadCountResponseDto;
+import com.bb3.bodybuddybe.chat.repository.ChatParticipantRepository;
+import com.bb3.bodybuddybe.chat.sequence.ChatSequence;
+import com.bb3.bodybuddybe.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReadStateServiceTest {
+
+    @InjectMocks
+    private ReadStateService readStateService;
+
+    @Mock
+    private ChatService chatService;
+
+    @Mock
+    private ChatParticipantRepository chatParticipantRepository;
+
+    @Mock
+    private ReadCursorWriteBehind readCursorWriteBehind;
+
+    @Mock
+    private ChatSequence chatSequence;
+
+    @Spy
+    private ChatMembershipCache chatMembershipCache = new ChatMembershipCache(event -> { }, 60_000, 10_000, 0);
+
+    @Spy
+    private ReadCursorCache readCursorCache = new ReadCursorCache(event -> { }, 60_000, 100);
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = mock(User.class);
+        when(user.getId()).thenReturn(3L);
+        when(chatParticipantRepository.findReadCursorsByUserId(3L)).thenReturn(List.of(
+                new ReadCursor(1L, 3L, 5L), new ReadCursor(2L, 3L, 0L)));
+        when(chatService.findMemberIds(1L)).thenReturn(new long[]{3L});
+        when(chatSequence.current(1L)).thenReturn(12L);
+        when(chatSequence.current(anyList())).thenAnswer(invocation -> {
+            List<Long> chatIds = invocation.getArgument(0);
+            return chatIds.stream().mapToLong(chatId -> chatId == 1L ? 12L : 4L).toArray();
+        });
+    }
+
+    @Test
+    @DisplayName("읽음 위치를 옮기면 DB 를 다시 읽지 않고 안 읽은 메시지 수에 바로 반영한다.")
+    void testMarkReadUpdatesUnreadCounts() {
+        // given
+        readStateService.getUnreadCounts(user);
+
+        // when
+        readStateService.markRead(1L, user, 9L);
+        List<UnreadCountResponseDto> unreadCounts = readStateService.getUnreadCounts(user).stream()
+                .sorted(Comparator.comparing(UnreadCountResponseDto::getChatId))
+                .toList();
+
+        // then
+        assertEquals(List.of(3L, 4L), unreadCounts.stream().map(UnreadCountResponseDto::getUnreadCount).toList());
+        verify(readCursorWriteBehind).record(3L, 1L, 9L);
+        verify(chatParticipantRepository, times(1)).findReadCursorsByUserId(3L);
+    }
+
+    @Test
+    @DisplayName("마지막 순번보다 큰 값은 마지막 순번으로 맞추고, 뒤로 가는 읽음 위치는 무시한다.")
+    void testMarkReadClampsAndIgnoresBackwardCursor() {
+        // when
+        readStateService.markRead(1L, user, 100L);
+        readStateService.markRead(1L, user, 7L);
+
+        // then
+        verify(readCursorWriteBehind).record(3L, 1L, 12L);
+        verify(readCursorWriteBehind, times(1)).record(anyLong(), anyLong(), anyLong());
+        assertEquals(0L, readStateService.getUnreadCounts(user).stream()
+                .filter(unreadCount -> unreadCount.getChatId() == 1L)
+                .findFirst().orElseThrow().getUnreadCount());
+    }
+}
@@ -0,0 +1,41 @@
+package com.bb3.bodybuddybe.common.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    @DisplayName("발급한 id 는 계속 증가하고 노드 id 를 포함한다.")
+    void testNextId() {
+        // given
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5);
+
+        // when & then
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertEquals(5, (id >>> 12) & 0x3FF);
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("범위를 벗어난 노드 id 는 허용하지 않는다.")
+    void testInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    @Test
+    @DisplayName("여러 서버로 띄울 때 노드 id 를 정하지 않으면 시작하지 않는다.")
+    void testNodeIdRequiredWithRedisRelay() {
+        assertThrows(IllegalStateException.class, () -> new SnowflakeIdGenerator("", "redis"));
+        assertEquals(0, (new SnowflakeIdGenerator("", "local").nextId() >>> 12) & 0x3FF);
+        assertEquals(7, (new SnowflakeIdGenerator("7", "redis").nextId() >>> 12) & 0x3FF);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatchRankerTest {
+
+    private static final MatchScorer SCORER = (user, other) ->
+            Long.bitCount(user & other & MatchingProfile.GOALS_MASK) * 3
+                    + (MatchingProfile.sameField(user, other, MatchingProfile.INTENSITY_MASK) ? 5 : 0);
+
+    @Test
+    @DisplayName("병렬 경로와 순차 경로는 같은 상위 k 명을 고른다.")
+    void testSelectTop_parallelMatchesSequential() {
+        // given
+        GymMatchingIndex index = randomIndex(20_000);
+        SimpleMeterRegistry sequentialRegistry = new SimpleMeterRegistry();
+        SimpleMeterRegistry parallelRegistry = new SimpleMeterRegistry();
+        MatchRanker sequential = new MatchRanker(Integer.MAX_VALUE, 1, sequentialRegistry);
+        MatchRanker parallel = new MatchRanker(1_000, 4, parallelRegistry);
+
+        // when
+        long[] expected = sequential.selectTop(index, 7, 50, Long.MAX_VALUE, SCORER).toSortedDescending();
+        long[] actual = parallel.selectTop(index, 7, 50, Long.MAX_VALUE, SCORER).toSortedDescending();
+
+        // then
+        assertArrayEquals(expected, actual);
+        assertEquals(1.0, sequentialRegistry.counter("matching.scoring", "path", "sequential").count());
+        assertEquals(1.0, parallelRegistry.counter("matching.scoring", "path", "parallel").count());
+
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Test
+    @DisplayName("후보 비트맵이 주어지면 목표나 시간대가 겹치는 멤버만 점수를 계산한다.")
+    void testSelectTop_candidates() {
+        // given
+        GymMatchingIndex index = randomIndex(5_000);
+        int userSlot = 3;
+        long userProfile = index.profileAt(userSlot);
+        long[] candidates = index.candidatesSharingGoalOrTime(userProfile);
+        MatchRanker sequential = new MatchRanker(Integer.MAX_VALUE, 1, new SimpleMeterRegistry());
+        MatchRanker parallel = new MatchRanker(100, 4, new SimpleMeterRegistry());
+
+        // when
+        long[] sequentialKeys = sequential.selectTop(index, userSlot, 5_000, Long.MAX_VALUE, candidates, SCORER)
+                .toSortedDescending();
+        long[] parallelKeys = parallel.selectTop(index, userSlot, 5_000, Long.MAX_VALUE, candidates, SCORER)
+                .toSortedDescending();
+
+        // then
+        int expectedCount = 0;
+        for (int slot = 0; slot < index.size(); slot++) {
+            long other = index.profileAt(slot);
+            boolean sharesGoal = MatchingProfile.sharedGoalCount(userProfile, other) > 0;
+            boolean sameTime = MatchingProfile.sameField(userProfile, other, MatchingProfile.EXERCISE_TIME_MASK);
+            if (slot != userSlot && (sharesGoal || sameTime)) {
+                expectedCount++;
+            }
+        }
+        assertEquals(expectedCount, sequentialKeys.length);
+        assertArrayEquals(sequentialKeys, parallelKeys);
+
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    private GymMatchingIndex randomIndex(int size) {
+        Random random = new Random(42);
+        long[] userIds = new long[size];
+        long[] profiles = new long[size];
+        for (int i = 0; i < size; i++) {
+            userIds[i] = i + 1;
+            profiles[i] = ((long) random.nextInt(64) << MatchingProfile.GOALS_SHIFT)
+                    | ((long) random.nextInt(3) << MatchingProfile.INTENSITY_SHIFT)
+                    | ((long) random.nextInt(4) << MatchingProfile.EXERCISE_TIME_SHIFT);
+        }
+        return GymMatchingIndex.of(userIds, profiles);
+    }
+}
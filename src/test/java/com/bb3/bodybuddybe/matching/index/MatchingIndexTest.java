@@ -0,0 +1,71 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MatchingIndexTest {
+
+    @Test
+    @DisplayName("멤버 변경은 로드된 인덱스에 반영하고 다른 서버에 알리며, 다른 서버의 알림이나 ttl 이 지나면 다시 만든다.")
+    void testChangesInvalidationAndTtl() {
+        // given
+        List<Object> events = new ArrayList<>();
+        AtomicLong now = new AtomicLong();
+        MatchingIndex matchingIndex = new MatchingIndex(events::add, 1000, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, GymMatchingIndex> loader = gymId -> {
+            loads.incrementAndGet();
+            return GymMatchingIndex.of(new long[]{1L, 2L}, new long[]{0L, 0L});
+        };
+        matchingIndex.getOrLoad(10L, loader);
+
+        // when
+        matchingIndex.upsertMember(10L, 3L, 0L);
+        matchingIndex.removeMember(10L, 1L);
+
+        // then
+        assertEquals(2, matchingIndex.getOrLoad(10L, loader).size());
+        assertEquals(-1, matchingIndex.getOrLoad(10L, loader).slotOf(1L));
+        assertEquals(1, loads.get());
+        assertEquals(List.of(new MatchingIndexChangedEvent(10L), new MatchingIndexChangedEvent(10L)), events);
+
+        matchingIndex.invalidateLocal(10L);
+        matchingIndex.getOrLoad(10L, loader);
+        assertEquals(2, loads.get());
+
+        now.set(1000);
+        matchingIndex.getOrLoad(10L, loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    @DisplayName("인덱스를 만드는 동안 멤버가 바뀌면 만든 인덱스를 캐시하지 않고 다음 조회에서 다시 만든다.")
+    void testChangeDuringLoadIsNotCached() {
+        // given
+        MatchingIndex matchingIndex = new MatchingIndex(event -> { }, 60_000, () -> 0L);
+        AtomicInteger loads = new AtomicInteger();
+        Function<Long, GymMatchingIndex> loader = gymId -> {
+            if (loads.incrementAndGet() == 1) {
+                // loader 가 맵을 건드려도 compute 안이 아니므로 재귀 갱신 오류가 나지 않는다.
+                matchingIndex.invalidateLocal(gymId);
+            }
+            return GymMatchingIndex.of(new long[]{1L}, new long[]{0L});
+        };
+
+        // when
+        matchingIndex.getOrLoad(10L, loader);
+        matchingIndex.getOrLoad(10L, loader);
+        matchingIndex.getOrLoad(10L, loader);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,98 @@
+package com.bb3.bodybuddybe.matching.index;
+
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import com.bb3.bodybuddybe.matching.scoring.ReciprocalMatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.WeightTableMatchScorer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PairScoreMatrixTest {
+
+    private static final MatchScorer SCORER = new ReciprocalMatchScorer(new WeightTableMatchScorer(MatchingWeights.DEFAULT));
+
+    @Test
+    @DisplayName("행렬은 두 멤버의 상호 점수를 순서와 관계없이 반환한다.")
+    void testScore() {
+        // given
+        long[] profiles = randomProfiles(new Random(3), 200);
+
+        // when
+        PairScoreMatrix matrix = PairScoreMatrix.build(profiles, SCORER);
+
+        // then
+        assertPairScores(matrix, profiles);
+    }
+
+    @Test
+    @DisplayName("최대 상호 점수는 가중치에서 계산하며, short 에 들어가지 않는 가중치는 받지 않는다.")
+    void testMaxScoreFitsInShort() {
+        // given
+        long profile = MatchingProfile.PREFER_SAME_GENDER | MatchingProfile.PREFER_SAME_AGE_RANGE
+                | (0b111111L << MatchingProfile.GOALS_SHIFT);
+
+        // when & then
+        assertEquals(126, SCORER.score(profile, profile));
+        assertEquals(126, 2 * MatchingWeights.DEFAULT.maxScore());
+        PairScoreMatrix.validateWeights(MatchingWeights.DEFAULT);
+        assertThrows(IllegalArgumentException.class,
+                () -> PairScoreMatrix.validateWeights(new MatchingWeights(10_000, 10_000, 0, 0, 0, 0)));
+    }
+
+    @Test
+    @DisplayName("멤버가 추가되거나 변경되면 인덱스의 행렬도 해당 멤버의 점수만 다시 계산해 유지한다.")
+    void testPairScores_afterMemberChange() {
+        // given
+        Random random = new Random(5);
+        long[] profiles = randomProfiles(random, 100);
+        long[] userIds = new long[profiles.length];
+        for (int i = 0; i < userIds.length; i++) {
+            userIds[i] = i + 1;
+        }
+        GymMatchingIndex index = GymMatchingIndex.of(userIds, profiles);
+        index.pairScores(SCORER);
+
+        // when
+        GymMatchingIndex changed = index
+                .withMember(50, randomProfiles(random, 1)[0])
+                .withMember(1_000, randomProfiles(random, 1)[0]);
+
+        // then
+        long[] changedProfiles = new long[changed.size()];
+        for (int slot = 0; slot < changed.size(); slot++) {
+            changedProfiles[slot] = changed.profileAt(slot);
+        }
+        assertPairScores(changed.pairScores(SCORER), changedProfiles);
+    }
+
+    private void assertPairScores(PairScoreMatrix matrix, long[] profiles) {
+        assertEquals(profiles.length, matrix.size());
+        for (int a = 0; a < profiles.length; a++) {
+            for (int b = 0; b < profiles.length; b++) {
+                if (a != b) {
+                    assertEquals(SCORER.score(profiles[a], profiles[b]), matrix.score(a, b));
+                }
+            }
+        }
+    }
+
+    private long[] randomProfiles(Random random, int size) {
+        long[] profiles = new long[size];
+        for (int i = 0; i < size; i++) {
+            profiles[i] = ((long) random.nextInt(3) << MatchingProfile.GENDER_SHIFT)
+                    | ((long) random.nextInt(7) << MatchingProfile.AGE_RANGE_SHIFT)
+                    | ((long) random.nextInt(3) << MatchingProfile.EXPERIENCE_SHIFT)
+                    | ((long) random.nextInt(3) << MatchingProfile.INTENSITY_SHIFT)
+                    | ((long) random.nextInt(4) << MatchingProfile.EXERCISE_TIME_SHIFT)
+                    | ((long) random.nextInt(64) << MatchingProfile.GOALS_SHIFT)
+                    | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_GENDER : 0)
+                    | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_AGE_RANGE : 0);
+        }
+        return profiles;
+    }
+}
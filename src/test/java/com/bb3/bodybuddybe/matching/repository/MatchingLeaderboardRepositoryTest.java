@@ -0,0 +1,97 @@
+package com.bb3.bodybuddybe.matching.repository;
+
+import com.bb3.bodybuddybe.matching.index.MatchKey;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.Invocation;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MatchingLeaderboardRepositoryTest {
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    ZSetOperations<String, String> zSetOperations;
+
+    MatchingLeaderboardRepository leaderboardRepository;
+
+    @BeforeEach
+    public void setup() {
+        MockitoAnnotations.openMocks(this);
+        leaderboardRepository = new MatchingLeaderboardRepository(redisTemplate, MatchingWeights.DEFAULT);
+        ReflectionTestUtils.setField(leaderboardRepository, "scriptBatchSize", 2);
+    }
+
+    @Test
+    @DisplayName("owner 가 많으면 스크립트를 배치 크기씩 나눠 실행한다.")
+    void testUpsertMemberInBatches() {
+        // given
+        long[] owners = {1L, 2L, 3L, 4L, 5L};
+        long[] matchKeys = new long[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            matchKeys[i] = MatchKey.of(10, 9L);
+        }
+
+        // when
+        leaderboardRepository.upsertMember(7L, 9L, owners, matchKeys);
+        leaderboardRepository.removeMember(7L, 9L, owners);
+
+        // then
+        List<Integer> batchSizes = scriptKeyCounts();
+        assertEquals(List.of(2, 2, 1, 2, 2, 1), batchSizes);
+    }
+
+    @Test
+    @DisplayName("순위를 바꿀 때는 임시 키에 나눠 채우고 TTL 을 건 뒤 RENAME 으로 한 번에 바꾼다.")
+    void testReplaceSwapsStagingKey() {
+        // given
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        long[] matchKeys = {MatchKey.of(18, 3L), MatchKey.of(15, 2L), MatchKey.of(9, 4L)};
+
+        // when
+        leaderboardRepository.replace(7L, 1L, matchKeys);
+
+        // then
+        ArgumentCaptor<String> staging = ArgumentCaptor.forClass(String.class);
+        verify(zSetOperations, times(2)).add(staging.capture(), anySet());
+        String key = "matching:board:{7}:" + MatchingWeights.DEFAULT.fingerprint() + ":1";
+        assertTrue(staging.getValue().startsWith(key + ":staging:"));
+        verify(redisTemplate).expire(eq(staging.getValue()), any(Duration.class));
+        verify(redisTemplate).rename(staging.getValue(), key);
+        verify(redisTemplate, never()).delete(key);
+    }
+
+    @Test
+    @DisplayName("2^32 이상인 사용자 id 는 순위 점수로 인코딩하지 않는다.")
+    void testRejectsUserIdOutOfRange() {
+        // given
+        long[] matchKeys = {MatchKey.of(10, 1L << 32)};
+
+        // when & then
+        assertThrows(IllegalArgumentException.class,
+                () -> leaderboardRepository.replace(7L, 1L, matchKeys));
+    }
+
+    private List<Integer> scriptKeyCounts() {
+        return mockingDetails(redisTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("execute"))
+                .map(Invocation::getArguments)
+                .map(arguments -> ((List<?>) arguments[1]).size())
+                .toList();
+    }
+}
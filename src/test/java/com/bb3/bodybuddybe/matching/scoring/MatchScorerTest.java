@@ -0,0 +1,65 @@
+package com.bb3.bodybuddybe.matching.scoring;
+
+import com.bb3.bodybuddybe.matching.index.MatchingProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MatchScorerTest {
+
+    @Test
+    @DisplayName("점수표 구현은 조건문 구현과 같은 점수를 계산한다.")
+    void testWeightTableMatchesConditional() {
+        // given
+        MatchingWeights weights = new MatchingWeights(17, 9, 4, 6, 2, 7);
+        MatchScorer expected = new ConditionalMatchScorer(weights);
+        MatchScorer actual = new WeightTableMatchScorer(weights);
+        Random random = new Random(7);
+
+        // when & then
+        for (int i = 0; i < 100_000; i++) {
+            long user = randomProfile(random);
+            long other = randomProfile(random);
+            assertEquals(expected.score(user, other), actual.score(user, other));
+        }
+    }
+
+    @Test
+    @DisplayName("음수 가중치는 받지 않는다.")
+    void testRejectsNegativeWeights() {
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> new MatchingWeights(20, 10, 5, -1, 5, 3));
+    }
+
+    @Test
+    @DisplayName("같은 성별/나이대를 선호하지 않으면 해당 가중치를 더하지 않는다.")
+    void testPreferenceFlags() {
+        // given
+        MatchScorer scorer = new WeightTableMatchScorer(MatchingWeights.DEFAULT);
+        long profile = (1L << MatchingProfile.GENDER_SHIFT) | (2L << MatchingProfile.AGE_RANGE_SHIFT);
+
+        // when
+        int withoutPreference = scorer.score(profile, profile);
+        int withPreference = scorer.score(profile | MatchingProfile.PREFER_SAME_GENDER
+                | MatchingProfile.PREFER_SAME_AGE_RANGE, profile);
+
+        // then
+        assertEquals(15, withoutPreference); // 경력 + 강도 + 시간대
+        assertEquals(45, withPreference);
+    }
+
+    private long randomProfile(Random random) {
+        return ((long) random.nextInt(3) << MatchingProfile.GENDER_SHIFT)
+                | ((long) random.nextInt(7) << MatchingProfile.AGE_RANGE_SHIFT)
+                | ((long) random.nextInt(3) << MatchingProfile.EXPERIENCE_SHIFT)
+                | ((long) random.nextInt(3) << MatchingProfile.INTENSITY_SHIFT)
+                | ((long) random.nextInt(4) << MatchingProfile.EXERCISE_TIME_SHIFT)
+                | ((long) random.nextInt(64) << MatchingProfile.GOALS_SHIFT)
+                | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_GENDER : 0)
+                | (random.nextBoolean() ? MatchingProfile.PREFER_SAME_AGE_RANGE : 0);
+    }
+}
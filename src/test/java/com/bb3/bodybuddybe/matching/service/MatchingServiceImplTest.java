@@ -8,12 +8,21 @@ import com.bb3.bodybuddybe.gym.repository.UserGymRepository;
 import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaResponseDto;
 import com.bb3.bodybuddybe.matching.dto.CriteriaUpdateRequestDto;
+import com.bb3.bodybuddybe.matching.dto.MatchingPageResponseDto;
 import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
 import com.bb3.bodybuddybe.matching.enums.*;
+import com.bb3.bodybuddybe.matching.index.MatchKey;
+import com.bb3.bodybuddybe.matching.index.MatchRanker;
+import com.bb3.bodybuddybe.matching.index.MatchingIndex;
 import com.bb3.bodybuddybe.matching.repository.MatchingCriteriaRepository;
+import com.bb3.bodybuddybe.matching.repository.MatchingLeaderboardRepository;
+import com.bb3.bodybuddybe.matching.scoring.MatchScorer;
+import com.bb3.bodybuddybe.matching.scoring.MatchingWeights;
+import com.bb3.bodybuddybe.matching.scoring.WeightTableMatchScorer;
 import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
 import com.bb3.bodybuddybe.user.entity.User;
 import com.bb3.bodybuddybe.user.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +30,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -42,6 +54,18 @@ class MatchingServiceImplTest {
     @Mock
     MatchingCriteriaRepository matchingCriteriaRepository;
 
+    @Spy
+    MatchingIndex matchingIndex = new MatchingIndex(event -> { }, 300_000);
+
+    @Mock
+    MatchingLeaderboardRepository leaderboardRepository;
+
+    @Spy
+    MatchRanker matchRanker = new MatchRanker(10000, 1, new SimpleMeterRegistry());
+
+    @Spy
+    MatchScorer matchScorer = new WeightTableMatchScorer(MatchingWeights.DEFAULT);
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
@@ -189,10 +213,9 @@ class MatchingServiceImplTest {
                 .exerciseTime(ExerciseTimeEnum.NIGHT) // +5
                 .build());
 
-        when(matchingCriteriaRepository.findByUser(user)).thenReturn(Optional.of(userCriteria));
-        when(matchingCriteriaRepository.findByUser(other1)).thenReturn(Optional.of(other1Criteria));
-        when(matchingCriteriaRepository.findByUser(other2)).thenReturn(Optional.of(other2Criteria));
-        when(matchingCriteriaRepository.findByUser(other3)).thenReturn(Optional.of(other3Criteria));
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(
+                List.of(userCriteria, other1Criteria, other2Criteria, other3Criteria));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(user, other1, other2, other3));
 
         // when
         List<ProfileResponseDto> matchingUsers = matchingService.getMatchingUsers(gymId, user);
@@ -206,6 +229,269 @@ class MatchingServiceImplTest {
         assertEquals(other3.getId(), matchingUsers.get(2).getId()); // score: 18
     }
 
+    @Test
+    @DisplayName("매칭 점수는 인덱스에서 계산하므로 반복 조회 시 매칭 기준을 다시 조회하지 않는다.")
+    void testGetMatchingUsers_usesIndex() {
+        // given
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        User other = mock(User.class);
+        when(other.getId()).thenReturn(2L);
+
+        CriteriaCreateRequestDto requestDto = CriteriaCreateRequestDto.builder()
+                .preferSameGender(false)
+                .preferSameAgeRange(false)
+                .goals(Set.of(GoalEnum.MUSCLE_GAIN))
+                .experience(ExperienceEnum.BEGINNER)
+                .intensity(IntensityEnum.LOW)
+                .exerciseTime(ExerciseTimeEnum.MORNING)
+                .build();
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(new UserGym(user, gym), new UserGym(other, gym)));
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(
+                List.of(new MatchingCriteria(user, requestDto), new MatchingCriteria(other, requestDto)));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other));
+
+        // when
+        matchingService.getMatchingUsers(gymId, user);
+        List<ProfileResponseDto> matchingUsers = matchingService.getMatchingUsers(gymId, user);
+
+        // then
+        verify(userGymRepository, times(1)).findAllByGymId(gymId);
+        verify(matchingCriteriaRepository, times(1)).findAllByGymId(gymId);
+        verify(matchingCriteriaRepository, never()).findByUser(any(User.class));
+        assertEquals(1, matchingUsers.size());
+        assertEquals(other.getId(), matchingUsers.get(0).getId());
+    }
+
+    @Test
+    @DisplayName("매칭 유저를 커서 기반으로 페이지 단위 조회한다.")
+    void testGetMatchingUsersPage() {
+        // given
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mockUser(1L);
+        User other1 = mockUser(2L);
+        User other2 = mockUser(3L);
+        User other3 = mockUser(4L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                new UserGym(user, gym),
+                new UserGym(other1, gym),
+                new UserGym(other2, gym),
+                new UserGym(other3, gym)
+        ));
+
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION, GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH),
+                criteria(other1, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH), // 5 + 5 + 5 + 3
+                criteria(other2, Set.of(GoalEnum.FAT_REDUCTION, GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH), // 5 + 5 + 5 + 6
+                criteria(other3, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH) // 5 + 5 + 5 + 3
+        ));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other1, other2, other3));
+
+        // when
+        MatchingPageResponseDto firstPage = matchingService.getMatchingUsersPage(gymId, user, 2, null, false, false);
+        MatchingPageResponseDto secondPage = matchingService.getMatchingUsersPage(gymId, user, 2, firstPage.getNextCursor(), false, false);
+
+        // then
+        assertEquals(2, firstPage.getUsers().size());
+        assertEquals(other2.getId(), firstPage.getUsers().get(0).getId()); // score: 21
+        assertEquals(other1.getId(), firstPage.getUsers().get(1).getId()); // score: 18, 동점이면 id 오름차순
+        assertNotNull(firstPage.getNextCursor());
+
+        assertEquals(1, secondPage.getUsers().size());
+        assertEquals(other3.getId(), secondPage.getUsers().get(0).getId()); // score: 18
+        assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("strict 모드에서는 운동 목표나 운동 시간대가 겹치는 유저만 조회한다.")
+    void testGetMatchingUsersPage_strict() {
+        // given
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mockUser(1L);
+        User other1 = mockUser(2L);
+        User other2 = mockUser(3L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                new UserGym(user, gym),
+                new UserGym(other1, gym),
+                new UserGym(other2, gym)
+        ));
+        MatchingCriteria otherTimeCriteria = new MatchingCriteria(other1, CriteriaCreateRequestDto.builder()
+                .preferSameGender(false)
+                .preferSameAgeRange(false)
+                .goals(Set.of(GoalEnum.BODY_PROFILE))
+                .experience(ExperienceEnum.BEGINNER)
+                .intensity(IntensityEnum.HIGH)
+                .exerciseTime(ExerciseTimeEnum.NIGHT)
+                .build());
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH),
+                otherTimeCriteria, // 목표, 시간대 모두 다름
+                criteria(other2, Set.of(GoalEnum.MUSCLE_GAIN), IntensityEnum.LOW) // 시간대 같음
+        ));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other2));
+
+        // when
+        MatchingPageResponseDto page = matchingService.getMatchingUsersPage(gymId, user, 20, null, true, false);
+
+        // then
+        assertEquals(1, page.getUsers().size());
+        assertEquals(other2.getId(), page.getUsers().get(0).getId());
+        verify(userRepository).findAllById(List.of(other2.getId()));
+    }
+
+    @Test
+    @DisplayName("reciprocal 모드에서는 상대방의 선호까지 반영한 상호 점수로 조회한다.")
+    void testGetMatchingUsersPage_reciprocal() {
+        // given
+        ReflectionTestUtils.setField(matchingService, "leaderboardEnabled", true);
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mockUser(1L);
+        User other1 = mockUser(2L);
+        User other2 = mockUser(3L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                new UserGym(user, gym),
+                new UserGym(other1, gym),
+                new UserGym(other2, gym)
+        ));
+        MatchingCriteria sameGenderCriteria = new MatchingCriteria(other1, CriteriaCreateRequestDto.builder()
+                .preferSameGender(true)
+                .preferSameAgeRange(false)
+                .goals(Set.of(GoalEnum.FAT_REDUCTION))
+                .experience(ExperienceEnum.BEGINNER)
+                .intensity(IntensityEnum.HIGH)
+                .exerciseTime(ExerciseTimeEnum.MORNING)
+                .build());
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION, GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH),
+                sameGenderCriteria, // 단방향 18, 상호 18 + (18 + 20)
+                criteria(other2, Set.of(GoalEnum.FAT_REDUCTION, GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH) // 단방향 21, 상호 21 + 21
+        ));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other1, other2));
+
+        // when
+        MatchingPageResponseDto reciprocal = matchingService.getMatchingUsersPage(gymId, user, 20, null, false, true);
+
+        // then
+        verifyNoInteractions(leaderboardRepository);
+        assertEquals(2, reciprocal.getUsers().size());
+        assertEquals(other1.getId(), reciprocal.getUsers().get(0).getId()); // score: 56
+        assertEquals(other2.getId(), reciprocal.getUsers().get(1).getId()); // score: 42
+    }
+
+    @Test
+    @DisplayName("Redis 순위가 없으면 인덱스로 만든 뒤 Redis 순위에서 페이지를 조회한다.")
+    void testGetMatchingUsersPage_leaderboard() {
+        // given
+        ReflectionTestUtils.setField(matchingService, "leaderboardEnabled", true);
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mockUser(1L);
+        User other1 = mockUser(2L);
+        User other2 = mockUser(3L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                new UserGym(user, gym),
+                new UserGym(other1, gym),
+                new UserGym(other2, gym)
+        ));
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH),
+                criteria(other1, Set.of(GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH), // 15
+                criteria(other2, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH) // 18
+        ));
+        when(leaderboardRepository.exists(gymId, user.getId())).thenReturn(false);
+        when(leaderboardRepository.findBefore(gymId, user.getId(), Long.MAX_VALUE, 21))
+                .thenReturn(new long[]{MatchKey.of(18, 3L), MatchKey.of(15, 2L)});
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other1, other2));
+
+        // when
+        MatchingPageResponseDto page = matchingService.getMatchingUsersPage(gymId, user, 20, null, false, false);
+
+        // then
+        verify(leaderboardRepository).replace(gymId, user.getId(), new long[]{MatchKey.of(18, 3L), MatchKey.of(15, 2L)});
+        assertEquals(2, page.getUsers().size());
+        assertEquals(other2.getId(), page.getUsers().get(0).getId());
+        assertEquals(other1.getId(), page.getUsers().get(1).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Redis 순위를 조회하지 못하면 인덱스로 계산한다.")
+    void testGetMatchingUsersPage_leaderboardFailure() {
+        // given
+        ReflectionTestUtils.setField(matchingService, "leaderboardEnabled", true);
+        Long gymId = 1L;
+        Gym gym = mock(Gym.class);
+
+        User user = mockUser(1L);
+        User other1 = mockUser(2L);
+        User other2 = mockUser(3L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                new UserGym(user, gym),
+                new UserGym(other1, gym),
+                new UserGym(other2, gym)
+        ));
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH),
+                criteria(other1, Set.of(GoalEnum.MUSCLE_GAIN), IntensityEnum.HIGH), // 15
+                criteria(other2, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.HIGH) // 18
+        ));
+        when(leaderboardRepository.exists(gymId, user.getId()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findAllById(anyIterable())).thenReturn(List.of(other1, other2));
+
+        // when
+        MatchingPageResponseDto page = matchingService.getMatchingUsersPage(gymId, user, 20, null, false, false);
+
+        // then
+        assertEquals(2, page.getUsers().size());
+        assertEquals(other2.getId(), page.getUsers().get(0).getId());
+        assertEquals(other1.getId(), page.getUsers().get(1).getId());
+        verify(leaderboardRepository, never()).findBefore(anyLong(), anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 매칭 유저를 조회할 때 에러를 발생시킨다.")
+    void testGetMatchingUsersPage_invalidCursor() {
+        // given
+        Long gymId = 1L;
+        User user = mockUser(1L);
+
+        when(userGymRepository.existsByUserAndGymId(user, gymId)).thenReturn(true);
+        when(userGymRepository.findAllByGymId(gymId)).thenReturn(List.of(new UserGym(user, mock(Gym.class))));
+        when(matchingCriteriaRepository.findAllByGymId(gymId)).thenReturn(List.of(
+                criteria(user, Set.of(GoalEnum.FAT_REDUCTION), IntensityEnum.LOW)));
+
+        // when
+        CustomException thrownException = assertThrows(CustomException.class, () ->
+                matchingService.getMatchingUsersPage(gymId, user, 20, "not-a-cursor", false, false)
+        );
+
+        // then
+        assertEquals(ErrorCode.INVALID_MATCHING_CURSOR, thrownException.getErrorCode());
+    }
+
     @Test
     @DisplayName("사용자가 등록하지 않은 헬스장의 매칭 유저를 조회할 때 에러를 발생시킨다.")
     public void testGetMatchingUsers_failure() {
@@ -225,4 +511,21 @@ class MatchingServiceImplTest {
         verify(userGymRepository, never()).findAllByGymId(gymId);
         assertEquals(ErrorCode.NOT_MY_GYM, thrownException.getErrorCode());
     }
-}
\ No newline at end of file
+
+    private User mockUser(Long id) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        return user;
+    }
+
+    private MatchingCriteria criteria(User user, Set<GoalEnum> goals, IntensityEnum intensity) {
+        return new MatchingCriteria(user, CriteriaCreateRequestDto.builder()
+                .preferSameGender(false)
+                .preferSameAgeRange(false)
+                .goals(goals)
+                .experience(ExperienceEnum.BEGINNER)
+                .intensity(intensity)
+                .exerciseTime(ExerciseTimeEnum.MORNING)
+                .build());
+    }
+}
@@ -0,0 +1,96 @@
+package com.bb3.bodybuddybe.matching.service;
+
+import com.bb3.bodybuddybe.common.config.JpaConfig;
+import com.bb3.bodybuddybe.common.config.MatchingConfig;
+import com.bb3.bodybuddybe.gym.entity.Gym;
+import com.bb3.bodybuddybe.gym.entity.UserGym;
+import com.bb3.bodybuddybe.matching.dto.CriteriaCreateRequestDto;
+import com.bb3.bodybuddybe.matching.entity.MatchingCriteria;
+import com.bb3.bodybuddybe.matching.enums.*;
+import com.bb3.bodybuddybe.matching.index.MatchRanker;
+import com.bb3.bodybuddybe.matching.index.MatchingIndex;
+import com.bb3.bodybuddybe.matching.repository.MatchingLeaderboardRepository;
+import com.bb3.bodybuddybe.user.dto.ProfileResponseDto;
+import com.bb3.bodybuddybe.user.entity.User;
+import com.bb3.bodybuddybe.user.enums.UserRoleEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "matching.leaderboard.enabled=false"
+})
+@Import({JpaConfig.class, MatchingConfig.class, MatchingServiceImpl.class, MatchingIndex.class, MatchRanker.class, SimpleMeterRegistry.class})
+class MatchingServiceQueryCountTest {
+
+    @Autowired
+    MatchingServiceImpl matchingService;
+
+    @Autowired
+    EntityManager em;
+
+    @MockBean
+    MatchingLeaderboardRepository leaderboardRepository;
+
+    @Test
+    @DisplayName("헬스장 인원이 늘어나도 매칭 유저 조회 쿼리 수는 일정하다.")
+    void testGetMatchingUsers_constantQueryCount() {
+        long smallGymQueries = countQueries(5);
+        long largeGymQueries = countQueries(50);
+
+        assertEquals(smallGymQueries, largeGymQueries);
+    }
+
+    private long countQueries(int gymSize) {
+        Gym gym = new Gym("place-" + gymSize, "헬스장 " + gymSize, "서울");
+        em.persist(gym);
+
+        User requester = null;
+        for (int i = 0; i < gymSize; i++) {
+            User user = User.builder()
+                    .email("user" + gymSize + "-" + i + "@test.com")
+                    .password("password")
+                    .gender(i % 2 == 0 ? GenderEnum.M : GenderEnum.F)
+                    .birthDate(LocalDate.of(1990 + i % 20, 1, 1))
+                    .role(UserRoleEnum.USER)
+                    .build();
+            em.persist(user);
+            em.persist(new UserGym(user, gym));
+            em.persist(new MatchingCriteria(user, CriteriaCreateRequestDto.builder()
+                    .preferSameGender(true)
+                    .preferSameAgeRange(i % 3 == 0)
+                    .goals(Set.of(GoalEnum.values()[i % GoalEnum.values().length]))
+                    .experience(ExperienceEnum.values()[i % ExperienceEnum.values().length])
+                    .intensity(IntensityEnum.values()[i % IntensityEnum.values().length])
+                    .exerciseTime(ExerciseTimeEnum.values()[i % ExerciseTimeEnum.values().length])
+                    .build()));
+            if (requester == null) {
+                requester = user;
+            }
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ProfileResponseDto> matchingUsers = matchingService.getMatchingUsers(gym.getId(), requester);
+
+        assertEquals(gymSize - 1, matchingUsers.size());
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -1,6 +1,7 @@
 
 package com.bb3.bodybuddybe.user.service;
 
+import com.bb3.bodybuddybe.chat.cache.SenderProfileCache;
 import com.bb3.bodybuddybe.common.exception.CustomException;
 import com.bb3.bodybuddybe.common.exception.ErrorCode;
 import com.bb3.bodybuddybe.media.service.AwsS3Service;
@@ -39,6 +40,9 @@ class UserServiceImplTest {
     @Mock
     private AwsS3Service awsS3Service;
 
+    @Mock
+    private SenderProfileCache senderProfileCache;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -130,5 +134,6 @@ class UserServiceImplTest {
         // then
         String imageUrl = verify(awsS3Service).uploadFile(any(MultipartFile.class));
         verify(user).updateImageUrl(imageUrl);
+        verify(senderProfileCache).evict(1L);
     }
 }